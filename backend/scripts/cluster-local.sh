@@ -0,0 +1,25 @@
+#!/bin/bash
+# Starts a three node cluster on localhost (ports 8081-8083) sharing one H2 database.
+# Nodes are started one after another so that only the first one loads sample data.
+
+cd "$(dirname "$0")/.."
+
+./mvnw -q -DskipTests package || exit 1
+JAR=target/course-management-1.0.0.jar
+PIDS=""
+# Nodes authenticate each other with this shared secret
+export CLUSTER_SECRET=${CLUSTER_SECRET:-$(head -c 32 /dev/urandom | od -An -tx1 | tr -d ' \n')}
+
+for i in 1 2 3; do
+    echo "Starting node$i on port 808$i..."
+    SERVER_PORT=808$i CLUSTER_NODE_ID=node$i java -jar $JAR --spring.profiles.active=cluster > target/node$i.log 2>&1 &
+    PIDS="$PIDS $!"
+    until curl -s -o /dev/null http://localhost:808$i/internal/cluster/members; do sleep 1; done
+done
+
+echo
+echo "Cluster is up. Course ownership: curl http://localhost:8081/internal/cluster/owner/{courseId}"
+echo "Press Ctrl+C to stop all nodes..."
+
+trap "echo 'Stopping nodes...'; kill $PIDS; exit" INT
+wait
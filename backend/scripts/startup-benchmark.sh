@@ -0,0 +1,80 @@
+#!/bin/bash
+# Compares cold start of the plain jar against the production (AOT + CDS) build.
+# Both variants run with the same profile (and so the same logging and SQL settings); only AOT
+# and the CDS archive differ.
+# Reports time-to-ready (JVM launch until the "Started" log line) and the latency of the
+# first GET /api/courses, averaged over RUNS launches of each variant.
+#
+# Usage: scripts/startup-benchmark.sh [runs] [lazy] [profile]     e.g. scripts/startup-benchmark.sh 5 true prod
+
+cd "$(dirname "$0")/.."
+
+RUNS=${1:-5}
+LAZY=${2:-false}
+PROFILE=${3:-prod}
+# The AOT bean definitions and the CDS archive are both recorded with the prod profile; under any
+# other profile the production variant would start a different application than the baseline
+if [ "$PROFILE" != "prod" ]; then
+    echo "Only the prod profile can be benchmarked (the production build is processed for it), got: $PROFILE" >&2
+    exit 1
+fi
+PORT=18080
+BENCH_DIR=target/startup-benchmark
+mkdir -p $BENCH_DIR
+
+echo "Building baseline jar..."
+./mvnw -q -DskipTests package || exit 1
+cp target/course-management-1.0.0.jar $BENCH_DIR/baseline.jar
+
+echo "Building production (AOT + CDS) image..."
+./mvnw -q -DskipTests -Pproduction package || exit 1
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+# Runs one launch; prints "<ready ms> <first request ms>"
+measure() {
+    local dir=$1
+    shift
+    local log=$BENCH_DIR/run.log
+    local start=$(now_ms)
+    (cd $dir && exec "$@" --server.port=$PORT > "$OLDPWD/$log" 2>&1) &
+    local pid=$!
+
+    until grep -q "Started CourseManagementApplication" $log 2>/dev/null; do
+        if ! kill -0 $pid 2>/dev/null; then
+            echo "Application failed to start, see $log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    local ready=$(( $(now_ms) - start ))
+    local first=$(curl -s -o /dev/null -w '%{time_total}' http://localhost:$PORT/api/courses)
+
+    kill $pid
+    wait $pid 2>/dev/null
+    echo "$ready $(awk -v t=$first 'BEGIN { printf "%d", t * 1000 }')"
+}
+
+report() {
+    local name=$1
+    shift
+    local total_ready=0
+    local total_first=0
+    for i in $(seq 1 $RUNS); do
+        read ready first < <(measure "$@")
+        total_ready=$(( total_ready + ready ))
+        total_first=$(( total_first + first ))
+    done
+    printf "%-28s time-to-ready %6d ms   first request %5d ms\n" \
+        "$name" $(( total_ready / RUNS )) $(( total_first / RUNS ))
+}
+
+echo
+echo "Averages over $RUNS runs (profile: $PROFILE, lazy initialization: $LAZY)"
+report "baseline (java -jar)" $BENCH_DIR java -jar baseline.jar \
+    --spring.profiles.active=$PROFILE --spring.main.lazy-initialization=$LAZY
+report "production (AOT + CDS)" target/app java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+    -jar application.jar \
+    --spring.profiles.active=$PROFILE --spring.main.lazy-initialization=$LAZY
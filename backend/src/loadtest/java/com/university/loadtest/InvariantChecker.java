@@ -0,0 +1,51 @@
+package com.university.loadtest;
+
+import com.university.entity.Course;
+import com.university.entity.Enrollment;
+import com.university.repository.CourseRepository;
+import com.university.repository.EnrollmentRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Checks the registration rules that concurrent enrolls must not break: no course holds more
+// ENROLLED students than its capacity, and no student holds two enrollments in the same course
+public class InvariantChecker {
+
+    private final CourseRepository courseRepository;
+
+    private final EnrollmentRepository enrollmentRepository;
+
+    public InvariantChecker(CourseRepository courseRepository, EnrollmentRepository enrollmentRepository) {
+        this.courseRepository = courseRepository;
+        this.enrollmentRepository = enrollmentRepository;
+    }
+
+    public List<String> check(SeededData data) {
+        List<String> violations = new ArrayList<>();
+        for (long courseId : data.getCourseIds()) {
+            Course course = courseRepository.findById(courseId).orElse(null);
+            if (course == null) {
+                violations.add("Course " + courseId + " disappeared during the run");
+                continue;
+            }
+            Long enrolled = enrollmentRepository.countEnrollmentsByCourseId(courseId);
+            if (course.getMaxCapacity() != null && enrolled > course.getMaxCapacity()) {
+                violations.add("Course " + course.getCode() + " has " + enrolled
+                        + " enrolled students, capacity is " + course.getMaxCapacity());
+            }
+        }
+        for (long courseId : data.getHotCourseIds()) {
+            Set<Long> students = new HashSet<>();
+            for (Enrollment enrollment : enrollmentRepository.findByCourseId(courseId)) {
+                if (!students.add(enrollment.getStudent().getId())) {
+                    violations.add("Student " + enrollment.getStudent().getId()
+                            + " is enrolled more than once in course " + courseId);
+                }
+            }
+        }
+        return violations;
+    }
+}
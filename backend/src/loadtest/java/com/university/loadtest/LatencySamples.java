@@ -0,0 +1,57 @@
+package com.university.loadtest;
+
+import java.util.Arrays;
+
+// Every latency of one operation, kept exactly so that p99.9 is not an estimate
+public class LatencySamples {
+
+    private long[] nanos = new long[1024];
+
+    private int size;
+
+    public synchronized void add(long latencyNanos) {
+        if (size == nanos.length) {
+            nanos = Arrays.copyOf(nanos, size * 2);
+        }
+        nanos[size++] = latencyNanos;
+    }
+
+    public synchronized void addAll(LatencySamples other) {
+        long[] values;
+        int count;
+        synchronized (other) {
+            values = other.nanos;
+            count = other.size;
+        }
+        for (int i = 0; i < count; i++) {
+            add(values[i]);
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    // Nearest-rank percentiles in milliseconds, one per requested quantile (0.0 - 1.0)
+    public synchronized double[] percentilesMillis(double... quantiles) {
+        double[] result = new double[quantiles.length];
+        if (size == 0) {
+            return result;
+        }
+        long[] sorted = Arrays.copyOf(nanos, size);
+        Arrays.sort(sorted);
+        for (int i = 0; i < quantiles.length; i++) {
+            int rank = (int) Math.ceil(quantiles[i] * size);
+            result[i] = sorted[Math.max(0, Math.min(size - 1, rank - 1))] / 1_000_000.0;
+        }
+        return result;
+    }
+
+    public synchronized double maxMillis() {
+        long max = 0;
+        for (int i = 0; i < size; i++) {
+            max = Math.max(max, nanos[i]);
+        }
+        return max / 1_000_000.0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.university.loadtest;
+
+import java.net.http.HttpRequest;
+
+// A request produced by a workload, labelled with the operation it is reported under
+public class LoadRequest {
+
+    private final String operation;
+
+    private final HttpRequest request;
+
+    public LoadRequest(String operation, HttpRequest request) {
+        this.operation = operation;
+        this.request = request;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    public HttpRequest getRequest() {
+        return request;
+    }
+}
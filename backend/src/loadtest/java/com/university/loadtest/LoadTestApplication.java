@@ -0,0 +1,101 @@
+package com.university.loadtest;
+
+import com.university.CourseManagementApplication;
+import com.university.repository.CourseRepository;
+import com.university.repository.EnrollmentRepository;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.support.GenericApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Registration-day load test: boots the application on a random port with a seeded dataset, runs
+// the configured scenarios concurrently and writes the report. Run with mvn -Ploadtest verify.
+public class LoadTestApplication {
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        LoadTestDataSeeder seeder = new LoadTestDataSeeder(config);
+
+        try (ConfigurableApplicationContext context = boot(config, seeder, List.of())) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            URI baseUri = URI.create("http://localhost:" + port);
+            SeededData data = seeder.getSeededData();
+
+            List<ScenarioResult> results = runScenarios(config, baseUri, data);
+            List<String> violations = new InvariantChecker(context.getBean(CourseRepository.class),
+                    context.getBean(EnrollmentRepository.class)).check(data);
+
+            LoadTestReport report = new LoadTestReport(config, results, violations);
+            report.write(config.getReportDir());
+            System.out.println("Load test report written to " + config.getReportDir().toAbsolutePath());
+            results.forEach(result -> System.out.println(result.getName() + ": " + result.toReport().get("total")));
+
+            if (!violations.isEmpty()) {
+                throw new IllegalStateException("Capacity invariants violated:\n  " + String.join("\n  ", violations));
+            }
+        }
+    }
+
+    // Starts the application on a random port, seeded by the given seeder before it reports ready
+    static ConfigurableApplicationContext boot(LoadTestConfig config, LoadTestDataSeeder seeder,
+                                               List<String> extraArguments) {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        SpringApplication application = new SpringApplication(CourseManagementApplication.class);
+        application.addInitializers(context ->
+                ((GenericApplicationContext) context).registerBean(LoadTestDataSeeder.class, () -> seeder));
+
+        // Command-line arguments take precedence over application.properties; SQL echo logging
+        // would otherwise dominate the measurement
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"));
+        if (!config.getSpringProfiles().isEmpty()) {
+            arguments.add("--spring.profiles.active=" + config.getSpringProfiles());
+        }
+        arguments.addAll(extraArguments);
+        return application.run(arguments.toArray(new String[0]));
+    }
+
+    private static List<ScenarioResult> runScenarios(LoadTestConfig config, URI baseUri, SeededData data)
+            throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.getRequestTimeout())
+                .build();
+        OpenModelDriver driver = new OpenModelDriver(client, config.getMaxInFlight(), config.isPoissonArrival());
+
+        List<String> scenarios = config.getScenarios();
+        ExecutorService schedulers = Executors.newFixedThreadPool(Math.max(1, scenarios.size()));
+        try {
+            // Common epoch shortly in the future so start offsets line up across scenarios
+            long epoch = System.nanoTime() + 100_000_000L;
+            List<Future<ScenarioResult>> futures = new ArrayList<>();
+            for (int i = 0; i < scenarios.size(); i++) {
+                String name = scenarios.get(i);
+                Workload workload = Workloads.forScenario(name, baseUri, data, config.getRequestTimeout());
+                long seed = 1000L + i;
+                futures.add(schedulers.submit(() -> driver.run(name, workload, config.getRate(name),
+                        config.getStart(name), config.getDuration(name), epoch, seed)));
+            }
+            List<ScenarioResult> results = new ArrayList<>();
+            for (Future<ScenarioResult> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            schedulers.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.university.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+// Settings from loadtest.properties, overridden by system properties with the same key
+public class LoadTestConfig {
+
+    private final Properties properties = new Properties();
+
+    public static LoadTestConfig load() throws IOException {
+        LoadTestConfig config = new LoadTestConfig();
+        try (InputStream in = LoadTestConfig.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                config.properties.load(in);
+            }
+        }
+        System.getProperties().stringPropertyNames().stream()
+                .filter(key -> key.startsWith("loadtest."))
+                .forEach(key -> config.properties.setProperty(key, System.getProperty(key)));
+        return config;
+    }
+
+    public int getStudents() {
+        return getInt("loadtest.students");
+    }
+
+    public int getCourses() {
+        return getInt("loadtest.courses");
+    }
+
+    public int getHotCourses() {
+        return getInt("loadtest.hot-courses");
+    }
+
+    public int getHotCourseCapacity() {
+        return getInt("loadtest.hot-course-capacity");
+    }
+
+    public int getEnrollmentsPerStudent() {
+        return getInt("loadtest.enrollments-per-student");
+    }
+
+    public String getSpringProfiles() {
+        return properties.getProperty("loadtest.spring-profiles", "").trim();
+    }
+
+    public boolean isPoissonArrival() {
+        return !"uniform".equalsIgnoreCase(properties.getProperty("loadtest.arrival", "poisson").trim());
+    }
+
+    public int getMaxInFlight() {
+        return getInt("loadtest.max-in-flight");
+    }
+
+    public Duration getRequestTimeout() {
+        return parseDuration("loadtest.request-timeout");
+    }
+
+    public Path getReportDir() {
+        return Path.of(properties.getProperty("loadtest.report-dir", "target/loadtest").trim());
+    }
+
+    public List<String> getScenarios() {
+        return getList("loadtest.scenarios");
+    }
+
+    // Tenants in the tenancy benchmark; the first is the noisy neighbour
+    public int getTenancyTenants() {
+        return getInt("loadtest.tenancy.tenants");
+    }
+
+    // shared: one JVM in multi-tenant mode; isolated: one single-tenant JVM per tenant
+    public List<String> getTenancyModes() {
+        return getList("loadtest.tenancy.modes");
+    }
+
+    public List<String> getTenancyJvmOptions() {
+        return Arrays.stream(properties.getProperty("loadtest.tenancy.jvm-options", "").trim().split("\\s+"))
+                .filter(option -> !option.isEmpty())
+                .toList();
+    }
+
+    public double getRate(String scenario) {
+        return Double.parseDouble(require("loadtest.scenario." + scenario + ".rate"));
+    }
+
+    public Duration getStart(String scenario) {
+        return parseDuration("loadtest.scenario." + scenario + ".start");
+    }
+
+    public Duration getDuration(String scenario) {
+        return parseDuration("loadtest.scenario." + scenario + ".duration");
+    }
+
+    private List<String> getList(String key) {
+        List<String> values = new ArrayList<>();
+        for (String value : properties.getProperty(key, "").split(",")) {
+            if (!value.isBlank()) {
+                values.add(value.trim());
+            }
+        }
+        return values;
+    }
+
+    private int getInt(String key) {
+        return Integer.parseInt(require(key));
+    }
+
+    private Duration parseDuration(String key) {
+        return DurationStyle.detectAndParse(require(key));
+    }
+
+    private String require(String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException("Missing load test setting " + key);
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,122 @@
+package com.university.loadtest;
+
+import com.university.entity.Course;
+import com.university.entity.Enrollment;
+import com.university.entity.Student;
+import com.university.repository.CourseRepository;
+import com.university.repository.EnrollmentRepository;
+import com.university.repository.StudentRepository;
+import com.university.tenant.TenantContext;
+import com.university.tenant.Tenants;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.CommandLineRunner;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+// Seeds the application under test before it reports ready, so startup caches (co-enrollment graph,
+// schedules) are built over the load test dataset. Hot courses have no meeting slots so a student's
+// enrollments can only be rejected for capacity or duplicates, which are the invariants checked.
+// In multi-tenant mode every tenant gets the same dataset.
+public class LoadTestDataSeeder implements CommandLineRunner {
+
+    static final List<String> SUBJECTS = List.of(
+            "Algorithms", "Databases", "Networks", "Statistics", "Economics",
+            "Philosophy", "Chemistry", "Literature", "History", "Physics");
+
+    private static final int BATCH_SIZE = 500;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private Tenants tenants;
+
+    private final LoadTestConfig config;
+
+    // Tenant -> the rows seeded for it
+    private final Map<String, SeededData> seededData = new LinkedHashMap<>();
+
+    public LoadTestDataSeeder(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    // Dataset of the first tenant, the only one outside multi-tenant mode
+    public SeededData getSeededData() {
+        return seededData.values().iterator().next();
+    }
+
+    public Map<String, SeededData> getSeededDataByTenant() {
+        return seededData;
+    }
+
+    @Override
+    public void run(String... args) {
+        for (String tenant : tenants.all()) {
+            seededData.put(tenant, TenantContext.callAs(tenant, this::seed));
+        }
+    }
+
+    private SeededData seed() {
+        // Fixed seed so that runs (and tenants) are comparable
+        Random random = new Random(42);
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < config.getCourses(); i++) {
+            String subject = SUBJECTS.get(i % SUBJECTS.size());
+            Course course = new Course(subject + " " + (100 + i), String.format("LT%04d", i),
+                    "Load test course", 3);
+            course.setMaxCapacity(i < config.getHotCourses() ? config.getHotCourseCapacity() : 1000);
+            courses.add(course);
+        }
+        courses = saveInBatches(courses, courseRepository::saveAll);
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < config.getStudents(); i++) {
+            students.add(new Student("Load", "Tester" + i, "loadtest" + i + "@university.edu",
+                    String.format("9%07d", i)));
+        }
+        students = saveInBatches(students, studentRepository::saveAll);
+
+        // Enrollments in the non-hot courses give the grade wave something to grade
+        List<Course> coldCourses = courses.subList(Math.min(config.getHotCourses(), courses.size()), courses.size());
+        List<Enrollment> enrollments = new ArrayList<>();
+        if (!coldCourses.isEmpty()) {
+            for (Student student : students) {
+                int first = random.nextInt(coldCourses.size());
+                for (int k = 0; k < Math.min(config.getEnrollmentsPerStudent(), coldCourses.size()); k++) {
+                    enrollments.add(new Enrollment(student, coldCourses.get((first + k) % coldCourses.size())));
+                }
+            }
+        }
+        enrollments = saveInBatches(enrollments, enrollmentRepository::saveAll);
+
+        SeededData seeded = new SeededData(
+                students.stream().mapToLong(Student::getId).toArray(),
+                courses.subList(0, Math.min(config.getHotCourses(), courses.size())).stream().mapToLong(Course::getId).toArray(),
+                courses.stream().mapToLong(Course::getId).toArray(),
+                enrollments.stream().mapToLong(Enrollment::getId).toArray(),
+                SUBJECTS);
+        System.out.printf("Seeded %d students, %d courses and %d enrollments for tenant %s%n",
+                students.size(), courses.size(), enrollments.size(), TenantContext.current());
+        return seeded;
+    }
+
+    private <T> List<T> saveInBatches(List<T> entities, Function<List<T>, List<T>> saveAll) {
+        List<T> saved = new ArrayList<>(entities.size());
+        for (int from = 0; from < entities.size(); from += BATCH_SIZE) {
+            saved.addAll(saveAll.apply(entities.subList(from, Math.min(from + BATCH_SIZE, entities.size()))));
+        }
+        return saved;
+    }
+}
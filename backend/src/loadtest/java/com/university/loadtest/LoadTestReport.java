@@ -0,0 +1,89 @@
+package com.university.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Writes report.json for tooling and report.html for people into the report directory
+public class LoadTestReport {
+
+    private final Map<String, Object> report = new LinkedHashMap<>();
+
+    public LoadTestReport(LoadTestConfig config, List<ScenarioResult> results, List<String> violations) {
+        Map<String, Object> dataset = new LinkedHashMap<>();
+        dataset.put("students", config.getStudents());
+        dataset.put("courses", config.getCourses());
+        dataset.put("hotCourses", config.getHotCourses());
+        dataset.put("hotCourseCapacity", config.getHotCourseCapacity());
+
+        report.put("generatedAt", Instant.now().toString());
+        report.put("springProfiles", config.getSpringProfiles());
+        report.put("arrival", config.isPoissonArrival() ? "poisson" : "uniform");
+        report.put("dataset", dataset);
+        report.put("scenarios", results.stream().map(ScenarioResult::toReport).toList());
+        report.put("invariantViolations", violations);
+    }
+
+    public void write(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(directory.resolve("report.json").toFile(), report);
+        Files.writeString(directory.resolve("report.html"), html());
+    }
+
+    @SuppressWarnings("unchecked")
+    private String html() {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Registration-day load test</title>\n")
+                .append("<style>body{font-family:sans-serif;margin:2em}table{border-collapse:collapse;margin-bottom:2em}")
+                .append("th,td{border:1px solid #ccc;padding:4px 8px;text-align:right}th:first-child,td:first-child{text-align:left}")
+                .append(".bad{color:#b00020}</style></head><body>\n")
+                .append("<h1>Registration-day load test</h1>\n<p>")
+                .append(escape(report.get("generatedAt") + ", arrivals: " + report.get("arrival")
+                        + ", profiles: " + report.get("springProfiles") + ", dataset: " + report.get("dataset")))
+                .append("</p>\n");
+
+        for (Map<String, Object> scenario : (List<Map<String, Object>>) report.get("scenarios")) {
+            html.append("<h2>").append(escape(String.valueOf(scenario.get("scenario")))).append("</h2>\n<p>")
+                    .append("target ").append(scenario.get("targetRatePerSecond")).append(" req/s over ")
+                    .append(scenario.get("elapsedSeconds")).append(" s</p>\n<table><tr><th>Operation</th>")
+                    .append("<th>Completed</th><th>Succeeded</th><th>Rejected</th><th>Errors</th><th>Dropped</th>")
+                    .append("<th>Error rate</th><th>Throughput/s</th><th>p50 ms</th><th>p99 ms</th><th>p99.9 ms</th><th>Max ms</th></tr>\n");
+            Map<String, Object> operations = (Map<String, Object>) scenario.get("operations");
+            operations.forEach((operation, stats) -> row(html, operation, (Map<String, Object>) stats));
+            row(html, "Total", (Map<String, Object>) scenario.get("total"));
+            html.append("</table>\n");
+        }
+
+        List<String> violations = (List<String>) report.get("invariantViolations");
+        html.append("<h2>Capacity invariants</h2>\n");
+        if (violations.isEmpty()) {
+            html.append("<p>No violations.</p>\n");
+        } else {
+            html.append("<ul class=\"bad\">\n");
+            violations.forEach(violation -> html.append("<li>").append(escape(violation)).append("</li>\n"));
+            html.append("</ul>\n");
+        }
+        return html.append("</body></html>\n").toString();
+    }
+
+    private static void row(StringBuilder html, String operation, Map<String, Object> stats) {
+        html.append("<tr><td>").append(escape(operation)).append("</td>");
+        for (String key : List.of("completed", "succeeded", "rejected", "errors", "dropped", "errorRate",
+                "throughputPerSecond", "p50Ms", "p99Ms", "p999Ms", "maxMs")) {
+            html.append("<td>").append(stats.get(key)).append("</td>");
+        }
+        html.append("</tr>\n");
+    }
+
+    private static String escape(String text) {
+        return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
@@ -0,0 +1,72 @@
+package com.university.loadtest;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+// Sends requests at scheduled arrival times regardless of how fast earlier ones complete (open
+// model), so a slow server builds a queue instead of slowing the generator down. Latency is taken
+// from the scheduled arrival, not the actual send, so generator lag is charged to the server
+// rather than hidden (coordinated omission).
+public class OpenModelDriver {
+
+    private final HttpClient client;
+
+    private final Semaphore inFlight;
+
+    private final boolean poisson;
+
+    public OpenModelDriver(HttpClient client, int maxInFlight, boolean poisson) {
+        this.client = client;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.poisson = poisson;
+    }
+
+    // Runs on the calling thread until every response of the scenario has arrived
+    public ScenarioResult run(String name, Workload workload, double ratePerSecond, Duration start,
+                              Duration duration, long epochNanos, long randomSeed) {
+        ScenarioResult result = new ScenarioResult(name, ratePerSecond);
+        Random random = new Random(randomSeed);
+        double meanGapNanos = 1_000_000_000.0 / ratePerSecond;
+        long begin = epochNanos + start.toNanos();
+        long end = begin + duration.toNanos();
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+
+        long arrival = begin;
+        while (arrival < end) {
+            parkUntil(arrival);
+            long scheduled = arrival;
+            arrival += poisson ? (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos) : (long) meanGapNanos;
+
+            LoadRequest request = workload.next(random);
+            OperationStats stats = result.operation(request.getOperation());
+            if (!inFlight.tryAcquire()) {
+                stats.dropped();
+                continue;
+            }
+            pending.add(client.sendAsync(request.getRequest(), HttpResponse.BodyHandlers.discarding())
+                    .handle((response, failure) -> {
+                        inFlight.release();
+                        stats.record(response != null ? response.statusCode() : -1, System.nanoTime() - scheduled);
+                        return null;
+                    }));
+        }
+
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        result.setElapsedNanos(System.nanoTime() - begin);
+        return result;
+    }
+
+    private static void parkUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.university.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Outcome counts and latencies for one operation. 4xx responses are business rejections (course
+// full, duplicate, clash) and counted apart from errors: 5xx, timeouts and connection failures.
+public class OperationStats {
+
+    private final LatencySamples latencies = new LatencySamples();
+
+    private final AtomicLong succeeded = new AtomicLong();
+
+    private final AtomicLong rejected = new AtomicLong();
+
+    private final AtomicLong errors = new AtomicLong();
+
+    private final AtomicLong dropped = new AtomicLong();
+
+    // statusCode is -1 when no response was received
+    public void record(int statusCode, long latencyNanos) {
+        latencies.add(latencyNanos);
+        if (statusCode >= 200 && statusCode < 400) {
+            succeeded.incrementAndGet();
+        } else if (statusCode >= 400 && statusCode < 500) {
+            rejected.incrementAndGet();
+        } else {
+            errors.incrementAndGet();
+        }
+    }
+
+    // An arrival that was not sent because max-in-flight requests were already outstanding
+    public void dropped() {
+        dropped.incrementAndGet();
+    }
+
+    public void addAll(OperationStats other) {
+        latencies.addAll(other.latencies);
+        succeeded.addAndGet(other.succeeded.get());
+        rejected.addAndGet(other.rejected.get());
+        errors.addAndGet(other.errors.get());
+        dropped.addAndGet(other.dropped.get());
+    }
+
+    public long getCompleted() {
+        return succeeded.get() + rejected.get() + errors.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    // Errors and generator drops over all arrivals
+    public double getErrorRate() {
+        long arrivals = getCompleted() + dropped.get();
+        return arrivals == 0 ? 0 : (double) (errors.get() + dropped.get()) / arrivals;
+    }
+
+    public Map<String, Object> toReport(double elapsedSeconds) {
+        double[] percentiles = latencies.percentilesMillis(0.50, 0.99, 0.999);
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("completed", getCompleted());
+        report.put("succeeded", succeeded.get());
+        report.put("rejected", rejected.get());
+        report.put("errors", errors.get());
+        report.put("dropped", dropped.get());
+        report.put("errorRate", round(getErrorRate(), 5));
+        report.put("throughputPerSecond", round(elapsedSeconds > 0 ? getCompleted() / elapsedSeconds : 0, 1));
+        report.put("p50Ms", round(percentiles[0], 3));
+        report.put("p99Ms", round(percentiles[1], 3));
+        report.put("p999Ms", round(percentiles[2], 3));
+        report.put("maxMs", round(latencies.maxMillis(), 3));
+        return report;
+    }
+
+    private static double round(double value, int decimals) {
+        double scale = Math.pow(10, decimals);
+        return Math.round(value * scale) / scale;
+    }
+}
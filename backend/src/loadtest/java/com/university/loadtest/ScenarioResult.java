@@ -0,0 +1,55 @@
+package com.university.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ScenarioResult {
+
+    private final String name;
+
+    private final double targetRate;
+
+    private final Map<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+    // From the first scheduled arrival to the last response
+    private volatile long elapsedNanos;
+
+    public ScenarioResult(String name, double targetRate) {
+        this.name = name;
+        this.targetRate = targetRate;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public OperationStats operation(String operation) {
+        return operations.computeIfAbsent(operation, key -> new OperationStats());
+    }
+
+    public OperationStats getTotal() {
+        OperationStats total = new OperationStats();
+        operations.values().forEach(total::addAll);
+        return total;
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public Map<String, Object> toReport() {
+        double elapsedSeconds = elapsedNanos / 1_000_000_000.0;
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", name);
+        report.put("targetRatePerSecond", targetRate);
+        report.put("elapsedSeconds", Math.round(elapsedSeconds * 10) / 10.0);
+        report.put("total", getTotal().toReport(elapsedSeconds));
+        Map<String, Object> byOperation = new LinkedHashMap<>();
+        operations.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> byOperation.put(entry.getKey(), entry.getValue().toReport(elapsedSeconds)));
+        report.put("operations", byOperation);
+        return report;
+    }
+}
@@ -0,0 +1,45 @@
+package com.university.loadtest;
+
+import java.util.List;
+
+// Ids of the rows created by LoadTestDataSeeder, used by the workloads to build requests
+public class SeededData {
+
+    private final long[] studentIds;
+
+    private final long[] hotCourseIds;
+
+    private final long[] courseIds;
+
+    private final long[] enrollmentIds;
+
+    private final List<String> searchTerms;
+
+    SeededData(long[] studentIds, long[] hotCourseIds, long[] courseIds, long[] enrollmentIds, List<String> searchTerms) {
+        this.studentIds = studentIds;
+        this.hotCourseIds = hotCourseIds;
+        this.courseIds = courseIds;
+        this.enrollmentIds = enrollmentIds;
+        this.searchTerms = searchTerms;
+    }
+
+    public long[] getStudentIds() {
+        return studentIds;
+    }
+
+    public long[] getHotCourseIds() {
+        return hotCourseIds;
+    }
+
+    public long[] getCourseIds() {
+        return courseIds;
+    }
+
+    public long[] getEnrollmentIds() {
+        return enrollmentIds;
+    }
+
+    public List<String> getSearchTerms() {
+        return searchTerms;
+    }
+}
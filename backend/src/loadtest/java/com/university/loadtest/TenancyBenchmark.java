@@ -0,0 +1,313 @@
+package com.university.loadtest;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// Compares serving N institutions from one multi-tenant JVM with one single-tenant JVM each. Every
+// tenant browses the catalogue at the browse rate while the first tenant also runs the enroll burst,
+// so the report shows how much a noisy neighbour slows the others down in each mode, next to the
+// memory each mode needs. Writes tenancy-report.json into the report directory.
+public class TenancyBenchmark {
+
+    private static final String TENANT_HEADER = "X-Tenant-Id";
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        List<String> tenants = new ArrayList<>();
+        for (int i = 1; i <= config.getTenancyTenants(); i++) {
+            tenants.add("tenant" + i);
+        }
+
+        Map<String, Object> modes = new LinkedHashMap<>();
+        for (String mode : config.getTenancyModes()) {
+            modes.put(mode, runMode(config, mode, tenants));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("generatedAt", Instant.now().toString());
+        report.put("tenants", tenants);
+        report.put("noisyTenant", tenants.get(0));
+        report.put("studentsPerTenant", config.getStudents());
+        report.put("coursesPerTenant", config.getCourses());
+        report.put("jvmOptions", config.getTenancyJvmOptions());
+        report.put("modes", modes);
+
+        Files.createDirectories(config.getReportDir());
+        Path file = config.getReportDir().resolve("tenancy-report.json");
+        JSON.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.println("Tenancy benchmark report written to " + file.toAbsolutePath());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> runMode(LoadTestConfig config, String mode, List<String> tenants) throws Exception {
+        Path work = config.getReportDir().resolve("tenancy");
+        Files.createDirectories(work);
+        List<Server> servers = new ArrayList<>();
+        Map<String, Target> targets = new LinkedHashMap<>();
+        try {
+            switch (mode) {
+                case "shared": {
+                    Server server = Server.start(config, work.resolve("shared-seeded.json"), List.of(
+                            "--tenancy.enabled=true",
+                            "--tenancy.tenants=" + String.join(",", tenants),
+                            "--tenancy.header=" + TENANT_HEADER));
+                    servers.add(server);
+                    for (String tenant : tenants) {
+                        targets.put(tenant, new Target(server.baseUri, Map.of(TENANT_HEADER, tenant), server.seeded.get(tenant)));
+                    }
+                    break;
+                }
+                case "isolated":
+                    for (String tenant : tenants) {
+                        Server server = Server.start(config, work.resolve("isolated-" + tenant + "-seeded.json"), List.of());
+                        servers.add(server);
+                        targets.put(tenant, new Target(server.baseUri, Map.of(), server.seeded.values().iterator().next()));
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown tenancy benchmark mode " + mode);
+            }
+
+            Map<String, List<ScenarioResult>> results = runTenants(config, tenants, targets);
+
+            Map<String, Object> report = new LinkedHashMap<>();
+            List<Map<String, Object>> processes = new ArrayList<>();
+            long rss = 0;
+            long heap = 0;
+            for (Server server : servers) {
+                Map<String, Object> memory = server.memory();
+                processes.add(memory);
+                rss += (Long) memory.get("rssBytes");
+                heap += (Long) memory.get("heapUsedBytes");
+            }
+            report.put("processes", processes);
+            report.put("totalRssBytes", rss);
+            report.put("totalHeapUsedBytes", heap);
+
+            Map<String, Object> byTenant = new LinkedHashMap<>();
+            results.forEach((tenant, scenarios) ->
+                    byTenant.put(tenant, scenarios.stream().map(ScenarioResult::toReport).toList()));
+            report.put("tenants", byTenant);
+
+            for (String tenant : tenants) {
+                for (ScenarioResult result : results.get(tenant)) {
+                    Map<String, Object> total = (Map<String, Object>) result.toReport().get("total");
+                    System.out.printf("%s %s %s: p99 %s ms, %s req/s%n", mode, tenant, result.getName(),
+                            total.get("p99Ms"), total.get("throughputPerSecond"));
+                }
+            }
+            System.out.printf("%s: %d JVM(s), %d MB RSS, %d MB heap used%n", mode, servers.size(),
+                    rss / (1024 * 1024), heap / (1024 * 1024));
+            return report;
+        } finally {
+            servers.forEach(Server::stop);
+        }
+    }
+
+    // Runs browse for every tenant and the enroll burst for the first one, all on a common epoch
+    private static Map<String, List<ScenarioResult>> runTenants(LoadTestConfig config, List<String> tenants,
+                                                                Map<String, Target> targets) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.getRequestTimeout())
+                .build();
+        OpenModelDriver driver = new OpenModelDriver(client, config.getMaxInFlight(), config.isPoissonArrival());
+
+        ExecutorService schedulers = Executors.newFixedThreadPool(tenants.size() + 1);
+        try {
+            long epoch = System.nanoTime() + 100_000_000L;
+            Map<String, List<Future<ScenarioResult>>> futures = new LinkedHashMap<>();
+            long seed = 1000L;
+            for (String tenant : tenants) {
+                List<String> scenarios = tenant.equals(tenants.get(0)) ? List.of("browse", "enroll-burst") : List.of("browse");
+                Target target = targets.get(tenant);
+                for (String name : scenarios) {
+                    Workload workload = Workloads.forScenario(name, target.baseUri, target.data,
+                            config.getRequestTimeout(), target.headers);
+                    long scenarioSeed = seed++;
+                    futures.computeIfAbsent(tenant, t -> new ArrayList<>()).add(schedulers.submit(() ->
+                            driver.run(name, workload, config.getRate(name), config.getStart(name),
+                                    config.getDuration(name), epoch, scenarioSeed)));
+                }
+            }
+            Map<String, List<ScenarioResult>> results = new LinkedHashMap<>();
+            for (Map.Entry<String, List<Future<ScenarioResult>>> entry : futures.entrySet()) {
+                List<ScenarioResult> tenantResults = new ArrayList<>();
+                for (Future<ScenarioResult> future : entry.getValue()) {
+                    tenantResults.add(future.get());
+                }
+                results.put(entry.getKey(), tenantResults);
+            }
+            return results;
+        } finally {
+            schedulers.shutdownNow();
+        }
+    }
+
+    private static final class Target {
+
+        private final URI baseUri;
+
+        private final Map<String, String> headers;
+
+        private final SeededData data;
+
+        Target(URI baseUri, Map<String, String> headers, SeededData data) {
+            this.baseUri = baseUri;
+            this.headers = headers;
+            this.data = data;
+        }
+    }
+
+    // One TenancyBenchmarkServer child JVM on the benchmark's own classpath
+    private static final class Server {
+
+        private final Process process;
+
+        private final URI baseUri;
+
+        private final Map<String, SeededData> seeded;
+
+        private Server(Process process, URI baseUri, Map<String, SeededData> seeded) {
+            this.process = process;
+            this.baseUri = baseUri;
+            this.seeded = seeded;
+        }
+
+        static Server start(LoadTestConfig config, Path seededFile, List<String> applicationArguments) throws IOException {
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(config.getTenancyJvmOptions());
+            command.add("-cp");
+            command.add(classpath());
+            // The child loads loadtest.properties itself; overrides given to this JVM apply to it too
+            System.getProperties().stringPropertyNames().stream()
+                    .filter(key -> key.startsWith("loadtest."))
+                    .forEach(key -> command.add("-D" + key + "=" + System.getProperty(key)));
+            command.add(TenancyBenchmarkServer.class.getName());
+            command.add(seededFile.toAbsolutePath().toString());
+            command.addAll(applicationArguments);
+
+            Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+            BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+            String line;
+            while ((line = output.readLine()) != null && !line.startsWith(TenancyBenchmarkServer.LISTENING)) {
+                System.out.println("[server " + process.pid() + "] " + line);
+            }
+            if (line == null) {
+                throw new IllegalStateException("Benchmark server exited with status " + waitFor(process));
+            }
+            URI baseUri = URI.create("http://localhost:" + line.substring(TenancyBenchmarkServer.LISTENING.length()).trim());
+
+            // Keep draining the child's output so it never blocks on a full pipe
+            Thread drain = new Thread(() -> {
+                try {
+                    while (output.readLine() != null) {
+                        // discard
+                    }
+                } catch (IOException e) {
+                    // the process has gone
+                }
+            }, "tenancy-benchmark-drain-" + process.pid());
+            drain.setDaemon(true);
+            drain.start();
+
+            Map<String, Map<String, long[]>> ids = JSON.readValue(seededFile.toFile(), new TypeReference<>() {});
+            Map<String, SeededData> seeded = new LinkedHashMap<>();
+            ids.forEach((tenant, data) -> seeded.put(tenant, new SeededData(data.get("studentIds"),
+                    data.get("hotCourseIds"), data.get("courseIds"), data.get("enrollmentIds"), LoadTestDataSeeder.SUBJECTS)));
+            return new Server(process, baseUri, seeded);
+        }
+
+        // Resident set size from /proc (0 where unavailable) and used heap from the actuator
+        Map<String, Object> memory() throws IOException, InterruptedException {
+            long rss = 0;
+            Path status = Path.of("/proc", String.valueOf(process.pid()), "status");
+            if (Files.exists(status)) {
+                for (String line : Files.readAllLines(status)) {
+                    if (line.startsWith("VmRSS:")) {
+                        rss = Long.parseLong(line.replaceAll("[^0-9]", "")) * 1024;
+                    }
+                }
+            }
+            HttpResponse<String> response = HttpClient.newHttpClient().send(HttpRequest.newBuilder(
+                    baseUri.resolve("/actuator/metrics/jvm.memory.used?tag=area:heap")).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            JsonNode metric = JSON.readTree(response.body());
+            long heap = metric.path("measurements").path(0).path("value").asLong();
+
+            Map<String, Object> memory = new LinkedHashMap<>();
+            memory.put("pid", process.pid());
+            memory.put("rssBytes", rss);
+            memory.put("heapUsedBytes", heap);
+            return memory;
+        }
+
+        void stop() {
+            try {
+                process.getOutputStream().close();
+            } catch (IOException e) {
+                // already closed
+            }
+            waitFor(process);
+        }
+
+        private static int waitFor(Process process) {
+            try {
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                    return process.waitFor();
+                }
+                return process.exitValue();
+            } catch (InterruptedException e) {
+                process.destroyForcibly();
+                Thread.currentThread().interrupt();
+                return -1;
+            }
+        }
+
+        // exec:java runs the benchmark in an isolated class loader, so java.class.path is Maven's own
+        private static String classpath() {
+            if (TenancyBenchmark.class.getClassLoader() instanceof URLClassLoader loader) {
+                List<String> entries = new ArrayList<>();
+                for (URL url : loader.getURLs()) {
+                    try {
+                        entries.add(new File(url.toURI()).getPath());
+                    } catch (URISyntaxException e) {
+                        entries.add(url.getPath());
+                    }
+                }
+                return String.join(File.pathSeparator, entries);
+            }
+            return System.getProperty("java.class.path");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.university.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Application under test for one JVM of the tenancy benchmark. Boots and seeds like the load test,
+// writes the seeded ids per tenant to the file named by the first argument, prints its port and
+// serves until its standard input is closed. Remaining arguments are passed to the application.
+public class TenancyBenchmarkServer {
+
+    static final String LISTENING = "LISTENING ";
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.load();
+        LoadTestDataSeeder seeder = new LoadTestDataSeeder(config);
+
+        try (ConfigurableApplicationContext context = LoadTestApplication.boot(config, seeder,
+                Arrays.asList(args).subList(1, args.length))) {
+            Map<String, Map<String, long[]>> seeded = new LinkedHashMap<>();
+            seeder.getSeededDataByTenant().forEach((tenant, data) -> {
+                Map<String, long[]> ids = new LinkedHashMap<>();
+                ids.put("studentIds", data.getStudentIds());
+                ids.put("hotCourseIds", data.getHotCourseIds());
+                ids.put("courseIds", data.getCourseIds());
+                ids.put("enrollmentIds", data.getEnrollmentIds());
+                seeded.put(tenant, ids);
+            });
+            new ObjectMapper().writeValue(new File(args[0]), seeded);
+
+            System.out.println(LISTENING + ((WebServerApplicationContext) context).getWebServer().getPort());
+            System.out.flush();
+            while (System.in.read() != -1) {
+                // Serve until the benchmark closes our input or stops the process
+            }
+        }
+    }
+}
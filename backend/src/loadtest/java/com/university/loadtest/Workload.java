@@ -0,0 +1,9 @@
+package com.university.loadtest;
+
+import java.util.Random;
+
+// Produces the next request of a scenario. Called from the scenario's single scheduling thread.
+public interface Workload {
+
+    LoadRequest next(Random random);
+}
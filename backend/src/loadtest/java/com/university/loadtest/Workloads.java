@@ -0,0 +1,133 @@
+package com.university.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Random;
+
+// The registration-day scenarios, looked up by the names used in loadtest.scenarios
+public final class Workloads {
+
+    private Workloads() {}
+
+    public static Workload forScenario(String name, URI baseUri, SeededData data, Duration timeout) {
+        return forScenario(name, baseUri, data, timeout, Map.of());
+    }
+
+    // Same scenarios with extra headers on every request, e.g. the tenant header in multi-tenant mode
+    public static Workload forScenario(String name, URI baseUri, SeededData data, Duration timeout,
+                                       Map<String, String> headers) {
+        Requests requests = new Requests(baseUri, timeout, headers);
+        switch (name) {
+            case "browse":
+                return browse(requests, data);
+            case "enroll-burst":
+                return enrollBurst(requests, data);
+            case "grade-wave":
+                return gradeWave(requests, data);
+            default:
+                throw new IllegalArgumentException("Unknown load test scenario " + name);
+        }
+    }
+
+    // Catalogue traffic: mostly the available list, then search, single courses and timetable fit
+    private static Workload browse(Requests requests, SeededData data) {
+        return random -> {
+            int roll = random.nextInt(100);
+            if (roll < 50) {
+                return new LoadRequest("GET /api/courses/available", requests.get("/api/courses/available"));
+            } else if (roll < 75) {
+                String term = data.getSearchTerms().get(random.nextInt(data.getSearchTerms().size()));
+                return new LoadRequest("GET /api/courses/search",
+                        requests.get("/api/courses/search?title=" + URLEncoder.encode(term, StandardCharsets.UTF_8)));
+            } else if (roll < 90) {
+                return new LoadRequest("GET /api/courses/{id}",
+                        requests.get("/api/courses/" + pick(data.getCourseIds(), random)));
+            } else {
+                return new LoadRequest("GET /api/courses/available/fit",
+                        requests.get("/api/courses/available/fit?studentId=" + pick(data.getStudentIds(), random)));
+            }
+        };
+    }
+
+    // Students in random order, each trying one of the hot courses; once every student has had a
+    // turn the order repeats, which also exercises the duplicate-enrollment check
+    private static Workload enrollBurst(Requests requests, SeededData data) {
+        long[] students = data.getStudentIds().clone();
+        return new Workload() {
+            private int cursor = students.length;
+
+            @Override
+            public LoadRequest next(Random random) {
+                if (cursor == students.length) {
+                    shuffle(students, random);
+                    cursor = 0;
+                }
+                long studentId = students[cursor++];
+                long courseId = pick(data.getHotCourseIds(), random);
+                return new LoadRequest("POST /api/enrollments", requests.post("/api/enrollments",
+                        "{\"studentId\":" + studentId + ",\"courseId\":" + courseId + "}"));
+            }
+        };
+    }
+
+    private static Workload gradeWave(Requests requests, SeededData data) {
+        return random -> {
+            long enrollmentId = pick(data.getEnrollmentIds(), random);
+            int grade = 50 + random.nextInt(51);
+            return new LoadRequest("PUT /api/enrollments/{id}/grade",
+                    requests.put("/api/enrollments/" + enrollmentId + "/grade", "{\"grade\":" + grade + "}"));
+        };
+    }
+
+    private static long pick(long[] ids, Random random) {
+        if (ids.length == 0) {
+            throw new IllegalStateException("The seeded dataset has no rows for this scenario");
+        }
+        return ids[random.nextInt(ids.length)];
+    }
+
+    private static void shuffle(long[] values, Random random) {
+        for (int i = values.length - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            long value = values[i];
+            values[i] = values[j];
+            values[j] = value;
+        }
+    }
+
+    private static class Requests {
+        private final URI baseUri;
+        private final Duration timeout;
+        private final Map<String, String> headers;
+
+        Requests(URI baseUri, Duration timeout, Map<String, String> headers) {
+            this.baseUri = baseUri;
+            this.timeout = timeout;
+            this.headers = headers;
+        }
+
+        HttpRequest get(String path) {
+            return builder(path).GET().build();
+        }
+
+        HttpRequest post(String path, String json) {
+            return builder(path).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+        }
+
+        HttpRequest put(String path, String json) {
+            return builder(path).header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(json)).build();
+        }
+
+        private HttpRequest.Builder builder(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(timeout);
+            headers.forEach(builder::header);
+            return builder;
+        }
+    }
+}
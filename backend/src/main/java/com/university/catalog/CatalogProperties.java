@@ -0,0 +1,21 @@
+package com.university.catalog;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "catalog")
+public class CatalogProperties {
+
+    // Bodies at least this large also get a gzip copy; smaller ones gain too little to be worth it
+    private int gzipMinBytes = 1024;
+
+    // Getters and Setters
+    public int getGzipMinBytes() {
+        return gzipMinBytes;
+    }
+
+    public void setGzipMinBytes(int gzipMinBytes) {
+        this.gzipMinBytes = gzipMinBytes;
+    }
+}
@@ -0,0 +1,156 @@
+package com.university.catalog;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+// One tenant's course catalog, already encoded: every course on its own plus the full and the
+// available lists. Immutable; a change produces a new snapshot that shares every body it did not
+// have to re-encode, and readers keep using whichever snapshot they picked up.
+public final class CatalogSnapshot {
+
+    // One course: its encoded JSON plus what decides whether it is available
+    static final class Entry {
+
+        final String code;
+
+        final Integer maxCapacity;
+
+        final long enrolled;
+
+        final EncodedBody body;
+
+        Entry(String code, Integer maxCapacity, long enrolled, EncodedBody body) {
+            this.code = code;
+            this.maxCapacity = maxCapacity;
+            this.enrolled = enrolled;
+            this.body = body;
+        }
+
+        // Same rule as CourseRepository.findAvailableCourses
+        boolean isAvailable() {
+            return maxCapacity == null || maxCapacity > enrolled;
+        }
+    }
+
+    // Course id -> entry, in id order so the lists come out in the same order every time
+    private final NavigableMap<Long, Entry> courses;
+
+    private final Map<String, Long> idsByCode;
+
+    private final EncodedBody all;
+
+    private final EncodedBody available;
+
+    private CatalogSnapshot(NavigableMap<Long, Entry> courses, Map<String, Long> idsByCode,
+                            EncodedBody all, EncodedBody available) {
+        this.courses = courses;
+        this.idsByCode = idsByCode;
+        this.all = all;
+        this.available = available;
+    }
+
+    static CatalogSnapshot of(Map<Long, Entry> entries, int gzipMinBytes) {
+        NavigableMap<Long, Entry> courses = new TreeMap<>(entries);
+        Map<String, Long> idsByCode = new HashMap<>();
+        courses.forEach((id, entry) -> idsByCode.put(entry.code, id));
+        return new CatalogSnapshot(Collections.unmodifiableNavigableMap(courses), Collections.unmodifiableMap(idsByCode),
+                list(courses.values(), false, gzipMinBytes), list(courses.values(), true, gzipMinBytes));
+    }
+
+    // A copy with one course replaced, or removed when entry is null. Only the lists the change
+    // shows up in are re-encoded: an enrollment that leaves the course's JSON as it was touches
+    // the available list alone, and only when the course filled up or opened up.
+    CatalogSnapshot with(Long id, Entry entry, int gzipMinBytes) {
+        Entry previous = courses.get(id);
+        if (previous == null && entry == null) {
+            return this;
+        }
+        NavigableMap<Long, Entry> nextCourses = new TreeMap<>(courses);
+        if (entry != null) {
+            nextCourses.put(id, entry);
+        } else {
+            nextCourses.remove(id);
+        }
+
+        boolean bodyChanged = previous == null || entry == null || previous.body != entry.body;
+        Map<String, Long> nextIdsByCode = idsByCode;
+        if (bodyChanged) {
+            nextIdsByCode = new HashMap<>(idsByCode);
+            if (previous != null) {
+                nextIdsByCode.remove(previous.code, id);
+            }
+            if (entry != null) {
+                nextIdsByCode.put(entry.code, id);
+            }
+            nextIdsByCode = Collections.unmodifiableMap(nextIdsByCode);
+        }
+
+        boolean wasAvailable = previous != null && previous.isAvailable();
+        boolean isAvailable = entry != null && entry.isAvailable();
+        EncodedBody nextAll = bodyChanged ? list(nextCourses.values(), false, gzipMinBytes) : all;
+        EncodedBody nextAvailable = wasAvailable != isAvailable || (bodyChanged && isAvailable)
+                ? list(nextCourses.values(), true, gzipMinBytes)
+                : available;
+        return new CatalogSnapshot(Collections.unmodifiableNavigableMap(nextCourses), nextIdsByCode, nextAll, nextAvailable);
+    }
+
+    // Joins the already encoded courses into a JSON array instead of serializing them again
+    private static EncodedBody list(Collection<Entry> entries, boolean availableOnly, int gzipMinBytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        boolean first = true;
+        for (Entry entry : entries) {
+            if (availableOnly && !entry.isAvailable()) {
+                continue;
+            }
+            if (!first) {
+                out.write(',');
+            }
+            out.writeBytes(entry.body.getIdentity());
+            first = false;
+        }
+        out.write(']');
+        return EncodedBody.of(out.toByteArray(), gzipMinBytes);
+    }
+
+    Entry entry(Long id) {
+        return courses.get(id);
+    }
+
+    public EncodedBody getAll() {
+        return all;
+    }
+
+    public EncodedBody getAvailable() {
+        return available;
+    }
+
+    // Null when there is no such course
+    public EncodedBody getById(Long id) {
+        Entry entry = courses.get(id);
+        return entry != null ? entry.body : null;
+    }
+
+    // Null when there is no such course
+    public EncodedBody getByCode(String code) {
+        Long id = idsByCode.get(code);
+        return id != null ? getById(id) : null;
+    }
+
+    public int size() {
+        return courses.size();
+    }
+
+    public long bytes() {
+        long bytes = all.size() + available.size();
+        for (Entry entry : courses.values()) {
+            bytes += entry.body.size();
+        }
+        return bytes;
+    }
+}
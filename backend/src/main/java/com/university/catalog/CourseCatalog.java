@@ -0,0 +1,168 @@
+package com.university.catalog;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.cluster.ClusterService;
+import com.university.entity.Course;
+import com.university.entity.Enrollment;
+import com.university.event.CourseChangedEvent;
+import com.university.event.EnrollmentChangedEvent;
+import com.university.event.StudentChangedEvent;
+import com.university.repository.CourseRepository;
+import com.university.repository.EnrollmentRepository;
+import com.university.tenant.TenantContext;
+import com.university.tenant.Tenants;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Serves the course catalog from bodies encoded once per change instead of once per request.
+// Each tenant has one immutable CatalogSnapshot; a course change or an enrollment that moves a
+// course's count swaps in a copy with that course re-encoded, while requests keep writing out
+// whichever snapshot they read. Changes go through the cluster so every node re-encodes its own.
+@Service
+public class CourseCatalog {
+
+    public static final String CACHE = "course-catalog";
+
+    // Key used to rebuild the whole catalog, e.g. after a student delete cascaded to enrollments
+    private static final String ALL = "*";
+
+    @Autowired
+    private CatalogProperties properties;
+
+    @Autowired
+    private CourseRepository courseRepo;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClusterService clusterService;
+
+    @Autowired
+    private Tenants tenants;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Tenant -> current snapshot
+    private final Map<String, CatalogSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    // Snapshots are built from the primary: a rebuild right after a write must see it, and a
+    // replica may still be behind
+    private TransactionTemplate primaryReads;
+
+    @PostConstruct
+    void init() {
+        primaryReads = new TransactionTemplate(transactionManager);
+        clusterService.registerInvalidationListener(CACHE, key -> {
+            if (ALL.equals(key)) {
+                // Rebuilt by the next read
+                snapshots.remove(TenantContext.current());
+            } else {
+                Long id = Long.valueOf(key);
+                snapshots.computeIfPresent(TenantContext.current(), (tenant, snapshot) ->
+                        snapshot.with(id, load(id, snapshot.entry(id)), properties.getGzipMinBytes()));
+            }
+        });
+        Gauge.builder("catalog.snapshot.bytes", snapshots,
+                        all -> all.values().stream().mapToLong(CatalogSnapshot::bytes).sum())
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmAll() {
+        tenants.forEach(this::snapshot);
+    }
+
+    // The current tenant's snapshot, built on first use
+    public CatalogSnapshot snapshot() {
+        String tenant = TenantContext.current();
+        CatalogSnapshot snapshot = snapshots.get(tenant);
+        if (snapshot != null) {
+            return snapshot;
+        }
+        return snapshots.computeIfAbsent(tenant, t -> build());
+    }
+
+    private CatalogSnapshot build() {
+        return primaryReads.execute(status -> {
+            Map<Long, Long> enrolled = new HashMap<>();
+            for (Object[] row : enrollmentRepo.countEnrolledByCourse()) {
+                enrolled.put((Long) row[0], (Long) row[1]);
+            }
+            Map<Long, CatalogSnapshot.Entry> entries = new HashMap<>();
+            for (Course course : courseRepo.findAll()) {
+                entries.put(course.getId(), entry(course, enrolled.getOrDefault(course.getId(), 0L), null));
+            }
+            return CatalogSnapshot.of(entries, properties.getGzipMinBytes());
+        });
+    }
+
+    // The course as it is now, or null once it is gone
+    private CatalogSnapshot.Entry load(Long id, CatalogSnapshot.Entry previous) {
+        return primaryReads.execute(status -> courseRepo.findById(id)
+                .map(course -> entry(course, enrollmentRepo.countEnrollmentsByCourseId(id), previous))
+                .orElse(null));
+    }
+
+    private CatalogSnapshot.Entry entry(Course course, long enrolled, CatalogSnapshot.Entry previous) {
+        // Loaded lazily rather than through Course.DETAILS: a rebuild can run inside any request,
+        // whose persistence context may already hold the course. For a whole catalog each
+        // collection is still one statement, a subselect.
+        Hibernate.initialize(course.getMeetingSlots());
+        Hibernate.initialize(course.getPrerequisites());
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(course);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // An enrollment leaves the course's own JSON as it was; keeping the old body keeps its
+        // ETag and tells the snapshot that only availability may have moved
+        EncodedBody body = previous != null && Arrays.equals(previous.body.getIdentity(), json)
+                ? previous.body
+                : EncodedBody.of(json, properties.getGzipMinBytes());
+        return new CatalogSnapshot.Entry(course.getCode(), course.getMaxCapacity(), enrolled, body);
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        clusterService.invalidate(CACHE, event.getCourseId().toString());
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        if (event.touches(Enrollment.EnrollmentStatus.ENROLLED)) {
+            clusterService.invalidate(CACHE, event.getCourseId().toString());
+        }
+    }
+
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        // A deleted student's enrollments go with it, without an event per course
+        if (event.getStatus() == null) {
+            clusterService.invalidate(CACHE, ALL);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.university.catalog;
+
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+// A response body encoded once and written as-is on every request: the JSON bytes, a gzip copy
+// when it pays off, and the ETag of each. Never modified after construction, so it is shared
+// freely between request threads.
+public final class EncodedBody {
+
+    private final byte[] identity;
+
+    // Null when the body is below the gzip threshold or does not get smaller
+    private final byte[] gzip;
+
+    private final String etag;
+
+    private EncodedBody(byte[] identity, byte[] gzip, String etag) {
+        this.identity = identity;
+        this.gzip = gzip;
+        this.etag = etag;
+    }
+
+    public static EncodedBody of(byte[] json, int gzipMinBytes) {
+        byte[] gzip = json.length >= gzipMinBytes ? gzip(json) : null;
+        if (gzip != null && gzip.length >= json.length) {
+            gzip = null;
+        }
+        return new EncodedBody(json, gzip, DigestUtils.md5DigestAsHex(json));
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public byte[] getIdentity() {
+        return identity;
+    }
+
+    public byte[] getGzip() {
+        return gzip;
+    }
+
+    public boolean hasGzip() {
+        return gzip != null;
+    }
+
+    // Each representation gets its own strong ETag, so a cache never serves one for the other
+    public String getEtag(boolean gzipped) {
+        return gzipped ? "\"" + etag + "-gzip\"" : "\"" + etag + "\"";
+    }
+
+    public long size() {
+        return identity.length + (gzip != null ? gzip.length : 0);
+    }
+}
@@ -0,0 +1,8 @@
+package com.university.cluster;
+
+// Callback for a named in-process cache; invoked for local writes and for invalidations broadcast by peers
+@FunctionalInterface
+public interface CacheInvalidationListener {
+
+    void invalidate(String key);
+}
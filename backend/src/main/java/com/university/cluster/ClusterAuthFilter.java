@@ -0,0 +1,102 @@
+package com.university.cluster;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+// Only peers may skip forwarding or push invalidations. A request carrying the forwarded header,
+// and every invalidation, must be signed by a configured node; anything else is refused before it
+// reaches a controller, so a client cannot allocate seats on a node that does not own the course.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+public class ClusterAuthFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ClusterService clusterService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String forwardedBy = request.getHeader(ClusterService.FORWARDED_HEADER);
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        boolean peerOnly = forwardedBy != null || path.startsWith(ClusterService.INVALIDATIONS_PATH);
+        if (!peerOnly) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        // The signature covers the body, so it is read here and replayed to the controller
+        CachedBodyRequest peerRequest = new CachedBodyRequest(request);
+        String signedPath = request.getQueryString() == null ? path : path + "?" + request.getQueryString();
+        if (!clusterService.isAuthenticPeer(forwardedBy, request.getHeader(ClusterService.AUTH_HEADER),
+                request.getMethod(), signedPath, peerRequest.body)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "Not a cluster peer");
+            return;
+        }
+        chain.doFilter(peerRequest, response);
+    }
+
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.university.cluster;
+
+import com.university.tenant.TenantContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/internal/cluster")
+public class ClusterController {
+
+    @Autowired
+    private ClusterService clusterService;
+
+    // Membership as seen by this node
+    @GetMapping("/members")
+    public Map<String, Object> getMembers() {
+        Map<String, Object> members = new LinkedHashMap<>();
+        members.put("enabled", clusterService.isEnabled());
+        members.put("nodeId", clusterService.getNodeId());
+        members.put("nodes", clusterService.getNodes());
+        return members;
+    }
+
+    // Node owning seat allocation for a course
+    @GetMapping("/owner/{courseId}")
+    public Map<String, Object> getOwner(@PathVariable Long courseId) {
+        Map<String, Object> owner = new LinkedHashMap<>();
+        owner.put("courseId", courseId);
+        owner.put("owner", clusterService.ownerOf(courseId));
+        owner.put("local", clusterService.isOwner(courseId));
+        return owner;
+    }
+
+    // Invalidation broadcast from a peer
+    @PostMapping("/invalidations")
+    public ResponseEntity<Void> receiveInvalidation(@RequestBody ClusterService.InvalidationMessage message) {
+        TenantContext.runAs(message.getTenant(),
+                () -> clusterService.applyInvalidation(message.getCache(), message.getKey()));
+        return ResponseEntity.accepted().build();
+    }
+}
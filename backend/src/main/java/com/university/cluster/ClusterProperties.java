@@ -0,0 +1,101 @@
+package com.university.cluster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+@ConfigurationProperties(prefix = "cluster")
+public class ClusterProperties {
+
+    // Cluster mode is off by default; a single node owns every course
+    private boolean enabled = false;
+
+    // Id of this node, must be one of the keys in nodes
+    private String nodeId = "node1";
+
+    // Static membership: node id -> base URL (e.g. node1=http://localhost:8081)
+    private Map<String, String> nodes = new LinkedHashMap<>();
+
+    // Points per node on the hash ring
+    private int virtualNodes = 128;
+
+    // Shared by all nodes; signs forwarded requests and invalidations so only peers can send them.
+    // Required when cluster mode is on.
+    private String secret;
+
+    // How old a peer's signature may be before it is refused
+    private Duration authMaxAge = Duration.ofSeconds(30);
+
+    private Duration connectTimeout = Duration.ofSeconds(1);
+
+    private Duration readTimeout = Duration.ofSeconds(5);
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public Map<String, String> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(Map<String, String> nodes) {
+        this.nodes = nodes;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public String getSecret() {
+        return secret;
+    }
+
+    public void setSecret(String secret) {
+        this.secret = secret;
+    }
+
+    public Duration getAuthMaxAge() {
+        return authMaxAge;
+    }
+
+    public void setAuthMaxAge(Duration authMaxAge) {
+        this.authMaxAge = authMaxAge;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getReadTimeout() {
+        return readTimeout;
+    }
+
+    public void setReadTimeout(Duration readTimeout) {
+        this.readTimeout = readTimeout;
+    }
+}
@@ -0,0 +1,293 @@
+package com.university.cluster;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.tenant.TenancyProperties;
+import com.university.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Service
+public class ClusterService {
+
+    public static final String FORWARDED_HEADER = "X-Cluster-Forwarded-By";
+
+    // "<epoch millis>:<hex HMAC-SHA256>", keyed with cluster.secret, of the node id, the timestamp,
+    // the method, the path and a SHA-256 digest of the body, so a captured signature cannot be
+    // replayed onto another request
+    public static final String AUTH_HEADER = "X-Cluster-Auth";
+
+    private static final Logger log = LoggerFactory.getLogger(ClusterService.class);
+
+    private static final int LOCK_STRIPES = 64;
+
+    static final String INVALIDATIONS_PATH = "/internal/cluster/invalidations";
+
+    @Autowired
+    private ClusterProperties properties;
+
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    @Autowired
+    private TenancyProperties tenancy;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ConsistentHashRing ring;
+
+    private RestTemplate restTemplate;
+
+    private final Map<String, List<CacheInvalidationListener>> listeners = new ConcurrentHashMap<>();
+
+    private final ReentrantLock[] courseLocks = new ReentrantLock[LOCK_STRIPES];
+
+    private final ExecutorService broadcaster = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "cluster-broadcast");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void init() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            courseLocks[i] = new ReentrantLock();
+        }
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (!properties.getNodes().containsKey(properties.getNodeId())) {
+            throw new IllegalStateException("cluster.node-id '" + properties.getNodeId()
+                    + "' is not listed in cluster.nodes " + properties.getNodes().keySet());
+        }
+        if (properties.getSecret() == null || properties.getSecret().isBlank()) {
+            throw new IllegalStateException("cluster.secret must be set when cluster mode is enabled");
+        }
+        ring = new ConsistentHashRing(properties.getNodes().keySet(), properties.getVirtualNodes());
+        restTemplate = restTemplateBuilder
+                .setConnectTimeout(properties.getConnectTimeout())
+                .setReadTimeout(properties.getReadTimeout())
+                .build();
+        log.info("Cluster mode enabled: node {} of {}", properties.getNodeId(), properties.getNodes().keySet());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        broadcaster.shutdown();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String getNodeId() {
+        return properties.getNodeId();
+    }
+
+    public Map<String, String> getNodes() {
+        return properties.getNodes();
+    }
+
+    // Node that owns seat allocation for the course
+    public String ownerOf(Long courseId) {
+        return isEnabled() ? ring.nodeFor(courseId) : properties.getNodeId();
+    }
+
+    public boolean isOwner(Long courseId) {
+        return !isEnabled() || properties.getNodeId().equals(ring.nodeFor(courseId));
+    }
+
+    // Runs the action while holding this node's lock for the course. Because only the owner
+    // allocates seats for a course, this serializes capacity checks across the whole cluster.
+    public <T> T withCourseLock(Long courseId, Supplier<T> action) {
+        ReentrantLock lock = courseLocks[Math.floorMod(courseId.hashCode(), LOCK_STRIPES)];
+        lock.lock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Forwards a JSON request to the node owning the course and relays its response as-is
+    public ResponseEntity<byte[]> forwardToOwner(Long courseId, HttpMethod method, String path, Object body) {
+        String owner = ownerOf(courseId);
+        String url = properties.getNodes().get(owner) + path;
+
+        // Serialized here so the signed digest is of exactly the bytes sent
+        byte[] json = toJson(body);
+        HttpHeaders headers = peerHeaders(method, path, json);
+        if (tenancy.isEnabled()) {
+            headers.set(tenancy.getHeader(), TenantContext.current());
+        }
+
+        try {
+            ResponseEntity<byte[]> response = restTemplate.exchange(url, method, new HttpEntity<>(json, headers), byte[].class);
+            return relay(response.getStatusCode().value(), response.getHeaders(), response.getBody());
+        } catch (HttpStatusCodeException e) {
+            return relay(e.getStatusCode().value(), e.getResponseHeaders(), e.getResponseBodyAsByteArray());
+        } catch (ResourceAccessException e) {
+            log.warn("Owner {} of course {} is unreachable: {}", owner, courseId, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    // True when the request comes from another configured node: it names one and carries a fresh
+    // signature of this method, path and body made with the shared secret
+    public boolean isAuthenticPeer(String nodeId, String credential, String method, String path, byte[] body) {
+        if (!isEnabled() || nodeId == null || credential == null
+                || nodeId.equals(properties.getNodeId()) || !properties.getNodes().containsKey(nodeId)) {
+            return false;
+        }
+        int colon = credential.indexOf(':');
+        if (colon <= 0) {
+            return false;
+        }
+        long timestamp;
+        try {
+            timestamp = Long.parseLong(credential.substring(0, colon));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (Math.abs(System.currentTimeMillis() - timestamp) > properties.getAuthMaxAge().toMillis()) {
+            return false;
+        }
+        byte[] expected = sign(nodeId, timestamp, method, path, body).getBytes(StandardCharsets.US_ASCII);
+        return MessageDigest.isEqual(expected, credential.substring(colon + 1).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private HttpHeaders peerHeaders(HttpMethod method, String path, byte[] body) {
+        long timestamp = System.currentTimeMillis();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(FORWARDED_HEADER, properties.getNodeId());
+        headers.set(AUTH_HEADER, timestamp + ":" + sign(properties.getNodeId(), timestamp, method.name(), path, body));
+        return headers;
+    }
+
+    private String sign(String nodeId, long timestamp, String method, String path, byte[] body) {
+        try {
+            String bodyDigest = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(properties.getSecret().getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            String signed = nodeId + ":" + timestamp + ":" + method + ":" + path + ":" + bodyDigest;
+            return HexFormat.of().formatHex(mac.doFinal(signed.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Cannot sign cluster requests", e);
+        }
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize cluster request body", e);
+        }
+    }
+
+    private ResponseEntity<byte[]> relay(int status, HttpHeaders upstream, byte[] body) {
+        HttpHeaders headers = new HttpHeaders();
+        if (upstream != null && upstream.getContentType() != null) {
+            headers.setContentType(upstream.getContentType());
+        }
+        return ResponseEntity.status(status).headers(headers).body(body);
+    }
+
+    public void registerInvalidationListener(String cache, CacheInvalidationListener listener) {
+        listeners.computeIfAbsent(cache, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    // Invalidates the key locally and broadcasts it to every other member. Keys are scoped to the
+    // current tenant, which travels with the message and is current again when peers apply it.
+    public void invalidate(String cache, String key) {
+        applyInvalidation(cache, key);
+        if (!isEnabled()) {
+            return;
+        }
+        InvalidationMessage message = new InvalidationMessage(cache, key, properties.getNodeId(), TenantContext.current());
+        properties.getNodes().forEach((nodeId, baseUrl) -> {
+            if (!nodeId.equals(properties.getNodeId())) {
+                broadcaster.execute(() -> send(nodeId, baseUrl, message));
+            }
+        });
+    }
+
+    // Applies an invalidation without re-broadcasting it (used for messages received from peers)
+    public void applyInvalidation(String cache, String key) {
+        for (CacheInvalidationListener listener : listeners.getOrDefault(cache, List.of())) {
+            try {
+                listener.invalidate(key);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation of {}:{} failed", cache, key, e);
+            }
+        }
+    }
+
+    private void send(String nodeId, String baseUrl, InvalidationMessage message) {
+        try {
+            byte[] json = toJson(message);
+            HttpEntity<byte[]> request = new HttpEntity<>(json, peerHeaders(HttpMethod.POST, INVALIDATIONS_PATH, json));
+            restTemplate.postForEntity(baseUrl + INVALIDATIONS_PATH, request, Void.class);
+        } catch (RuntimeException e) {
+            log.warn("Could not deliver invalidation {}:{} to {}: {}", message.getCache(), message.getKey(), nodeId, e.getMessage());
+        }
+    }
+
+    public static class InvalidationMessage {
+        private String cache;
+        private String key;
+        private String origin;
+        private String tenant = TenantContext.DEFAULT;
+
+        public InvalidationMessage() {}
+
+        public InvalidationMessage(String cache, String key, String origin, String tenant) {
+            this.cache = cache;
+            this.key = key;
+            this.origin = origin;
+            this.tenant = tenant;
+        }
+
+        public String getCache() { return cache; }
+        public void setCache(String cache) { this.cache = cache; }
+
+        public String getKey() { return key; }
+        public void setKey(String key) { this.key = key; }
+
+        public String getOrigin() { return origin; }
+        public void setOrigin(String origin) { this.origin = origin; }
+
+        public String getTenant() { return tenant; }
+        public void setTenant(String tenant) { this.tenant = tenant; }
+    }
+}
@@ -0,0 +1,47 @@
+package com.university.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Immutable consistent hash ring over node ids. Every node builds the same ring from the
+// same static membership, so all nodes agree on the owner of a course without coordination.
+public class ConsistentHashRing {
+
+    private final TreeMap<Long, String> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<String> nodeIds, int virtualNodes) {
+        if (nodeIds.isEmpty()) {
+            throw new IllegalArgumentException("Hash ring needs at least one node");
+        }
+        for (String nodeId : nodeIds) {
+            for (int i = 0; i < virtualNodes; i++) {
+                ring.put(hash(nodeId + "#" + i), nodeId);
+            }
+        }
+    }
+
+    // Owner of the given course id: first ring point clockwise from the key's hash
+    public String nodeFor(Long courseId) {
+        long h = hash("course:" + courseId);
+        Map.Entry<Long, String> entry = ring.ceilingEntry(h);
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    // MD5 is used only for its stable, well spread output; String.hashCode clusters badly on ring points
+    private static long hash(String key) {
+        try {
+            byte[] digest = MessageDigest.getInstance("MD5").digest(key.getBytes(StandardCharsets.UTF_8));
+            long h = 0;
+            for (int i = 0; i < 8; i++) {
+                h = (h << 8) | (digest[i] & 0xFF);
+            }
+            return h;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 not available", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.university.coalescing;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Marks a repository read whose identical concurrent calls may share one execution. Callers that
+// join get the instances the first caller loaded, so only mark queries whose results come back
+// fully loaded: scalars, or entities with nothing lazy left that serialization would touch.
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CoalescedRead {
+}
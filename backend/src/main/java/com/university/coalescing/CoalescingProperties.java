@@ -0,0 +1,35 @@
+package com.university.coalescing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "coalescing")
+public class CoalescingProperties {
+
+    // Identical concurrent @CoalescedRead calls share one execution
+    private boolean enabled = true;
+
+    // How long a finished result keeps answering identical calls; zero only shares executions
+    // that are still running. Any local write ends the window early.
+    private Duration microCacheWindow = Duration.ZERO;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getMicroCacheWindow() {
+        return microCacheWindow;
+    }
+
+    public void setMicroCacheWindow(Duration microCacheWindow) {
+        this.microCacheWindow = microCacheWindow;
+    }
+}
@@ -0,0 +1,237 @@
+package com.university.coalescing;
+
+import com.university.datasource.ReadRoutingContext;
+import com.university.event.CourseChangedEvent;
+import com.university.event.EnrollmentChangedEvent;
+import com.university.event.StudentChangedEvent;
+import com.university.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Single-flight for repository reads: identical @CoalescedRead calls (same method, arguments,
+// tenant and routing) arriving while one is running wait for it and share its result instead of
+// running the query again. Only calls made inside a read-only transaction take part; writes and
+// reads on a write path always run their own query.
+//
+// Every write in a tenant (a repository save/delete/@Modifying call, its commit, or a domain event)
+// moves the tenant's write generation on. A call only joins an execution that started in the
+// current generation, so nothing that began before a write the caller could have seen is reused.
+@Component
+public class ReadCoalescer {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    @Autowired
+    private CoalescingProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Running executions, and finished ones still inside the micro-cache window
+    private final Map<Key, Flight> flights = new ConcurrentHashMap<>();
+
+    // Tenant -> write generation
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    // "Repository.method outcome" -> counter
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("repository.coalescing.flights", flights, Map::size).register(meterRegistry);
+    }
+
+    Object invoke(MethodInvocation invocation, String repository) throws Throwable {
+        if (!properties.isEnabled()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !invocation.getMethod().isAnnotationPresent(CoalescedRead.class)) {
+            return invocation.proceed();
+        }
+
+        String tenant = TenantContext.current();
+        String method = repository + "." + invocation.getMethod().getName();
+        // Reads that must see the client's own writes go to the primary, so they never share a
+        // replica read
+        Key key = new Key(tenant, ReadRoutingContext.isPrimaryRequired(), invocation.getMethod(),
+                Arrays.asList(invocation.getArguments().clone()));
+        long generation = generation(tenant).get();
+        long window = properties.getMicroCacheWindow().toNanos();
+
+        while (true) {
+            Flight flight = flights.get(key);
+            if (flight != null) {
+                boolean running = flight.isRunning();
+                if (flight.generation == generation && (running || flight.isFresh(window))) {
+                    count(method, running ? "joined" : "cached");
+                    return copy(flight.await());
+                }
+                flights.remove(key, flight);
+            }
+            Flight mine = new Flight(generation);
+            if (flights.putIfAbsent(key, mine) != null) {
+                continue;
+            }
+            return copy(lead(invocation, key, mine, method, window));
+        }
+    }
+
+    private Object lead(MethodInvocation invocation, Key key, Flight flight, String method, long window) throws Throwable {
+        try {
+            count(method, "executed");
+            Object result = invocation.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable t) {
+            flight.fail(t);
+            flights.remove(key, flight);
+            throw t;
+        } finally {
+            if (window <= 0) {
+                flights.remove(key, flight);
+            } else if (flights.size() > PRUNE_THRESHOLD) {
+                // Distinct searches would otherwise pile up between reads of the same key
+                flights.values().removeIf(other -> !other.isRunning() && !other.isFresh(window));
+            }
+        }
+    }
+
+    // A write in the current tenant: ends every shared result right away, and again when the
+    // surrounding transaction finishes, since reads started before the commit cannot see it
+    void written() {
+        String tenant = TenantContext.current();
+        generation(tenant).incrementAndGet();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation(tenant).incrementAndGet();
+                }
+            });
+        }
+    }
+
+    private AtomicLong generation(String tenant) {
+        return generations.computeIfAbsent(tenant, t -> new AtomicLong());
+    }
+
+    // Each caller gets its own list, so one sorting or filtering it in place cannot affect the rest
+    private static Object copy(Object result) {
+        return result instanceof List<?> list ? new ArrayList<>(list) : result;
+    }
+
+    private void count(String method, String outcome) {
+        counters.computeIfAbsent(method + " " + outcome, k -> Counter.builder("repository.coalescing.calls")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .register(meterRegistry)).increment();
+    }
+
+    // JDBC writes (e.g. roster imports) bypass the repositories but still publish these
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        written();
+    }
+
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        written();
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        written();
+    }
+
+    private static final class Key {
+
+        private final String tenant;
+
+        private final boolean primary;
+
+        private final Method method;
+
+        private final List<Object> arguments;
+
+        private final int hash;
+
+        Key(String tenant, boolean primary, Method method, List<Object> arguments) {
+            this.tenant = tenant;
+            this.primary = primary;
+            this.method = method;
+            this.arguments = arguments;
+            this.hash = Objects.hash(tenant, primary, method, arguments);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key key && hash == key.hash && primary == key.primary
+                    && tenant.equals(key.tenant) && method.equals(key.method) && arguments.equals(key.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    // One execution and the callers waiting on it
+    private static final class Flight {
+
+        private final long generation;
+
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+
+        // System.nanoTime() when the execution finished
+        private volatile long finishedAt;
+
+        Flight(long generation) {
+            this.generation = generation;
+        }
+
+        boolean isRunning() {
+            return !result.isDone();
+        }
+
+        boolean isFresh(long window) {
+            return result.isDone() && !result.isCompletedExceptionally() && System.nanoTime() - finishedAt <= window;
+        }
+
+        void complete(Object value) {
+            finishedAt = System.nanoTime();
+            result.complete(value);
+        }
+
+        void fail(Throwable failure) {
+            finishedAt = System.nanoTime();
+            result.completeExceptionally(failure);
+        }
+
+        // The shared result, or the shared failure rethrown as it was thrown
+        Object await() throws Throwable {
+            try {
+                return result.join();
+            } catch (CompletionException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
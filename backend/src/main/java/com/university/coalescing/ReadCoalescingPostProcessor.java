@@ -0,0 +1,61 @@
+package com.university.coalescing;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+// Puts the ReadCoalescer in front of every Spring Data repository and reports repository writes
+// to it. The interceptor goes first so it sees the caller's transaction rather than the one the
+// repository opens for itself.
+@Component
+public class ReadCoalescingPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+    private BeanFactory beanFactory;
+
+    // Looked up on first use: post-processors are created before the beans it depends on
+    private volatile ReadCoalescer coalescer;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                    repositoryFactory.addRepositoryProxyPostProcessor((factory, repositoryInformation) -> {
+                        String repository = repositoryInformation.getRepositoryInterface().getSimpleName();
+                        factory.addAdvice(0, (MethodInterceptor) invocation -> {
+                            if (isWrite(invocation.getMethod())) {
+                                Object result = invocation.proceed();
+                                coalescer().written();
+                                return result;
+                            }
+                            return coalescer().invoke(invocation, repository);
+                        });
+                    }));
+        }
+        return bean;
+    }
+
+    private static boolean isWrite(Method method) {
+        String name = method.getName();
+        return name.startsWith("save") || name.startsWith("delete") || method.isAnnotationPresent(Modifying.class);
+    }
+
+    private ReadCoalescer coalescer() {
+        ReadCoalescer current = coalescer;
+        if (current == null) {
+            current = beanFactory.getBean(ReadCoalescer.class);
+            coalescer = current;
+        }
+        return current;
+    }
+}
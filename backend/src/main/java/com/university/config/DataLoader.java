@@ -1,14 +1,20 @@
 package com.university.config;
 
 import com.university.entity.Course;
+import com.university.entity.MeetingSlot;
+import com.university.entity.Prerequisite;
 import com.university.entity.Student;
 import com.university.repository.CourseRepository;
 import com.university.repository.StudentRepository;
+import com.university.tenant.Tenants;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.stereotype.Component;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
 
 @Component
 public class DataLoader implements CommandLineRunner {
@@ -19,13 +25,19 @@ public class DataLoader implements CommandLineRunner {
     @Autowired
     private StudentRepository studentRepository;
     
+    @Autowired
+    private Tenants tenants;
+    
     @Override
     public void run(String... args) throws Exception {
-        // Load sample courses
-        loadSampleCourses();
-        
-        // Load sample students
-        loadSampleStudents();
+        // Every tenant starts with its own copy of the sample data
+        tenants.forEach(() -> {
+            // Load sample courses
+            loadSampleCourses();
+            
+            // Load sample students
+            loadSampleStudents();
+        });
     }
     
     private void loadSampleCourses() {
@@ -33,32 +45,57 @@ public class DataLoader implements CommandLineRunner {
             Course course1 = new Course("Introduction to Computer Science", "CS101", 
                 "Fundamental concepts of computer science and programming", 3);
             course1.setMaxCapacity(30);
+            course1.setMeetingSlots(List.of(
+                slot(DayOfWeek.MONDAY, 9, 0, 9, 50), slot(DayOfWeek.WEDNESDAY, 9, 0, 9, 50), slot(DayOfWeek.FRIDAY, 9, 0, 9, 50)));
             courseRepository.save(course1);
             
             Course course2 = new Course("Data Structures and Algorithms", "CS201", 
                 "Advanced data structures and algorithm analysis", 4);
             course2.setMaxCapacity(25);
+            course2.setMeetingSlots(List.of(
+                slot(DayOfWeek.TUESDAY, 10, 0, 11, 50), slot(DayOfWeek.THURSDAY, 10, 0, 11, 50)));
             courseRepository.save(course2);
             
             Course course3 = new Course("Database Management Systems", "CS301", 
                 "Design and implementation of database systems", 3);
             course3.setMaxCapacity(20);
+            course3.setMeetingSlots(List.of(
+                slot(DayOfWeek.MONDAY, 13, 0, 14, 15), slot(DayOfWeek.WEDNESDAY, 13, 0, 14, 15)));
             courseRepository.save(course3);
             
             Course course4 = new Course("Web Development", "CS401", 
                 "Modern web development with React and Spring Boot", 4);
             course4.setMaxCapacity(35);
+            course4.setMeetingSlots(List.of(
+                slot(DayOfWeek.TUESDAY, 14, 0, 15, 50), slot(DayOfWeek.THURSDAY, 14, 0, 15, 50)));
             courseRepository.save(course4);
             
             Course course5 = new Course("Software Engineering", "CS501", 
                 "Software development methodologies and practices", 3);
             course5.setMaxCapacity(28);
+            course5.setMeetingSlots(List.of(
+                slot(DayOfWeek.MONDAY, 9, 30, 10, 45), slot(DayOfWeek.WEDNESDAY, 9, 30, 10, 45)));
+            courseRepository.save(course5);
+            
+            // CS201 needs CS101, CS301 needs CS201 with a C or better, and CS501 needs CS201
+            // plus either CS301 or CS401
+            course2.setPrerequisites(List.of(new Prerequisite(course1.getId(), 0, null)));
+            courseRepository.save(course2);
+            course3.setPrerequisites(List.of(new Prerequisite(course2.getId(), 0, "C")));
+            courseRepository.save(course3);
+            course5.setPrerequisites(List.of(
+                new Prerequisite(course2.getId(), 0, null),
+                new Prerequisite(course3.getId(), 1, null), new Prerequisite(course4.getId(), 1, null)));
             courseRepository.save(course5);
             
             System.out.println("Sample courses loaded successfully!");
         }
     }
     
+    private MeetingSlot slot(DayOfWeek day, int startHour, int startMinute, int endHour, int endMinute) {
+        return new MeetingSlot(day, LocalTime.of(startHour, startMinute), LocalTime.of(endHour, endMinute));
+    }
+    
     private void loadSampleStudents() {
         if (studentRepository.count() == 0) {
             Student student1 = new Student("John", "Doe", "john.doe@university.edu", "20240001");
@@ -1,74 +1,208 @@
 package com.university.controller;
 
+import com.university.catalog.CourseCatalog;
+import com.university.catalog.EncodedBody;
 import com.university.entity.Course;
+import com.university.entity.Prerequisite;
+import com.university.event.ChangeType;
+import com.university.event.CourseChangedEvent;
+import com.university.membership.UniquenessFilters;
+import com.university.prerequisite.CoursePrerequisites;
+import com.university.prerequisite.PrerequisiteService;
+import com.university.projection.SparseFieldsets;
+import com.university.recommendation.CoEnrollmentService;
+import com.university.recommendation.CourseRecommendation;
 import com.university.repository.CourseRepository;
+import com.university.schedule.StudentScheduleService;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/courses")
 @CrossOrigin(origins = "http://localhost:3000")
 public class CourseController {
     
+    // Largest page of recent courses a single request may ask for
+    private static final int MAX_RECENT = 50;
+    
     @Autowired
     private CourseRepository repo;
     
-    // Get all courses
+    @Autowired
+    private StudentScheduleService scheduleService;
+    
+    @Autowired
+    private CoEnrollmentService coEnrollmentService;
+    
+    @Autowired
+    private UniquenessFilters uniqueness;
+    
+    @Autowired
+    private SparseFieldsets sparseFieldsets;
+    
+    @Autowired
+    private ApplicationEventPublisher events;
+    
+    @Autowired
+    private CourseCatalog catalog;
+    
+    @Autowired
+    private PrerequisiteService prerequisites;
+    
+    // Get all courses, served from the pre-encoded catalog
+    @GetMapping(params = {"!ids", "!fields"})
+    public ResponseEntity<byte[]> getAll(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                         @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return encoded(catalog.snapshot().getAll(), ifNoneMatch, acceptEncoding);
+    }
+    
+    // Get only the courses in ids=1,2,3; fields=a,b returns just those columns (plus id)
     @GetMapping
-    public List<Course> getAll() {
-        return repo.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<?>> getSelected(@RequestParam(required = false) List<Long> ids,
+                                               @RequestParam(required = false) Set<String> fields) {
+        if (fields != null) {
+            if (!sparseFieldsets.isSelectable(Course.class, fields)) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(sparseFieldsets.findFields(Course.class, fields, ids));
+        }
+        return ResponseEntity.ok(sparseFieldsets.findAllById(repo, ids, Course::getId));
     }
     
-    // Get course by ID
-    @GetMapping("/{id}")
-    public ResponseEntity<Course> getById(@PathVariable Long id) {
-        Optional<Course> course = repo.findById(id);
-        return course.map(ResponseEntity::ok)
-                   .orElse(ResponseEntity.notFound().build());
+    // Get the most recently created courses, newest first, with just the fields=a,b columns (plus id)
+    @GetMapping("/recent")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Map<String, Object>>> getRecent(@RequestParam Set<String> fields,
+                                                               @RequestParam(defaultValue = "5") int limit) {
+        if (limit < 1 || !sparseFieldsets.isSelectable(Course.class, fields)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(sparseFieldsets.findLatestFields(Course.class, fields, Math.min(limit, MAX_RECENT)));
     }
     
-    // Get course by code
+    // Get course by ID, served from the pre-encoded catalog
+    @GetMapping(value = "/{id}", params = "!fields")
+    public ResponseEntity<byte[]> getById(@PathVariable Long id,
+                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                          @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return encoded(catalog.snapshot().getById(id), ifNoneMatch, acceptEncoding);
+    }
+    
+    // Get course by ID with fields=a,b: just those columns (plus id)
+    @GetMapping(value = "/{id}", params = "fields")
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getFieldsById(@PathVariable Long id, @RequestParam Set<String> fields) {
+        if (!sparseFieldsets.isSelectable(Course.class, fields)) {
+            return ResponseEntity.badRequest().build();
+        }
+        List<Map<String, Object>> rows = sparseFieldsets.findFields(Course.class, fields, List.of(id));
+        return rows.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(rows.get(0));
+    }
+    
+    // Get course by code, served from the pre-encoded catalog
     @GetMapping("/code/{code}")
-    public ResponseEntity<Course> getByCode(@PathVariable String code) {
-        Optional<Course> course = repo.findByCode(code);
-        return course.map(ResponseEntity::ok)
-                   .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getByCode(@PathVariable String code,
+                                            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return encoded(catalog.snapshot().getByCode(code), ifNoneMatch, acceptEncoding);
     }
     
     // Search courses by title
     @GetMapping("/search")
+    @Transactional(readOnly = true)
     public List<Course> searchByTitle(@RequestParam String title) {
         return repo.findByTitleContainingIgnoreCase(title);
     }
     
-    // Get available courses (with capacity)
+    // Get available courses (with capacity), served from the pre-encoded catalog
     @GetMapping("/available")
-    public List<Course> getAvailableCourses() {
-        return repo.findAvailableCourses();
+    public ResponseEntity<byte[]> getAvailableCourses(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        return encoded(catalog.snapshot().getAvailable(), ifNoneMatch, acceptEncoding);
+    }
+    
+    // Get available courses that fit a student's current timetable
+    @GetMapping("/available/fit")
+    @Transactional(readOnly = true)
+    public List<Course> getAvailableCoursesFitting(@RequestParam Long studentId) {
+        return scheduleService.fitting(studentId, repo.findAvailableCourses());
+    }
+    
+    // Get courses most often taken together with this course
+    @GetMapping("/{id}/recommendations")
+    public List<CourseRecommendation> getRecommendations(@PathVariable Long id,
+                                                         @RequestParam(defaultValue = "5") int limit) {
+        return coEnrollmentService.recommendForCourse(id, limit);
+    }
+    
+    // Get a course's prerequisites, plus every course they require in turn
+    @GetMapping("/{id}/prerequisites")
+    @Transactional(readOnly = true)
+    public ResponseEntity<CoursePrerequisites> getPrerequisites(@PathVariable Long id) {
+        Optional<Course> course = repo.findWithPrerequisitesById(id);
+        return course.map(c -> ResponseEntity.ok(prerequisites.describe(c)))
+                   .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Replace a course's prerequisites
+    @PutMapping("/{id}/prerequisites")
+    public ResponseEntity<CoursePrerequisites> updatePrerequisites(@PathVariable Long id,
+                                                                   @RequestBody List<Prerequisite> requirements) {
+        Optional<Course> courseOptional = repo.findById(id);
+        
+        if (courseOptional.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        // Unknown courses, bad grade letters and cycles are rejected
+        if (!prerequisites.isValid(id, requirements)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        Course course = courseOptional.get();
+        course.setPrerequisites(requirements);
+        Course updatedCourse = repo.save(course);
+        events.publishEvent(new CourseChangedEvent(updatedCourse.getId(), ChangeType.UPDATED));
+        return ResponseEntity.ok(prerequisites.describe(updatedCourse));
     }
     
     // Create new course
     @PostMapping
     public ResponseEntity<Course> create(@Valid @RequestBody Course course) {
         // Check if course code already exists
-        if (repo.existsByCode(course.getCode())) {
+        if (uniqueness.courseCodeExists(course.getCode(), () -> repo.existsByCode(course.getCode()))) {
             return ResponseEntity.badRequest().build();
         }
         
+        if (course.getMeetingSlots() == null) {
+            course.setMeetingSlots(List.of());
+        }
+        
+        uniqueness.addCourseCode(course.getCode());
         Course savedCourse = repo.save(course);
+        events.publishEvent(new CourseChangedEvent(savedCourse.getId(), ChangeType.CREATED));
         return ResponseEntity.status(HttpStatus.CREATED).body(savedCourse);
     }
     
     // Update course
     @PutMapping("/{id}")
     public ResponseEntity<Course> update(@PathVariable Long id, @Valid @RequestBody Course courseDetails) {
-        Optional<Course> courseOptional = repo.findById(id);
+        Optional<Course> courseOptional = repo.findWithDetailsById(id);
         
         if (courseOptional.isEmpty()) {
             return ResponseEntity.notFound().build();
@@ -77,7 +211,8 @@ public class CourseController {
         Course course = courseOptional.get();
         
         // Check if new code conflicts with existing course
-        if (!course.getCode().equals(courseDetails.getCode()) && repo.existsByCode(courseDetails.getCode())) {
+        if (!course.getCode().equals(courseDetails.getCode())
+                && uniqueness.courseCodeExists(courseDetails.getCode(), () -> repo.existsByCode(courseDetails.getCode()))) {
             return ResponseEntity.badRequest().build();
         }
         
@@ -86,8 +221,14 @@ public class CourseController {
         course.setDescription(courseDetails.getDescription());
         course.setCreditHours(courseDetails.getCreditHours());
         course.setMaxCapacity(courseDetails.getMaxCapacity());
+        // Meeting slots are only replaced when the request sends them
+        if (courseDetails.getMeetingSlots() != null) {
+            course.setMeetingSlots(courseDetails.getMeetingSlots());
+        }
         
+        uniqueness.addCourseCode(course.getCode());
         Course updatedCourse = repo.save(course);
+        events.publishEvent(new CourseChangedEvent(updatedCourse.getId(), ChangeType.UPDATED));
         return ResponseEntity.ok(updatedCourse);
     }
     
@@ -100,7 +241,73 @@ public class CourseController {
             return ResponseEntity.notFound().build();
         }
         
-        repo.deleteById(id);
+        repo.delete(course.get());
+        events.publishEvent(new CourseChangedEvent(id, ChangeType.DELETED));
         return ResponseEntity.noContent().build();
     }
+    
+    // Writes a pre-encoded body as-is: gzipped when the client takes it, or 304 when the client
+    // already holds this version
+    private ResponseEntity<byte[]> encoded(EncodedBody body, String ifNoneMatch, String acceptEncoding) {
+        if (body == null) {
+            return ResponseEntity.notFound().build();
+        }
+        boolean gzipped = body.hasGzip() && acceptsGzip(acceptEncoding);
+        String etag = body.getEtag(gzipped);
+        if (ifNoneMatch != null && matches(ifNoneMatch, body)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                    .build();
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(etag)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return response.body(body.getGzip());
+        }
+        return response.body(body.getIdentity());
+    }
+    
+    // Either representation's ETag counts: both stand for the same version of the data
+    private static boolean matches(String ifNoneMatch, EncodedBody body) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(body.getEtag(false)) || tag.equals(body.getEtag(true))) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // gzip;q=0 means "anything but gzip"
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+    
+    // A course code that another node has not yet broadcast passes the uniqueness filter check but
+    // violates the database constraint; that is still the client's duplicate, not a server error.
+    // Any other violation is a bug and propagates.
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Void> handleConstraintViolation(DataIntegrityViolationException e) {
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains("uk_courses_tenant_code")) {
+            return ResponseEntity.badRequest().build();
+        }
+        throw e;
+    }
 }
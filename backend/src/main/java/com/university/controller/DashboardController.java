@@ -0,0 +1,21 @@
+package com.university.controller;
+
+import com.university.dashboard.DashboardCounters;
+import com.university.dashboard.DashboardSummary;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@CrossOrigin(origins = "http://localhost:3000")
+public class DashboardController {
+    
+    @Autowired
+    private DashboardCounters counters;
+    
+    // Get the dashboard summary from the live counters; no database access
+    @GetMapping("/summary")
+    public DashboardSummary getSummary() {
+        return counters.summary();
+    }
+}
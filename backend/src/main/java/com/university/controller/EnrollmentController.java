@@ -1,15 +1,25 @@
 package com.university.controller;
 
+import com.university.cluster.ClusterService;
 import com.university.entity.Course;
 import com.university.entity.Enrollment;
+import com.university.entity.EnrollmentHistory;
 import com.university.entity.Student;
+import com.university.event.EnrollmentChangedEvent;
+import com.university.membership.UniquenessFilters;
+import com.university.prerequisite.PrerequisiteService;
 import com.university.repository.CourseRepository;
+import com.university.repository.EnrollmentHistoryRepository;
 import com.university.repository.EnrollmentRepository;
 import com.university.repository.StudentRepository;
+import com.university.schedule.StudentScheduleService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -23,53 +33,93 @@ public class EnrollmentController {
     @Autowired
     private EnrollmentRepository enrollmentRepo;
     
+    @Autowired
+    private EnrollmentHistoryRepository historyRepo;
+    
     @Autowired
     private StudentRepository studentRepo;
     
     @Autowired
     private CourseRepository courseRepo;
     
+    @Autowired
+    private ClusterService clusterService;
+    
+    @Autowired
+    private StudentScheduleService scheduleService;
+    
+    @Autowired
+    private UniquenessFilters uniqueness;
+    
+    @Autowired
+    private PrerequisiteService prerequisites;
+    
+    @Autowired
+    private ApplicationEventPublisher events;
+    
     // Get all enrollments
     @GetMapping
+    @Transactional(readOnly = true)
     public List<Enrollment> getAll() {
         return enrollmentRepo.findAll();
     }
     
     // Get enrollment by ID
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Enrollment> getById(@PathVariable Long id) {
-        Optional<Enrollment> enrollment = enrollmentRepo.findById(id);
+        Optional<Enrollment> enrollment = enrollmentRepo.findIncludingHistoryById(id);
         return enrollment.map(ResponseEntity::ok)
                         .orElse(ResponseEntity.notFound().build());
     }
     
     // Get enrollments by student ID
     @GetMapping("/student/{studentId}")
+    @Transactional(readOnly = true)
     public List<Enrollment> getByStudentId(@PathVariable Long studentId) {
         return enrollmentRepo.findByStudentId(studentId);
     }
     
     // Get enrollments by course ID
     @GetMapping("/course/{courseId}")
+    @Transactional(readOnly = true)
     public List<Enrollment> getByCourseId(@PathVariable Long courseId) {
         return enrollmentRepo.findByCourseId(courseId);
     }
     
     // Get enrollments by status
     @GetMapping("/status/{status}")
+    @Transactional(readOnly = true)
     public List<Enrollment> getByStatus(@PathVariable Enrollment.EnrollmentStatus status) {
         return enrollmentRepo.findByStatus(status);
     }
     
     // Get enrollments with grades
     @GetMapping("/with-grades")
+    @Transactional(readOnly = true)
     public List<Enrollment> getEnrollmentsWithGrades() {
         return enrollmentRepo.findEnrollmentsWithGrades();
     }
     
     // Enroll student in course
     @PostMapping
-    public ResponseEntity<Enrollment> enroll(@Valid @RequestBody EnrollmentRequest request) {
+    public ResponseEntity<?> enroll(@Valid @RequestBody EnrollmentRequest request,
+                                    @RequestHeader(value = ClusterService.FORWARDED_HEADER, required = false) String forwardedBy) {
+        if (request.getStudentId() == null || request.getCourseId() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        // In cluster mode only the owner of the course allocates its seats; a forwarded
+        // request is always handled locally so that membership disagreements cannot loop.
+        // ClusterAuthFilter has already refused the header unless a peer signed it
+        if (forwardedBy == null && !clusterService.isOwner(request.getCourseId())) {
+            return clusterService.forwardToOwner(request.getCourseId(), HttpMethod.POST, "/api/enrollments", request);
+        }
+        
+        return clusterService.withCourseLock(request.getCourseId(), () -> enrollLocally(request));
+    }
+    
+    private ResponseEntity<Enrollment> enrollLocally(EnrollmentRequest request) {
         Optional<Student> student = studentRepo.findById(request.getStudentId());
         Optional<Course> course = courseRepo.findById(request.getCourseId());
         
@@ -78,7 +128,8 @@ public class EnrollmentController {
         }
         
         // Check if student is already enrolled in this course
-        if (enrollmentRepo.existsByStudentIdAndCourseId(request.getStudentId(), request.getCourseId())) {
+        if (uniqueness.enrollmentExists(request.getStudentId(), request.getCourseId(),
+                () -> enrollmentRepo.existsByStudentIdAndCourseId(request.getStudentId(), request.getCourseId()))) {
             return ResponseEntity.badRequest().build();
         }
         
@@ -91,26 +142,74 @@ public class EnrollmentController {
             }
         }
         
+        Enrollment.EnrollmentStatus status = request.getStatus() != null ? request.getStatus() : Enrollment.EnrollmentStatus.ENROLLED;
+        
+        if (status == Enrollment.EnrollmentStatus.ENROLLED && !mayEnroll(request.getStudentId(), courseEntity)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
         Enrollment enrollment = new Enrollment(student.get(), course.get());
-        enrollment.setStatus(request.getStatus() != null ? request.getStatus() : Enrollment.EnrollmentStatus.ENROLLED);
+        enrollment.setStatus(status);
         
+        uniqueness.addEnrollment(request.getStudentId(), request.getCourseId());
         Enrollment savedEnrollment = enrollmentRepo.save(enrollment);
+        events.publishEvent(new EnrollmentChangedEvent(request.getStudentId(), request.getCourseId(), null, status, null, null));
         return ResponseEntity.status(HttpStatus.CREATED).body(savedEnrollment);
     }
     
     // Update enrollment status
     @PutMapping("/{id}/status")
-    public ResponseEntity<Enrollment> updateStatus(@PathVariable Long id, @RequestBody StatusUpdateRequest request) {
+    public ResponseEntity<?> updateStatus(@PathVariable Long id, @RequestBody StatusUpdateRequest request,
+                                          @RequestHeader(value = ClusterService.FORWARDED_HEADER, required = false) String forwardedBy) {
+        if (request.getStatus() == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
         Optional<Enrollment> enrollmentOptional = enrollmentRepo.findById(id);
         
         if (enrollmentOptional.isEmpty()) {
-            return ResponseEntity.notFound().build();
+            return notFoundOrArchived(id);
+        }
+        
+        // A move into ENROLLED takes a seat, so status changes are decided by the course's owner
+        // under its lock, like new enrollments
+        Long courseId = enrollmentOptional.get().getCourse().getId();
+        if (forwardedBy == null && !clusterService.isOwner(courseId)) {
+            return clusterService.forwardToOwner(courseId, HttpMethod.PUT, "/api/enrollments/" + id + "/status", request);
+        }
+        
+        return clusterService.withCourseLock(courseId, () -> updateStatusLocally(id, request.getStatus()));
+    }
+    
+    private ResponseEntity<Enrollment> updateStatusLocally(Long id, Enrollment.EnrollmentStatus status) {
+        // Read again under the lock: the status may have changed since the check above
+        Optional<Enrollment> enrollmentOptional = enrollmentRepo.findById(id);
+        
+        if (enrollmentOptional.isEmpty()) {
+            return notFoundOrArchived(id);
         }
         
         Enrollment enrollment = enrollmentOptional.get();
-        enrollment.setStatus(request.getStatus());
+        Enrollment.EnrollmentStatus previousStatus = enrollment.getStatus();
+        
+        // Check course capacity when the enrollment takes a seat
+        Course course = enrollment.getCourse();
+        if (status == Enrollment.EnrollmentStatus.ENROLLED && previousStatus != Enrollment.EnrollmentStatus.ENROLLED
+                && course.getMaxCapacity() != null
+                && enrollmentRepo.countEnrollmentsByCourseId(course.getId()) >= course.getMaxCapacity()) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        if (status == Enrollment.EnrollmentStatus.ENROLLED && previousStatus != Enrollment.EnrollmentStatus.ENROLLED
+                && !mayEnroll(enrollment.getStudent().getId(), course)) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        enrollment.setStatus(status);
         
         Enrollment updatedEnrollment = enrollmentRepo.save(enrollment);
+        events.publishEvent(changed(updatedEnrollment, previousStatus, updatedEnrollment.getStatus(),
+                updatedEnrollment.getGrade(), updatedEnrollment.getGrade()));
         return ResponseEntity.ok(updatedEnrollment);
     }
     
@@ -120,13 +219,16 @@ public class EnrollmentController {
         Optional<Enrollment> enrollmentOptional = enrollmentRepo.findById(id);
         
         if (enrollmentOptional.isEmpty()) {
-            return ResponseEntity.notFound().build();
+            return notFoundOrArchived(id);
         }
         
         Enrollment enrollment = enrollmentOptional.get();
+        Double previousGrade = enrollment.getGrade();
         enrollment.setGrade(request.getGrade());
         
         Enrollment updatedEnrollment = enrollmentRepo.save(enrollment);
+        events.publishEvent(changed(updatedEnrollment, updatedEnrollment.getStatus(), updatedEnrollment.getStatus(),
+                previousGrade, updatedEnrollment.getGrade()));
         return ResponseEntity.ok(updatedEnrollment);
     }
     
@@ -136,13 +238,44 @@ public class EnrollmentController {
         Optional<Enrollment> enrollment = enrollmentRepo.findById(id);
         
         if (enrollment.isEmpty()) {
-            return ResponseEntity.notFound().build();
+            // Archived enrollments can still be removed
+            Optional<EnrollmentHistory> archived = historyRepo.findById(id);
+            if (archived.isEmpty()) {
+                return ResponseEntity.notFound().build();
+            }
+            historyRepo.delete(archived.get());
+            Enrollment removed = archived.get().toEnrollment();
+            events.publishEvent(changed(removed, removed.getStatus(), null, removed.getGrade(), null));
+            return ResponseEntity.noContent().build();
         }
         
-        enrollmentRepo.deleteById(id);
+        enrollmentRepo.delete(enrollment.get());
+        events.publishEvent(changed(enrollment.get(), enrollment.get().getStatus(), null, enrollment.get().getGrade(), null));
         return ResponseEntity.noContent().build();
     }
     
+    // Archived enrollments are read-only history, so changing one is a bad request rather than a miss
+    // Rules an enrollment must meet whenever it becomes ENROLLED, on creation or on a status change
+    private boolean mayEnroll(Long studentId, Course course) {
+        // Check for a timetable clash with the student's other enrolled courses
+        if (scheduleService.conflictsWith(studentId, course)) {
+            return false;
+        }
+        
+        // Check the student has completed the course's prerequisites
+        return prerequisites.isEligible(studentId, course.getId());
+    }
+    
+    private ResponseEntity<Enrollment> notFoundOrArchived(Long id) {
+        return historyRepo.existsById(id) ? ResponseEntity.badRequest().build() : ResponseEntity.notFound().build();
+    }
+    
+    private EnrollmentChangedEvent changed(Enrollment enrollment, Enrollment.EnrollmentStatus previousStatus,
+                                           Enrollment.EnrollmentStatus status, Double previousGrade, Double grade) {
+        return new EnrollmentChangedEvent(enrollment.getStudent().getId(), enrollment.getCourse().getId(),
+                previousStatus, status, previousGrade, grade);
+    }
+    
     // DTO classes for request handling
     public static class EnrollmentRequest {
         private Long studentId;
@@ -0,0 +1,67 @@
+package com.university.controller;
+
+import com.university.entity.StandingRun;
+import com.university.repository.StandingRunRepository;
+import com.university.standing.StandingJob;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/standing/runs")
+@CrossOrigin(origins = "http://localhost:3000")
+public class StandingController {
+    
+    @Autowired
+    private StandingJob job;
+    
+    @Autowired
+    private StandingRunRepository runRepo;
+    
+    // Get all standing runs, newest first
+    @GetMapping
+    @Transactional(readOnly = true)
+    public List<StandingRun> getAll() {
+        return runRepo.findAllByOrderByIdDesc();
+    }
+    
+    // Get standing run by ID (progress while it is running)
+    @GetMapping("/{id}")
+    @Transactional(readOnly = true)
+    public ResponseEntity<StandingRun> getById(@PathVariable Long id) {
+        Optional<StandingRun> run = runRepo.findById(id);
+        return run.map(ResponseEntity::ok)
+                  .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Start recomputing every student's academic standing; dryRun=true only reports the changes
+    @PostMapping
+    public ResponseEntity<StandingRun> start(@RequestParam(defaultValue = "false") boolean dryRun) {
+        return job.start(dryRun)
+                  .map(run -> ResponseEntity.status(HttpStatus.ACCEPTED).body(run))
+                  .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+    
+    // Resume a failed or interrupted run from its checkpoint
+    @PostMapping("/{id}/resume")
+    public ResponseEntity<StandingRun> resume(@PathVariable Long id) {
+        Optional<StandingRun> run = runRepo.findById(id);
+        
+        if (run.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        if (run.get().getState() == StandingRun.State.COMPLETED) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        return job.resume(run.get())
+                  .map(resumed -> ResponseEntity.status(HttpStatus.ACCEPTED).body(resumed))
+                  .orElse(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+}
@@ -1,15 +1,40 @@
 package com.university.controller;
 
+import com.university.entity.Course;
 import com.university.entity.Student;
+import com.university.event.StudentChangedEvent;
+import com.university.membership.UniquenessFilters;
+import com.university.prerequisite.PrerequisiteService;
+import com.university.projection.SparseFieldsets;
+import com.university.recommendation.CoEnrollmentService;
+import com.university.recommendation.CourseRecommendation;
+import com.university.repository.CourseRepository;
 import com.university.repository.StudentRepository;
+import com.university.roster.RosterImporter;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/students")
@@ -19,15 +44,53 @@ public class StudentController {
     @Autowired
     private StudentRepository repo;
     
-    // Get all students
+    @Autowired
+    private CoEnrollmentService coEnrollmentService;
+    
+    @Autowired
+    private UniquenessFilters uniqueness;
+    
+    @Autowired
+    private SparseFieldsets sparseFieldsets;
+    
+    @Autowired
+    private ApplicationEventPublisher events;
+    
+    @Autowired
+    private RosterImporter rosterImporter;
+    
+    @Autowired
+    private CourseRepository courseRepo;
+    
+    @Autowired
+    private PrerequisiteService prerequisites;
+    
+    // Get all students, or only those in ids=1,2,3; fields=a,b returns just those columns (plus id)
     @GetMapping
-    public List<Student> getAll() {
-        return repo.findAll();
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<?>> getAll(@RequestParam(required = false) List<Long> ids,
+                                          @RequestParam(required = false) Set<String> fields) {
+        if (fields != null) {
+            if (!sparseFieldsets.isSelectable(Student.class, fields)) {
+                return ResponseEntity.badRequest().build();
+            }
+            return ResponseEntity.ok(sparseFieldsets.findFields(Student.class, fields, ids));
+        }
+        return ResponseEntity.ok(ids != null ? sparseFieldsets.findAllById(repo, ids, Student::getId) : repo.findAll());
     }
     
-    // Get student by ID
+    // Get student by ID; fields=a,b returns just those columns (plus id)
     @GetMapping("/{id}")
-    public ResponseEntity<Student> getById(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<?> getById(@PathVariable Long id, @RequestParam(required = false) Set<String> fields) {
+        if (fields != null) {
+            if (!sparseFieldsets.isSelectable(Student.class, fields)) {
+                return ResponseEntity.badRequest().build();
+            }
+            List<Map<String, Object>> rows = sparseFieldsets.findFields(Student.class, fields, List.of(id));
+            return rows.isEmpty() ? ResponseEntity.notFound().build() : ResponseEntity.ok(rows.get(0));
+        }
+        
         Optional<Student> student = repo.findById(id);
         return student.map(ResponseEntity::ok)
                     .orElse(ResponseEntity.notFound().build());
@@ -35,6 +98,7 @@ public class StudentController {
     
     // Get student by email
     @GetMapping("/email/{email}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Student> getByEmail(@PathVariable String email) {
         Optional<Student> student = repo.findByEmail(email);
         return student.map(ResponseEntity::ok)
@@ -43,6 +107,7 @@ public class StudentController {
     
     // Get student by student ID
     @GetMapping("/student-id/{studentId}")
+    @Transactional(readOnly = true)
     public ResponseEntity<Student> getByStudentId(@PathVariable String studentId) {
         Optional<Student> student = repo.findByStudentId(studentId);
         return student.map(ResponseEntity::ok)
@@ -51,33 +116,88 @@ public class StudentController {
     
     // Search students by name
     @GetMapping("/search")
+    @Transactional(readOnly = true)
     public List<Student> searchByName(@RequestParam String name) {
         return repo.findByNameContainingIgnoreCase(name);
     }
     
     // Get students by academic status
     @GetMapping("/status/{status}")
+    @Transactional(readOnly = true)
     public List<Student> getByStatus(@PathVariable Student.AcademicStatus status) {
         return repo.findByAcademicStatus(status);
     }
     
+    // Get course recommendations for a student, excluding courses already held
+    @GetMapping("/{id}/recommendations")
+    public List<CourseRecommendation> getRecommendations(@PathVariable Long id,
+                                                         @RequestParam(defaultValue = "5") int limit) {
+        return coEnrollmentService.recommendForStudent(id, limit);
+    }
+    
+    // Get the courses a student has not completed yet and meets every prerequisite of
+    @GetMapping("/{id}/eligible-courses")
+    @Transactional(readOnly = true)
+    public ResponseEntity<List<Course>> getEligibleCourses(@PathVariable Long id) {
+        if (repo.findById(id).isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        List<Course> courses = courseRepo.findAllById(prerequisites.eligibleCourseIds(id));
+        courses.sort(Comparator.comparing(Course::getId));
+        return ResponseEntity.ok(courses);
+    }
+    
     // Create new student
     @PostMapping
     public ResponseEntity<Student> create(@Valid @RequestBody Student student) {
         // Check if email already exists
-        if (repo.existsByEmail(student.getEmail())) {
+        if (uniqueness.emailExists(student.getEmail(), () -> repo.existsByEmail(student.getEmail()))) {
             return ResponseEntity.badRequest().build();
         }
         
         // Check if student ID already exists
-        if (repo.existsByStudentId(student.getStudentId())) {
+        if (uniqueness.studentIdExists(student.getStudentId(), () -> repo.existsByStudentId(student.getStudentId()))) {
             return ResponseEntity.badRequest().build();
         }
         
+        uniqueness.addStudent(student.getEmail(), student.getStudentId());
         Student savedStudent = repo.save(student);
+        events.publishEvent(new StudentChangedEvent(savedStudent.getId(), null, savedStudent.getAcademicStatus()));
         return ResponseEntity.status(HttpStatus.CREATED).body(savedStudent);
     }
     
+    // Import students from a CSV file uploaded as the multipart field "file"
+    @PostMapping(value = "/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importRoster(@RequestParam("file") MultipartFile file) throws IOException {
+        return importRoster(file.getInputStream());
+    }
+    
+    // Import students from a text/csv request body, parsed as it arrives
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<?> importRoster(HttpServletRequest request) throws IOException {
+        return importRoster(request.getInputStream());
+    }
+    
+    // Rows of a recent import that were not imported, as a CSV download
+    @GetMapping("/import/{importId}/errors")
+    public ResponseEntity<String> getImportErrors(@PathVariable String importId) {
+        return rosterImporter.errorReport(importId)
+                .map(csv -> ResponseEntity.ok()
+                        .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8))
+                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"roster-import-" + importId + "-errors.csv\"")
+                        .body(csv))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    private ResponseEntity<?> importRoster(InputStream csv) throws IOException {
+        try (Reader reader = new InputStreamReader(csv, StandardCharsets.UTF_8)) {
+            return ResponseEntity.ok(rosterImporter.importCsv(reader));
+        } catch (IllegalArgumentException e) {
+            // The header is missing required columns or names unknown ones
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+    
     // Update student
     @PutMapping("/{id}")
     public ResponseEntity<Student> update(@PathVariable Long id, @Valid @RequestBody Student studentDetails) {
@@ -88,14 +208,17 @@ public class StudentController {
         }
         
         Student student = studentOptional.get();
+        Student.AcademicStatus previousStatus = student.getAcademicStatus();
         
         // Check if new email conflicts with existing student
-        if (!student.getEmail().equals(studentDetails.getEmail()) && repo.existsByEmail(studentDetails.getEmail())) {
+        if (!student.getEmail().equals(studentDetails.getEmail())
+                && uniqueness.emailExists(studentDetails.getEmail(), () -> repo.existsByEmail(studentDetails.getEmail()))) {
             return ResponseEntity.badRequest().build();
         }
         
         // Check if new student ID conflicts with existing student
-        if (!student.getStudentId().equals(studentDetails.getStudentId()) && repo.existsByStudentId(studentDetails.getStudentId())) {
+        if (!student.getStudentId().equals(studentDetails.getStudentId())
+                && uniqueness.studentIdExists(studentDetails.getStudentId(), () -> repo.existsByStudentId(studentDetails.getStudentId()))) {
             return ResponseEntity.badRequest().build();
         }
         
@@ -107,7 +230,9 @@ public class StudentController {
         student.setPhoneNumber(studentDetails.getPhoneNumber());
         student.setAcademicStatus(studentDetails.getAcademicStatus());
         
+        uniqueness.addStudent(student.getEmail(), student.getStudentId());
         Student updatedStudent = repo.save(student);
+        events.publishEvent(new StudentChangedEvent(id, previousStatus, updatedStudent.getAcademicStatus()));
         return ResponseEntity.ok(updatedStudent);
     }
     
@@ -120,7 +245,21 @@ public class StudentController {
             return ResponseEntity.notFound().build();
         }
         
-        repo.deleteById(id);
+        repo.delete(student.get());
+        events.publishEvent(new StudentChangedEvent(id, student.get().getAcademicStatus(), null));
         return ResponseEntity.noContent().build();
     }
+    
+    // A email or student id that another node has not yet broadcast passes the uniqueness filter check but
+    // violates the database constraint; that is still the client's duplicate, not a server error.
+    // Any other violation is a bug and propagates.
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<Void> handleConstraintViolation(DataIntegrityViolationException e) {
+        // uk_students_tenant_email or uk_students_tenant_student_id
+        if (e.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                && violation.getConstraintName().toLowerCase().contains("uk_students_tenant_")) {
+            return ResponseEntity.badRequest().build();
+        }
+        throw e;
+    }
 }
@@ -0,0 +1,403 @@
+package com.university.dashboard;
+
+import com.university.cluster.ClusterService;
+import com.university.entity.Course;
+import com.university.entity.Enrollment;
+import com.university.entity.Student;
+import com.university.event.ChangeType;
+import com.university.event.CourseChangedEvent;
+import com.university.event.EnrollmentChangedEvent;
+import com.university.event.StudentChangedEvent;
+import com.university.repository.CourseRepository;
+import com.university.repository.EnrollmentHistoryRepository;
+import com.university.repository.EnrollmentRepository;
+import com.university.repository.StudentRepository;
+import com.university.tenant.TenantContext;
+import com.university.tenant.Tenants;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.UnaryOperator;
+
+// Live counters behind the dashboard summary. Every write adjusts them from its domain event, so
+// reading the summary never touches the database. A full recount replaces them at startup, every
+// reconcile interval, and shortly after any change the events cannot describe (cascading deletes,
+// writes on other cluster nodes, writes racing a recount). Each tenant has its own set of counters.
+@Service
+public class DashboardCounters implements SmartLifecycle {
+
+    public static final String CACHE = "dashboard";
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardCounters.class);
+
+    private static final Student.AcademicStatus[] ACADEMIC_STATUSES = Student.AcademicStatus.values();
+
+    private static final Enrollment.EnrollmentStatus[] ENROLLMENT_STATUSES = Enrollment.EnrollmentStatus.values();
+
+    @Autowired
+    private DashboardProperties properties;
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Autowired
+    private CourseRepository courseRepo;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    @Autowired
+    private EnrollmentHistoryRepository historyRepo;
+
+    @Autowired
+    private ClusterService clusterService;
+
+    @Autowired
+    private Tenants tenants;
+
+    private final Map<String, Counters> counters = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void registerInvalidation() {
+        // Peers announce their writes under their own node id; our own writes are already counted
+        clusterService.registerInvalidationListener(CACHE, key -> {
+            if (!key.equals(clusterService.getNodeId())) {
+                markDirty();
+            }
+        });
+    }
+
+    public DashboardSummary summary() {
+        Counters c = counters();
+        c.installLock.readLock().lock();
+        try {
+            Map<Student.AcademicStatus, Long> byAcademicStatus = new EnumMap<>(Student.AcademicStatus.class);
+            for (Student.AcademicStatus status : ACADEMIC_STATUSES) {
+                byAcademicStatus.put(status, c.students.get(status.ordinal()));
+            }
+            Map<Enrollment.EnrollmentStatus, Long> byEnrollmentStatus = new EnumMap<>(Enrollment.EnrollmentStatus.class);
+            for (Enrollment.EnrollmentStatus status : ENROLLMENT_STATUSES) {
+                byEnrollmentStatus.put(status, c.enrollments.get(status.ordinal()));
+            }
+            double gradeSum;
+            long graded;
+            synchronized (c.gradeTotals) {
+                gradeSum = c.gradeTotals[0];
+                graded = (long) c.gradeTotals[1];
+            }
+            return new DashboardSummary(byAcademicStatus, byEnrollmentStatus, c.totalCourses.get(), c.coursesAtCapacity.get(),
+                    graded > 0 ? gradeSum / graded : null, graded, c.lastReconciledAt);
+        } finally {
+            c.installLock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileAll() {
+        tenants.forEach(this::reconcile);
+    }
+
+    // Recounts the current tenant from the database and replaces its counters
+    public synchronized void reconcile() {
+        long start = System.nanoTime();
+        Counters c = counters();
+        c.dirty.set(false);
+        long changesBefore = c.changes.get();
+
+        long[] studentCounts = new long[ACADEMIC_STATUSES.length];
+        for (Object[] row : studentRepo.countByAcademicStatus()) {
+            if (row[0] != null) {
+                studentCounts[((Student.AcademicStatus) row[0]).ordinal()] = (Long) row[1];
+            }
+        }
+
+        long[] enrollmentCounts = new long[ENROLLMENT_STATUSES.length];
+        double gradeSum = 0;
+        long graded = 0;
+        for (List<Object[]> rows : List.of(enrollmentRepo.summarizeByStatus(), historyRepo.summarizeByStatus())) {
+            for (Object[] row : rows) {
+                if (row[0] != null) {
+                    enrollmentCounts[((Enrollment.EnrollmentStatus) row[0]).ordinal()] += (Long) row[1];
+                }
+                gradeSum += row[2] != null ? ((Number) row[2]).doubleValue() : 0;
+                graded += (Long) row[3];
+            }
+        }
+
+        Map<Long, Long> enrolledByCourse = new HashMap<>();
+        for (Object[] row : enrollmentRepo.countEnrolledByCourse()) {
+            enrolledByCourse.put((Long) row[0], (Long) row[1]);
+        }
+        Map<Long, CourseLoad> recounted = new HashMap<>();
+        long full = 0;
+        for (Object[] row : courseRepo.findAllCapacities()) {
+            CourseLoad load = new CourseLoad(enrolledByCourse.getOrDefault((Long) row[0], 0L), (Integer) row[1]);
+            recounted.put((Long) row[0], load);
+            full += load.isFull() ? 1 : 0;
+        }
+
+        c.installLock.writeLock().lock();
+        try {
+            for (int i = 0; i < studentCounts.length; i++) {
+                c.students.set(i, studentCounts[i]);
+            }
+            for (int i = 0; i < enrollmentCounts.length; i++) {
+                c.enrollments.set(i, enrollmentCounts[i]);
+            }
+            synchronized (c.gradeTotals) {
+                c.gradeTotals[0] = gradeSum;
+                c.gradeTotals[1] = graded;
+            }
+            c.loads.clear();
+            c.loads.putAll(recounted);
+            c.totalCourses.set(recounted.size());
+            c.coursesAtCapacity.set(full);
+            c.lastReconciledAt = LocalDateTime.now();
+        } finally {
+            c.installLock.writeLock().unlock();
+        }
+
+        // A write that landed while we were counting may be missing from, or counted twice in, what we installed
+        if (c.changes.get() != changesBefore) {
+            markDirty();
+        }
+        log.debug("Dashboard counters of tenant {} reconciled in {} ms", TenantContext.current(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Schedules a recount of the current tenant after the dirty delay; further calls until it runs are absorbed by it
+    public void markDirty() {
+        ScheduledExecutorService current = scheduler;
+        if (current != null && counters().dirty.compareAndSet(false, true)) {
+            current.schedule(TenantContext.propagate(this::runScheduled), properties.getDirtyDelay().toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        Counters c = counters();
+        applyDelta(c, () -> {
+            adjust(c.students, event.getPreviousStatus(), -1);
+            adjust(c.students, event.getStatus(), 1);
+        });
+        // Deleting a student cascades to their enrollments, which publish no events of their own
+        if (event.getStatus() == null) {
+            markDirty();
+        }
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        Counters c = counters();
+        applyDelta(c, () -> {
+            if (event.getPreviousStatus() != event.getStatus()) {
+                adjust(c.enrollments, event.getPreviousStatus(), -1);
+                adjust(c.enrollments, event.getStatus(), 1);
+            }
+            boolean enrolledBefore = event.getPreviousStatus() == Enrollment.EnrollmentStatus.ENROLLED;
+            boolean enrolledAfter = event.getStatus() == Enrollment.EnrollmentStatus.ENROLLED;
+            if (enrolledBefore != enrolledAfter) {
+                updateLoad(c, event.getCourseId(), false, load -> load.withEnrolled(load.enrolled + (enrolledAfter ? 1 : -1)));
+            }
+            if (!Objects.equals(event.getPreviousGrade(), event.getGrade())) {
+                synchronized (c.gradeTotals) {
+                    if (event.getPreviousGrade() != null) {
+                        c.gradeTotals[0] -= event.getPreviousGrade();
+                        c.gradeTotals[1] -= 1;
+                    }
+                    if (event.getGrade() != null) {
+                        c.gradeTotals[0] += event.getGrade();
+                        c.gradeTotals[1] += 1;
+                    }
+                }
+            }
+        });
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        Counters c = counters();
+        if (event.getType() == ChangeType.DELETED) {
+            applyDelta(c, () -> {
+                CourseLoad removed = c.loads.remove(event.getCourseId());
+                if (removed != null) {
+                    c.totalCourses.decrementAndGet();
+                    c.coursesAtCapacity.addAndGet(removed.isFull() ? -1 : 0);
+                }
+            });
+            // The course's enrollments were removed with it
+            markDirty();
+            return;
+        }
+
+        Optional<Integer> capacity = courseRepo.findById(event.getCourseId()).map(Course::getMaxCapacity);
+        applyDelta(c, () -> updateLoad(c, event.getCourseId(), true, load -> load.withCapacity(capacity.orElse(null))));
+    }
+
+    private void applyDelta(Counters c, Runnable delta) {
+        c.installLock.readLock().lock();
+        try {
+            delta.run();
+            c.changes.incrementAndGet();
+        } finally {
+            c.installLock.readLock().unlock();
+        }
+        if (clusterService.isEnabled()) {
+            announceChange(c);
+        }
+    }
+
+    // Tells peers to recount this tenant. A burst of writes is announced once, after the dirty delay,
+    // instead of putting one broadcast per write on the cluster's single sender thread
+    private void announceChange(Counters c) {
+        ScheduledExecutorService current = scheduler;
+        if (current == null) {
+            clusterService.invalidate(CACHE, clusterService.getNodeId());
+        } else if (c.announcePending.compareAndSet(false, true)) {
+            current.schedule(TenantContext.propagate(() -> {
+                // Cleared before sending, so a write from here on schedules the next announcement
+                c.announcePending.set(false);
+                clusterService.invalidate(CACHE, clusterService.getNodeId());
+            }), properties.getDirtyDelay().toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // Applies a change to one course's load; a course seen for the first time counts towards the total
+    // only when the change comes from the course itself
+    private void updateLoad(Counters c, Long courseId, boolean courseEvent, UnaryOperator<CourseLoad> change) {
+        c.loads.compute(courseId, (id, before) -> {
+            if (before == null && courseEvent) {
+                c.totalCourses.incrementAndGet();
+            }
+            CourseLoad previous = before != null ? before : new CourseLoad(0, null);
+            CourseLoad after = change.apply(previous);
+            if (previous.isFull() != after.isFull()) {
+                c.coursesAtCapacity.addAndGet(after.isFull() ? 1 : -1);
+            }
+            return after;
+        });
+    }
+
+    private Counters counters() {
+        return counters.computeIfAbsent(TenantContext.current(), tenant -> new Counters());
+    }
+
+    private static void adjust(AtomicLongArray counts, Enum<?> status, int delta) {
+        if (status != null) {
+            counts.addAndGet(status.ordinal(), delta);
+        }
+    }
+
+    private void runScheduled() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            log.warn("Dashboard reconcile failed; retrying next interval", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "dashboard-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = properties.getReconcileInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(() -> tenants.forEach(this::runScheduled), millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+
+    // One tenant's counters
+    private static final class Counters {
+
+        private final AtomicLongArray students = new AtomicLongArray(ACADEMIC_STATUSES.length);
+
+        private final AtomicLongArray enrollments = new AtomicLongArray(ENROLLMENT_STATUSES.length);
+
+        private final AtomicLong totalCourses = new AtomicLong();
+
+        private final AtomicLong coursesAtCapacity = new AtomicLong();
+
+        // Course id -> ENROLLED count and capacity, kept to notice when a course fills up or frees a seat
+        private final Map<Long, CourseLoad> loads = new ConcurrentHashMap<>();
+
+        // Sum and count of grades, updated together under the lock of the array
+        private final double[] gradeTotals = new double[2];
+
+        // Deltas share the read lock; installing a recount takes the write lock so no delta lands half-way
+        private final ReadWriteLock installLock = new ReentrantReadWriteLock();
+
+        // Bumped by every delta; a recount that saw it move may have missed or double-counted one
+        private final AtomicLong changes = new AtomicLong();
+
+        private final AtomicBoolean dirty = new AtomicBoolean();
+
+        // A change announcement to peers is scheduled and not yet sent
+        private final AtomicBoolean announcePending = new AtomicBoolean();
+
+        private volatile LocalDateTime lastReconciledAt;
+    }
+
+    // ENROLLED count and capacity of one course; a null capacity never fills
+    private static final class CourseLoad {
+
+        private final long enrolled;
+
+        private final Integer capacity;
+
+        CourseLoad(long enrolled, Integer capacity) {
+            this.enrolled = enrolled;
+            this.capacity = capacity;
+        }
+
+        boolean isFull() {
+            return capacity != null && enrolled >= capacity;
+        }
+
+        CourseLoad withEnrolled(long enrolled) {
+            return new CourseLoad(enrolled, capacity);
+        }
+
+        CourseLoad withCapacity(Integer capacity) {
+            return new CourseLoad(enrolled, capacity);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.university.dashboard;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "dashboard")
+public class DashboardProperties {
+
+    // Delay between full recounts against the database; corrects any drift in the live counters
+    private Duration reconcileInterval = Duration.ofMinutes(5);
+
+    // Changes the counters cannot follow (cascading deletes, writes on other nodes) trigger a
+    // recount after this delay, so a burst of them costs a single recount
+    private Duration dirtyDelay = Duration.ofSeconds(1);
+
+    // Getters and Setters
+    public Duration getReconcileInterval() {
+        return reconcileInterval;
+    }
+
+    public void setReconcileInterval(Duration reconcileInterval) {
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    public Duration getDirtyDelay() {
+        return dirtyDelay;
+    }
+
+    public void setDirtyDelay(Duration dirtyDelay) {
+        this.dirtyDelay = dirtyDelay;
+    }
+}
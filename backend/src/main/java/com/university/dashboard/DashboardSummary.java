@@ -0,0 +1,83 @@
+package com.university.dashboard;
+
+import com.university.entity.Enrollment;
+import com.university.entity.Student;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Snapshot of the dashboard counters; enrollment figures include archived enrollments
+public class DashboardSummary {
+
+    private final Map<Student.AcademicStatus, Long> studentsByStatus;
+
+    private final long totalStudents;
+
+    private final Map<Enrollment.EnrollmentStatus, Long> enrollmentsByStatus;
+
+    private final long totalEnrollments;
+
+    private final long totalCourses;
+
+    // Courses with a capacity whose ENROLLED count has reached it
+    private final long coursesAtCapacity;
+
+    // Mean over all graded enrollments; null while nothing is graded
+    private final Double averageGrade;
+
+    private final long gradedEnrollments;
+
+    // When the counters were last recounted against the database
+    private final LocalDateTime lastReconciledAt;
+
+    public DashboardSummary(Map<Student.AcademicStatus, Long> studentsByStatus,
+                            Map<Enrollment.EnrollmentStatus, Long> enrollmentsByStatus,
+                            long totalCourses, long coursesAtCapacity, Double averageGrade, long gradedEnrollments,
+                            LocalDateTime lastReconciledAt) {
+        this.studentsByStatus = studentsByStatus;
+        this.totalStudents = studentsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        this.enrollmentsByStatus = enrollmentsByStatus;
+        this.totalEnrollments = enrollmentsByStatus.values().stream().mapToLong(Long::longValue).sum();
+        this.totalCourses = totalCourses;
+        this.coursesAtCapacity = coursesAtCapacity;
+        this.averageGrade = averageGrade;
+        this.gradedEnrollments = gradedEnrollments;
+        this.lastReconciledAt = lastReconciledAt;
+    }
+
+    public Map<Student.AcademicStatus, Long> getStudentsByStatus() {
+        return studentsByStatus;
+    }
+
+    public long getTotalStudents() {
+        return totalStudents;
+    }
+
+    public Map<Enrollment.EnrollmentStatus, Long> getEnrollmentsByStatus() {
+        return enrollmentsByStatus;
+    }
+
+    public long getTotalEnrollments() {
+        return totalEnrollments;
+    }
+
+    public long getTotalCourses() {
+        return totalCourses;
+    }
+
+    public long getCoursesAtCapacity() {
+        return coursesAtCapacity;
+    }
+
+    public Double getAverageGrade() {
+        return averageGrade;
+    }
+
+    public long getGradedEnrollments() {
+        return gradedEnrollments;
+    }
+
+    public LocalDateTime getLastReconciledAt() {
+        return lastReconciledAt;
+    }
+}
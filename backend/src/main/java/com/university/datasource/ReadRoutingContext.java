@@ -0,0 +1,22 @@
+package com.university.datasource;
+
+// Per-thread routing hints set by the web layer for the duration of a request
+public final class ReadRoutingContext {
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private ReadRoutingContext() {}
+
+    // Forces read-only transactions on this thread to the primary (read-your-writes)
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static boolean isPrimaryRequired() {
+        return Boolean.TRUE.equals(PRIMARY_REQUIRED.get());
+    }
+
+    public static void clear() {
+        PRIMARY_REQUIRED.remove();
+    }
+}
@@ -0,0 +1,40 @@
+package com.university.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+// Sends read-only transactions to the replica and everything else to the primary. Must sit
+// behind a LazyConnectionDataSourceProxy so the lookup happens after the transaction's
+// read-only flag has been set.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    public static final String REPLICA = "replica";
+
+    private final ReplicationStandIn replication;
+
+    private final Duration maxStaleness;
+
+    public ReadWriteRoutingDataSource(ReplicationStandIn replication, Duration maxStaleness) {
+        this.replication = replication;
+        this.maxStaleness = maxStaleness;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return PRIMARY;
+        }
+        if (ReadRoutingContext.isPrimaryRequired()) {
+            return PRIMARY;
+        }
+        // A replica that has fallen behind the staleness tolerance is not used at all
+        if (replication.getLag().compareTo(maxStaleness) > 0) {
+            return PRIMARY;
+        }
+        return REPLICA;
+    }
+}
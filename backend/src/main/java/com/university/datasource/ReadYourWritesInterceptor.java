@@ -0,0 +1,66 @@
+package com.university.datasource;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps a client's reads on the primary after its own mutation, until the replica has caught
+// up with that write or the read-your-writes window has passed
+public class ReadYourWritesInterceptor implements HandlerInterceptor {
+
+    private static final int PRUNE_THRESHOLD = 10_000;
+
+    private final ReplicationStandIn replication;
+
+    private final RoutingProperties properties;
+
+    // Client id -> wall-clock time of the client's last mutating request
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesInterceptor(ReplicationStandIn replication, RoutingProperties properties) {
+        this.replication = replication;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        String clientId = clientId(request);
+        Long lastWrite = lastWrites.get(clientId);
+        if (lastWrite == null) {
+            return true;
+        }
+        long windowEnd = lastWrite + properties.getReadYourWritesWindow().toMillis();
+        if (System.currentTimeMillis() > windowEnd || replication.hasReplicated(lastWrite)) {
+            lastWrites.remove(clientId, lastWrite);
+        } else {
+            ReadRoutingContext.requirePrimary();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReadRoutingContext.clear();
+        if (isMutation(request.getMethod())) {
+            long now = System.currentTimeMillis();
+            lastWrites.put(clientId(request), now);
+            // Clients that never read again would otherwise stay in the map forever
+            if (lastWrites.size() > PRUNE_THRESHOLD) {
+                long cutoff = now - properties.getReadYourWritesWindow().toMillis();
+                lastWrites.values().removeIf(writtenAt -> writtenAt < cutoff);
+            }
+        }
+    }
+
+    private boolean isMutation(String method) {
+        return !("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method));
+    }
+
+    private String clientId(HttpServletRequest request) {
+        String header = request.getHeader(properties.getClientIdHeader());
+        return header != null && !header.isBlank() ? header : request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,182 @@
+package com.university.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Local stand-in for database replication between two embedded H2 instances. Every tick it
+// copies a consistent snapshot of the primary into the replica inside one replica transaction,
+// so replica readers see either the previous or the new snapshot, never a partial copy.
+public class ReplicationStandIn implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationStandIn.class);
+
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private final DataSource primary;
+
+    private final DataSource replica;
+
+    private final Duration interval;
+
+    private ScheduledExecutorService scheduler;
+
+    private volatile boolean schemaCopied = false;
+
+    // Wall-clock time at which the snapshot currently visible on the replica was taken
+    private volatile long replicatedAsOf = 0;
+
+    public ReplicationStandIn(DataSource primary, DataSource replica, Duration interval) {
+        this.primary = primary;
+        this.replica = replica;
+        this.interval = interval;
+    }
+
+    // How far the replica is behind the primary
+    public Duration getLag() {
+        long asOf = replicatedAsOf;
+        return asOf == 0 ? Duration.ofMillis(Long.MAX_VALUE) : Duration.ofMillis(System.currentTimeMillis() - asOf);
+    }
+
+    // True once the replica contains everything written on the primary up to the given time
+    public boolean hasReplicated(long writtenAtMillis) {
+        return replicatedAsOf > writtenAtMillis;
+    }
+
+    public synchronized void replicate() {
+        long snapshotAt = System.currentTimeMillis();
+        try (Connection source = primary.getConnection(); Connection target = replica.getConnection()) {
+            List<String> tables = listTables(source);
+            if (tables.isEmpty()) {
+                return;
+            }
+            if (!schemaCopied) {
+                copySchema(source, target);
+                schemaCopied = true;
+            }
+
+            source.setAutoCommit(false);
+            source.setTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+            target.setAutoCommit(false);
+            try (Statement statement = target.createStatement()) {
+                statement.execute("SET REFERENTIAL_INTEGRITY FALSE");
+                try {
+                    for (String table : tables) {
+                        statement.executeUpdate("DELETE FROM \"" + table + "\"");
+                        copyRows(source, target, table);
+                    }
+                    target.commit();
+                } catch (SQLException e) {
+                    target.rollback();
+                    throw e;
+                } finally {
+                    // The setting belongs to the replica database, not this copy, so a failed copy
+                    // must not leave foreign keys unchecked
+                    statement.execute("SET REFERENTIAL_INTEGRITY TRUE");
+                }
+            } finally {
+                source.commit();
+            }
+            replicatedAsOf = snapshotAt;
+        } catch (SQLException e) {
+            log.warn("Replication to read replica failed: {}", e.getMessage());
+        }
+    }
+
+    private List<String> listTables(Connection connection) throws SQLException {
+        List<String> tables = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+                     + "WHERE TABLE_SCHEMA = 'PUBLIC' AND TABLE_TYPE = 'BASE TABLE'")) {
+            while (rs.next()) {
+                tables.add(rs.getString(1));
+            }
+        }
+        return tables;
+    }
+
+    private void copySchema(Connection source, Connection target) throws SQLException {
+        List<String> ddl = new ArrayList<>();
+        try (Statement statement = source.createStatement();
+             ResultSet rs = statement.executeQuery("SCRIPT NODATA NOSETTINGS")) {
+            while (rs.next()) {
+                ddl.add(rs.getString(1));
+            }
+        }
+        try (Statement statement = target.createStatement()) {
+            statement.execute("DROP ALL OBJECTS");
+            for (String sql : ddl) {
+                // Users are shared via the connection settings and comments are not statements
+                if (!sql.startsWith("CREATE USER") && !sql.startsWith("--")) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+
+    private void copyRows(Connection source, Connection target, String table) throws SQLException {
+        try (Statement select = source.createStatement();
+             ResultSet rs = select.executeQuery("SELECT * FROM \"" + table + "\"")) {
+            int columns = rs.getMetaData().getColumnCount();
+            StringBuilder insert = new StringBuilder("INSERT INTO \"").append(table).append("\" VALUES (");
+            for (int i = 1; i <= columns; i++) {
+                insert.append(i == 1 ? "?" : ", ?");
+            }
+            insert.append(")");
+
+            try (PreparedStatement ps = target.prepareStatement(insert.toString())) {
+                int pending = 0;
+                while (rs.next()) {
+                    for (int i = 1; i <= columns; i++) {
+                        ps.setObject(i, rs.getObject(i));
+                    }
+                    ps.addBatch();
+                    if (++pending == INSERT_BATCH_SIZE) {
+                        ps.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    ps.executeBatch();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "replication-stand-in");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::replicate, 0, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
@@ -0,0 +1,79 @@
+package com.university.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.routing", name = "enabled", havingValue = "true")
+public class RoutingDataSourceConfig implements WebMvcConfigurer {
+
+    private final HikariDataSource primaryPool;
+
+    private final HikariDataSource replicaPool;
+
+    private final ReplicationStandIn replication;
+
+    private final RoutingProperties properties;
+
+    public RoutingDataSourceConfig(DataSourceProperties dataSourceProperties, RoutingProperties properties) {
+        this.properties = properties;
+
+        primaryPool = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaryPool.setPoolName("primary");
+        primaryPool.setMaximumPoolSize(properties.getPrimaryPoolSize());
+
+        replicaPool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.getDriverClassName())
+                .url(properties.getReplicaUrl())
+                .username(properties.getReplicaUsername())
+                .password(properties.getReplicaPassword())
+                .build();
+        replicaPool.setPoolName("replica");
+        replicaPool.setMaximumPoolSize(properties.getReplicaPoolSize());
+
+        replication = new ReplicationStandIn(primaryPool, replicaPool, properties.getReplicationInterval());
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource() {
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replication, properties.getMaxStaleness());
+        routing.setTargetDataSources(Map.of(
+                ReadWriteRoutingDataSource.PRIMARY, primaryPool,
+                ReadWriteRoutingDataSource.REPLICA, replicaPool));
+        routing.setDefaultTargetDataSource(primaryPool);
+        routing.afterPropertiesSet();
+        // Defers the routing decision until the first statement, when the transaction's
+        // read-only flag is known
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    @Bean
+    public ReplicationStandIn replicationStandIn() {
+        return replication;
+    }
+
+    @PreDestroy
+    void closePools() {
+        replicaPool.close();
+        primaryPool.close();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReadYourWritesInterceptor(replication, properties)).addPathPatterns("/api/**");
+    }
+}
@@ -0,0 +1,118 @@
+package com.university.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "datasource.routing")
+public class RoutingProperties {
+
+    // Read/write splitting is off by default; everything uses spring.datasource
+    private boolean enabled = false;
+
+    // Read replica connection settings (the primary uses spring.datasource.*)
+    private String replicaUrl = "jdbc:h2:mem:universitydb_replica;DB_CLOSE_DELAY=-1";
+
+    private String replicaUsername = "sa";
+
+    private String replicaPassword = "password";
+
+    private int primaryPoolSize = 10;
+
+    private int replicaPoolSize = 10;
+
+    // Read-only transactions fall back to the primary when the replica lags more than this
+    private Duration maxStaleness = Duration.ofSeconds(2);
+
+    // After a client's own mutation its reads stay on the primary for at most this long
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    // Header identifying a client for read-your-writes; the remote address is used when absent
+    private String clientIdHeader = "X-Client-Id";
+
+    // How often the replication stand-in copies the primary into the replica
+    private Duration replicationInterval = Duration.ofMillis(500);
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getReplicaUrl() {
+        return replicaUrl;
+    }
+
+    public void setReplicaUrl(String replicaUrl) {
+        this.replicaUrl = replicaUrl;
+    }
+
+    public String getReplicaUsername() {
+        return replicaUsername;
+    }
+
+    public void setReplicaUsername(String replicaUsername) {
+        this.replicaUsername = replicaUsername;
+    }
+
+    public String getReplicaPassword() {
+        return replicaPassword;
+    }
+
+    public void setReplicaPassword(String replicaPassword) {
+        this.replicaPassword = replicaPassword;
+    }
+
+    public int getPrimaryPoolSize() {
+        return primaryPoolSize;
+    }
+
+    public void setPrimaryPoolSize(int primaryPoolSize) {
+        this.primaryPoolSize = primaryPoolSize;
+    }
+
+    public int getReplicaPoolSize() {
+        return replicaPoolSize;
+    }
+
+    public void setReplicaPoolSize(int replicaPoolSize) {
+        this.replicaPoolSize = replicaPoolSize;
+    }
+
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    public void setMaxStaleness(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    public String getClientIdHeader() {
+        return clientIdHeader;
+    }
+
+    public void setClientIdHeader(String clientIdHeader) {
+        this.clientIdHeader = clientIdHeader;
+    }
+
+    public Duration getReplicationInterval() {
+        return replicationInterval;
+    }
+
+    public void setReplicationInterval(Duration replicationInterval) {
+        this.replicationInterval = replicationInterval;
+    }
+}
@@ -1,19 +1,49 @@
 package com.university.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.university.schedule.WeeklySchedule;
+import com.university.tenant.TenantOwned;
 import jakarta.persistence.*;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.Hibernate;
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+import org.hibernate.annotations.TenantId;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 @Entity
-@Table(name = "courses")
-public class Course {
+@NamedEntityGraph(name = Course.DETAILS, attributeNodes = {
+        @NamedAttributeNode("meetingSlots"), @NamedAttributeNode("prerequisites")
+})
+@Table(name = "courses", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_courses_tenant_code", columnNames = {"tenant_id", "code"})
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class Course implements TenantOwned {
+    
+    // Entity graph with the collections the course JSON shows; lazy everywhere else. Only for a
+    // course's first load in a persistence context: Hibernate 6.3 leaves null elements when it
+    // fetch-joins a collection into a course that is already managed.
+    public static final String DETAILS = "Course.details";
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    // Institution the row belongs to; set from the current tenant on insert and added to every query
+    @JsonIgnore
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    private String tenant;
     
     @NotBlank(message = "Course title is required")
     @Size(min = 3, max = 100, message = "Course title must be between 3 and 100 characters")
@@ -22,7 +52,7 @@ public class Course {
     
     @NotBlank(message = "Course code is required")
     @Size(min = 2, max = 10, message = "Course code must be between 2 and 10 characters")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String code;
     
     @Column(length = 500)
@@ -34,9 +64,37 @@ public class Course {
     @Column(name = "max_capacity")
     private Integer maxCapacity;
     
+    @Valid
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = NotLoaded.class)
+    @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "course_meeting_slots", joinColumns = @JoinColumn(name = "course_id"))
+    @OrderColumn(name = "slot_index")
+    // Stays null when a request body omits it, so an update can leave the slots unchanged
+    private List<MeetingSlot> meetingSlots;
+    
+    // Courses that must be completed first; changed through PUT /api/courses/{id}/prerequisites only
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @JsonInclude(value = JsonInclude.Include.CUSTOM, valueFilter = NotLoaded.class)
+    @ElementCollection
+    @Fetch(FetchMode.SUBSELECT)
+    @CollectionTable(name = "course_prerequisites", joinColumns = @JoinColumn(name = "course_id"))
+    @OrderColumn(name = "prerequisite_index")
+    private List<Prerequisite> prerequisites = new ArrayList<>();
+    
+    // Meeting slots encoded as a WeeklySchedule bitset, kept in sync by setMeetingSlots
+    @JsonIgnore
+    @Column(name = "schedule_mask", length = WeeklySchedule.BYTES)
+    private byte[] scheduleMask;
+    
+    @JsonIgnore
     @OneToMany(mappedBy = "course", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Enrollment> enrollments = new HashSet<>();
     
+    @JsonIgnore
+    @OneToMany(mappedBy = "course", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
+    private Set<EnrollmentHistory> enrollmentHistory = new HashSet<>();
+    
     // Constructors
     public Course() {}
     
@@ -53,6 +111,11 @@ public class Course {
     }
     
     // Getters and Setters
+    @Override
+    public String getTenant() {
+        return tenant;
+    }
+    
     public Long getId() {
         return id;
     }
@@ -101,6 +164,32 @@ public class Course {
         this.maxCapacity = maxCapacity;
     }
     
+    public List<MeetingSlot> getMeetingSlots() {
+        return meetingSlots;
+    }
+    
+    public void setMeetingSlots(List<MeetingSlot> meetingSlots) {
+        this.meetingSlots = meetingSlots != null ? new ArrayList<>(meetingSlots) : new ArrayList<>();
+        this.scheduleMask = WeeklySchedule.of(this.meetingSlots).toBytes();
+    }
+    
+    public List<Prerequisite> getPrerequisites() {
+        return prerequisites;
+    }
+    
+    public void setPrerequisites(List<Prerequisite> prerequisites) {
+        this.prerequisites = prerequisites != null ? new ArrayList<>(prerequisites) : new ArrayList<>();
+    }
+    
+    public byte[] getScheduleMask() {
+        return scheduleMask;
+    }
+    
+    @JsonIgnore
+    public WeeklySchedule getSchedule() {
+        return WeeklySchedule.fromBytes(scheduleMask);
+    }
+    
     public Set<Enrollment> getEnrollments() {
         return enrollments;
     }
@@ -109,6 +198,10 @@ public class Course {
         this.enrollments = enrollments;
     }
     
+    public Set<EnrollmentHistory> getEnrollmentHistory() {
+        return enrollmentHistory;
+    }
+    
     @Override
     public String toString() {
         return "Course{" +
@@ -118,6 +211,7 @@ public class Course {
                 ", description='" + description + '\'' +
                 ", creditHours=" + creditHours +
                 ", maxCapacity=" + maxCapacity +
+                ", meetingSlots=" + (Hibernate.isInitialized(meetingSlots) ? meetingSlots : "(not loaded)") +
                 '}';
     }
 }
@@ -1,19 +1,28 @@
 package com.university.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.university.tenant.TenantOwned;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "enrollments")
-public class Enrollment {
+public class Enrollment implements TenantOwned {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    // Institution the row belongs to; set from the current tenant on insert and added to every query
+    @JsonIgnore
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    private String tenant;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "student_id", nullable = false)
@@ -58,6 +67,11 @@ public class Enrollment {
     }
     
     // Getters and Setters
+    @Override
+    public String getTenant() {
+        return tenant;
+    }
+    
     public Long getId() {
         return id;
     }
@@ -95,6 +109,10 @@ public class Enrollment {
     }
     
     public void setStatus(EnrollmentStatus status) {
+        if (this.status != status) {
+            // The archive cutoff is measured from the last change, e.g. the move to COMPLETED
+            this.updatedAt = LocalDateTime.now();
+        }
         this.status = status;
     }
     
@@ -157,6 +175,11 @@ public class Enrollment {
     }
     
     public enum EnrollmentStatus {
-        ENROLLED, COMPLETED, DROPPED, WITHDRAWN
+        ENROLLED, COMPLETED, DROPPED, WITHDRAWN;
+        
+        // Terminal enrollments no longer change and are moved to enrollment_history once old enough
+        public boolean isTerminal() {
+            return this != ENROLLED;
+        }
     }
 }
@@ -0,0 +1,114 @@
+package com.university.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.university.tenant.TenantOwned;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Archived copy of an enrollment that reached a terminal status (completed, dropped, withdrawn)
+// before the archive cutoff. Rows keep the id they had in the enrollments table, so an
+// enrollment is addressable by the same id before and after it is archived.
+@Entity
+@Table(name = "enrollment_history", indexes = {
+        @Index(name = "idx_enrollment_history_student", columnList = "student_id"),
+        @Index(name = "idx_enrollment_history_course", columnList = "course_id")
+})
+public class EnrollmentHistory implements TenantOwned {
+    
+    @Id
+    private Long id;
+
+    // Institution the row belongs to; set from the current tenant on insert and added to every query
+    @JsonIgnore
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    private String tenant;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "course_id", nullable = false)
+    private Course course;
+    
+    @Column(name = "enrollment_date", nullable = false)
+    private LocalDate enrollmentDate;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "enrollment_status", nullable = false)
+    private Enrollment.EnrollmentStatus status;
+    
+    @Column(name = "grade")
+    private Double grade;
+    
+    @Column(name = "grade_letter")
+    private String gradeLetter;
+    
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+    
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+    
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+    
+    // Constructors
+    public EnrollmentHistory() {}
+    
+    public EnrollmentHistory(Enrollment enrollment) {
+        this.id = enrollment.getId();
+        this.student = enrollment.getStudent();
+        this.course = enrollment.getCourse();
+        this.enrollmentDate = enrollment.getEnrollmentDate();
+        this.status = enrollment.getStatus();
+        this.grade = enrollment.getGrade();
+        this.gradeLetter = enrollment.getGradeLetter();
+        this.createdAt = enrollment.getCreatedAt();
+        this.updatedAt = enrollment.getUpdatedAt();
+        this.archivedAt = LocalDateTime.now();
+    }
+    
+    // Detached Enrollment with the archived values, so merged views serialize both tables alike
+    public Enrollment toEnrollment() {
+        Enrollment enrollment = new Enrollment(student, course);
+        enrollment.setId(id);
+        enrollment.setEnrollmentDate(enrollmentDate);
+        enrollment.setStatus(status);
+        enrollment.setGrade(grade);
+        enrollment.setGradeLetter(gradeLetter);
+        enrollment.setCreatedAt(createdAt);
+        enrollment.setUpdatedAt(updatedAt);
+        return enrollment;
+    }
+    
+    // Getters
+    @Override
+    public String getTenant() {
+        return tenant;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public Student getStudent() {
+        return student;
+    }
+    
+    public Course getCourse() {
+        return course;
+    }
+    
+    public Enrollment.EnrollmentStatus getStatus() {
+        return status;
+    }
+    
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
@@ -0,0 +1,71 @@
+package com.university.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+@Embeddable
+public class MeetingSlot {
+
+    @NotNull(message = "Meeting day is required")
+    @Enumerated(EnumType.STRING)
+    @Column(name = "day_of_week", nullable = false)
+    private DayOfWeek dayOfWeek;
+
+    @NotNull(message = "Meeting start time is required")
+    @Column(name = "start_time", nullable = false)
+    private LocalTime startTime;
+
+    @NotNull(message = "Meeting end time is required")
+    @Column(name = "end_time", nullable = false)
+    private LocalTime endTime;
+
+    // Constructors
+    public MeetingSlot() {}
+
+    public MeetingSlot(DayOfWeek dayOfWeek, LocalTime startTime, LocalTime endTime) {
+        this.dayOfWeek = dayOfWeek;
+        this.startTime = startTime;
+        this.endTime = endTime;
+    }
+
+    // Getters and Setters
+    public DayOfWeek getDayOfWeek() {
+        return dayOfWeek;
+    }
+
+    public void setDayOfWeek(DayOfWeek dayOfWeek) {
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    public LocalTime getStartTime() {
+        return startTime;
+    }
+
+    public void setStartTime(LocalTime startTime) {
+        this.startTime = startTime;
+    }
+
+    public LocalTime getEndTime() {
+        return endTime;
+    }
+
+    public void setEndTime(LocalTime endTime) {
+        this.endTime = endTime;
+    }
+
+    @JsonIgnore
+    @AssertTrue(message = "Meeting slot must end after it starts")
+    public boolean isTimeRangeValid() {
+        return startTime == null || endTime == null || endTime.isAfter(startTime);
+    }
+
+    @Override
+    public String toString() {
+        return dayOfWeek + " " + startTime + "-" + endTime;
+    }
+}
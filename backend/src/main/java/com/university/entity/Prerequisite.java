@@ -0,0 +1,64 @@
+package com.university.entity;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+
+// One course a course requires. Requirements sharing a group are alternatives, any one of which
+// will do; every group of a course has to be met.
+@Embeddable
+public class Prerequisite {
+
+    @NotNull(message = "Required course is required")
+    @Column(name = "required_course_id", nullable = false)
+    private Long courseId;
+
+    @Column(name = "requirement_group", nullable = false)
+    private int group;
+
+    // Lowest grade letter the required course must have been completed with; null accepts any
+    @Column(name = "min_grade_letter", length = 1)
+    private String minGradeLetter;
+
+    // Constructors
+    public Prerequisite() {}
+
+    public Prerequisite(Long courseId, int group, String minGradeLetter) {
+        this.courseId = courseId;
+        this.group = group;
+        this.minGradeLetter = minGradeLetter;
+    }
+
+    // Getters and Setters
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public void setCourseId(Long courseId) {
+        this.courseId = courseId;
+    }
+
+    public int getGroup() {
+        return group;
+    }
+
+    public void setGroup(int group) {
+        this.group = group;
+    }
+
+    public String getMinGradeLetter() {
+        return minGradeLetter;
+    }
+
+    public void setMinGradeLetter(String minGradeLetter) {
+        this.minGradeLetter = minGradeLetter;
+    }
+
+    @Override
+    public String toString() {
+        return "Prerequisite{" +
+                "courseId=" + courseId +
+                ", group=" + group +
+                ", minGradeLetter='" + minGradeLetter + '\'' +
+                '}';
+    }
+}
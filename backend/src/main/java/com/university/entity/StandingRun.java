@@ -0,0 +1,178 @@
+package com.university.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.university.tenant.TenantOwned;
+import jakarta.persistence.*;
+import org.hibernate.annotations.TenantId;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+// One run of the academic-standing job. The checkpoint is the highest student id up to which every
+// student has been processed, so a failed or interrupted run resumes after it.
+@Entity
+@Table(name = "standing_runs")
+public class StandingRun implements TenantOwned {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Institution the row belongs to; set from the current tenant on insert and added to every query
+    @JsonIgnore
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    private String tenant;
+
+    // Dry runs compute and count changes without writing them
+    @Column(name = "dry_run", nullable = false)
+    private boolean dryRun;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "run_state", nullable = false)
+    private State state = State.RUNNING;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @Column(name = "checkpoint_student_id", nullable = false)
+    private Long checkpointStudentId = 0L;
+
+    // Students already processed plus those after the checkpoint when the run last (re)started
+    @Column(name = "total_students", nullable = false)
+    private long totalStudents;
+
+    @Column(name = "processed_students", nullable = false)
+    private long processedStudents;
+
+    @Column(name = "changed_students", nullable = false)
+    private long changedStudents;
+
+    // Number of students per transition, e.g. "ACTIVE->INACTIVE"
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "standing_run_transitions", joinColumns = @JoinColumn(name = "run_id"))
+    @MapKeyColumn(name = "transition")
+    @Column(name = "students")
+    private Map<String, Long> transitions = new HashMap<>();
+
+    @Column(name = "failure", length = 500)
+    private String failure;
+
+    // Constructors
+    public StandingRun() {}
+
+    public StandingRun(boolean dryRun) {
+        this.dryRun = dryRun;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    // Students processed per second of wall-clock time since the run started
+    public double getStudentsPerSecond() {
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        long millis = Duration.between(startedAt, end).toMillis();
+        return millis > 0 ? processedStudents * 1000.0 / millis : 0;
+    }
+
+    // Getters and Setters
+    @Override
+    public String getTenant() {
+        return tenant;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public boolean isDryRun() {
+        return dryRun;
+    }
+
+    public void setDryRun(boolean dryRun) {
+        this.dryRun = dryRun;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public void setState(State state) {
+        this.state = state;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    public Long getCheckpointStudentId() {
+        return checkpointStudentId;
+    }
+
+    public void setCheckpointStudentId(Long checkpointStudentId) {
+        this.checkpointStudentId = checkpointStudentId;
+    }
+
+    public long getTotalStudents() {
+        return totalStudents;
+    }
+
+    public void setTotalStudents(long totalStudents) {
+        this.totalStudents = totalStudents;
+    }
+
+    public long getProcessedStudents() {
+        return processedStudents;
+    }
+
+    public void setProcessedStudents(long processedStudents) {
+        this.processedStudents = processedStudents;
+    }
+
+    public long getChangedStudents() {
+        return changedStudents;
+    }
+
+    public void setChangedStudents(long changedStudents) {
+        this.changedStudents = changedStudents;
+    }
+
+    public Map<String, Long> getTransitions() {
+        return transitions;
+    }
+
+    public void setTransitions(Map<String, Long> transitions) {
+        this.transitions = transitions;
+    }
+
+    public String getFailure() {
+        return failure;
+    }
+
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+}
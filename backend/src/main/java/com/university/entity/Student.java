@@ -1,22 +1,36 @@
 package com.university.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.university.tenant.TenantOwned;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDate;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "students")
-public class Student {
+@Table(name = "students", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_students_tenant_email", columnNames = {"tenant_id", "email"}),
+        @UniqueConstraint(name = "uk_students_tenant_student_id", columnNames = {"tenant_id", "student_id"})
+})
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+public class Student implements TenantOwned {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
+
+    // Institution the row belongs to; set from the current tenant on insert and added to every query
+    @JsonIgnore
+    @TenantId
+    @Column(name = "tenant_id", nullable = false, updatable = false)
+    private String tenant;
     
     @NotBlank(message = "First name is required")
     @Size(min = 2, max = 50, message = "First name must be between 2 and 50 characters")
@@ -29,11 +43,11 @@ public class Student {
     private String lastName;
     
     @Email(message = "Email should be valid")
-    @Column(unique = true, nullable = false)
+    @Column(nullable = false)
     private String email;
     
     @Pattern(regexp = "^[0-9]{8}$", message = "Student ID must be 8 digits")
-    @Column(name = "student_id", unique = true, nullable = false)
+    @Column(name = "student_id", nullable = false)
     private String studentId;
     
     @Column(name = "date_of_birth")
@@ -49,9 +63,14 @@ public class Student {
     @Column(name = "academic_status")
     private AcademicStatus academicStatus = AcademicStatus.ACTIVE;
     
+    @JsonIgnore
     @OneToMany(mappedBy = "student", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private Set<Enrollment> enrollments = new HashSet<>();
     
+    @JsonIgnore
+    @OneToMany(mappedBy = "student", cascade = CascadeType.REMOVE, fetch = FetchType.LAZY)
+    private Set<EnrollmentHistory> enrollmentHistory = new HashSet<>();
+    
     // Constructors
     public Student() {}
     
@@ -64,6 +83,11 @@ public class Student {
     }
     
     // Getters and Setters
+    @Override
+    public String getTenant() {
+        return tenant;
+    }
+    
     public Long getId() {
         return id;
     }
@@ -144,6 +168,10 @@ public class Student {
         this.enrollments = enrollments;
     }
     
+    public Set<EnrollmentHistory> getEnrollmentHistory() {
+        return enrollmentHistory;
+    }
+    
     public String getFullName() {
         return firstName + " " + lastName;
     }
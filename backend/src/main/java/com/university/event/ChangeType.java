@@ -0,0 +1,5 @@
+package com.university.event;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
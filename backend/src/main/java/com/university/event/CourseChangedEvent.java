@@ -0,0 +1,22 @@
+package com.university.event;
+
+// Published after a course is created, updated or deleted
+public class CourseChangedEvent {
+
+    private final Long courseId;
+
+    private final ChangeType type;
+
+    public CourseChangedEvent(Long courseId, ChangeType type) {
+        this.courseId = courseId;
+        this.type = type;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+}
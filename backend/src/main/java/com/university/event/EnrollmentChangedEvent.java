@@ -0,0 +1,62 @@
+package com.university.event;
+
+import com.university.entity.Enrollment;
+
+// Published after an enrollment is created, changes status or grade, or is deleted
+public class EnrollmentChangedEvent {
+
+    private final Long studentId;
+
+    private final Long courseId;
+
+    // Null when the enrollment was just created
+    private final Enrollment.EnrollmentStatus previousStatus;
+
+    // Null when the enrollment was deleted
+    private final Enrollment.EnrollmentStatus status;
+
+    // Grade before and after the change; null when ungraded, created or deleted respectively
+    private final Double previousGrade;
+
+    private final Double grade;
+
+    public EnrollmentChangedEvent(Long studentId, Long courseId,
+                                  Enrollment.EnrollmentStatus previousStatus, Enrollment.EnrollmentStatus status,
+                                  Double previousGrade, Double grade) {
+        this.studentId = studentId;
+        this.courseId = courseId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+        this.previousGrade = previousGrade;
+        this.grade = grade;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public Enrollment.EnrollmentStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Enrollment.EnrollmentStatus getStatus() {
+        return status;
+    }
+
+    public Double getPreviousGrade() {
+        return previousGrade;
+    }
+
+    public Double getGrade() {
+        return grade;
+    }
+
+    // True when the enrollment entered or left the given status
+    public boolean touches(Enrollment.EnrollmentStatus candidate) {
+        return previousStatus == candidate || status == candidate;
+    }
+}
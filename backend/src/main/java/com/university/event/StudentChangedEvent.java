@@ -0,0 +1,33 @@
+package com.university.event;
+
+import com.university.entity.Student;
+
+// Published after a student is created, updated or deleted
+public class StudentChangedEvent {
+
+    private final Long studentId;
+
+    // Null when the student was just created
+    private final Student.AcademicStatus previousStatus;
+
+    // Null when the student was deleted
+    private final Student.AcademicStatus status;
+
+    public StudentChangedEvent(Long studentId, Student.AcademicStatus previousStatus, Student.AcademicStatus status) {
+        this.studentId = studentId;
+        this.previousStatus = previousStatus;
+        this.status = status;
+    }
+
+    public Long getStudentId() {
+        return studentId;
+    }
+
+    public Student.AcademicStatus getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public Student.AcademicStatus getStatus() {
+        return status;
+    }
+}
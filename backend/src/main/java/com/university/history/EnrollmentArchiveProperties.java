@@ -0,0 +1,55 @@
+package com.university.history;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "enrollment.archive")
+public class EnrollmentArchiveProperties {
+
+    private boolean enabled = true;
+
+    // Completed, dropped and withdrawn enrollments unchanged for longer than this are archived
+    private Duration cutoff = Duration.ofDays(180);
+
+    // Enrollments moved per transaction; each chunk holds row locks only while it is copied
+    private int chunkSize = 500;
+
+    // Delay between archive runs; the first run happens one interval after startup
+    private Duration interval = Duration.ofHours(1);
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getCutoff() {
+        return cutoff;
+    }
+
+    public void setCutoff(Duration cutoff) {
+        this.cutoff = cutoff;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+}
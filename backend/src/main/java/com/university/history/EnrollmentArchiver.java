@@ -0,0 +1,122 @@
+package com.university.history;
+
+import com.university.entity.Enrollment;
+import com.university.entity.EnrollmentHistory;
+import com.university.repository.EnrollmentRepository;
+import com.university.tenant.Tenants;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Moves terminal enrollments older than the cutoff from enrollments into enrollment_history, one
+// chunk per transaction: the chunk is locked, copied with its original ids and bulk-deleted, so a
+// row is always in exactly one of the two tables. Archiving changes no visible data, so no
+// enrollment events are published. Each tenant is archived in turn, since every query is scoped to one.
+@Component
+public class EnrollmentArchiver implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(EnrollmentArchiver.class);
+
+    private static final List<Enrollment.EnrollmentStatus> TERMINAL = Arrays.stream(Enrollment.EnrollmentStatus.values())
+            .filter(Enrollment.EnrollmentStatus::isTerminal)
+            .toList();
+
+    @Autowired
+    private EnrollmentArchiveProperties properties;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private Tenants tenants;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private ScheduledExecutorService scheduler;
+
+    // Archives everything that is due in every tenant and returns the number of enrollments moved
+    public synchronized int archive() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getCutoff());
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        int[] total = new int[1];
+        tenants.forEach(() -> {
+            int moved;
+            do {
+                moved = transaction.execute(status -> archiveChunk(cutoff));
+                total[0] += moved;
+            } while (moved == properties.getChunkSize() && !Thread.currentThread().isInterrupted());
+        });
+
+        if (total[0] > 0) {
+            log.info("Archived {} enrollments last changed before {}", total[0], cutoff);
+        }
+        return total[0];
+    }
+
+    private int archiveChunk(LocalDateTime cutoff) {
+        List<Enrollment> chunk = enrollmentRepository.findArchivable(TERMINAL, cutoff,
+                PageRequest.of(0, properties.getChunkSize()));
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+        for (Enrollment enrollment : chunk) {
+            entityManager.persist(new EnrollmentHistory(enrollment));
+        }
+        entityManager.flush();
+        enrollmentRepository.deleteAllByIdInBatch(chunk.stream().map(Enrollment::getId).toList());
+        return chunk.size();
+    }
+
+    private void runScheduled() {
+        try {
+            archive();
+        } catch (RuntimeException e) {
+            log.warn("Enrollment archive run failed; retrying next interval", e);
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "enrollment-archiver");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::runScheduled, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
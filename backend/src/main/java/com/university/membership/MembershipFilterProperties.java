@@ -0,0 +1,55 @@
+package com.university.membership;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "membership.filter")
+public class MembershipFilterProperties {
+
+    // When disabled every uniqueness check goes to the database
+    private boolean enabled = true;
+
+    // Target probability that a value not in the database still needs a database check
+    private double falsePositiveRate = 0.01;
+
+    // Filters are sized for twice the current row count, but never for fewer elements than this
+    private long minimumCapacity = 10_000;
+
+    // Filters are rebuilt from the database once their expected rate exceeds target * this factor,
+    // e.g. after growing past their capacity or after many deletes
+    private double rebuildFactor = 2.0;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getFalsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public void setFalsePositiveRate(double falsePositiveRate) {
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    public long getMinimumCapacity() {
+        return minimumCapacity;
+    }
+
+    public void setMinimumCapacity(long minimumCapacity) {
+        this.minimumCapacity = minimumCapacity;
+    }
+
+    public double getRebuildFactor() {
+        return rebuildFactor;
+    }
+
+    public void setRebuildFactor(double rebuildFactor) {
+        this.rebuildFactor = rebuildFactor;
+    }
+}
@@ -0,0 +1,293 @@
+package com.university.membership;
+
+import com.university.cluster.ClusterService;
+import com.university.entity.Enrollment;
+import com.university.repository.CourseRepository;
+import com.university.repository.EnrollmentRepository;
+import com.university.repository.StudentRepository;
+import com.university.tenant.Tenants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+
+// Bloom filters in front of the uniqueness checks on student emails, student ids, course codes and
+// student x course enrollments. A definite negative answers the check without a query; a possible
+// positive falls through to the database. Values are added before the row is saved (an add for a
+// save that then fails only costs a false positive) and are shared with cluster peers through the
+// invalidation channel. The unique constraints in the database remain the final guard. The filters
+// cover all tenants at once: a value taken in another tenant only costs a false positive.
+@Service
+public class UniquenessFilters {
+
+    public static final String CACHE = "uniqueness-filters";
+
+    // Key asking every node to rebuild its filters from the database
+    private static final String ALL = "*";
+
+    private static final Logger log = LoggerFactory.getLogger(UniquenessFilters.class);
+
+    public enum Kind {
+        EMAIL("email"), STUDENT_ID("student-id"), COURSE_CODE("course-code"), ENROLLMENT("enrollment");
+
+        private final String key;
+
+        Kind(String key) {
+            this.key = key;
+        }
+    }
+
+    @Autowired
+    private MembershipFilterProperties properties;
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Autowired
+    private CourseRepository courseRepo;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    @Autowired
+    private ClusterService clusterService;
+
+    @Autowired
+    private Tenants tenants;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Null until the first build completes; every check goes to the database until then
+    private volatile Map<Kind, BloomFilter> filters;
+
+    // Adds are made before the row commits, so a build's database read can miss values added shortly
+    // before it started. Recent adds (and all adds during a build) are replayed into new filters.
+    private static final long RECENT_WINDOW_MILLIS = 60_000;
+
+    private final Deque<RecentAdd> recent = new ArrayDeque<>();
+
+    private boolean building = false;
+
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+
+    private final Map<Kind, Counter> skipped = new EnumMap<>(Kind.class);
+
+    private final Map<Kind, Counter> confirmed = new EnumMap<>(Kind.class);
+
+    private final Map<Kind, Counter> falsePositives = new EnumMap<>(Kind.class);
+
+    @PostConstruct
+    void init() {
+        clusterService.registerInvalidationListener(CACHE, key -> {
+            if (ALL.equals(key)) {
+                build();
+            } else {
+                int separator = key.indexOf(':');
+                apply(kindOf(key.substring(0, separator)), key.substring(separator + 1));
+            }
+        });
+
+        for (Kind kind : Kind.values()) {
+            skipped.put(kind, checks(kind, "skipped"));
+            confirmed.put(kind, checks(kind, "confirmed"));
+            falsePositives.put(kind, checks(kind, "false_positive"));
+            Gauge.builder("membership.filter.expected.fpp", this, service -> service.expectedFalsePositiveRate(kind))
+                    .tag("filter", kind.key)
+                    .register(meterRegistry);
+            Gauge.builder("membership.filter.memory", this, service -> service.memoryBytes(kind))
+                    .tag("filter", kind.key)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        synchronized (this) {
+            building = true;
+        }
+
+        List<Object[]> students = new ArrayList<>();
+        List<String> codes = new ArrayList<>();
+        List<Object[]> enrollments = new ArrayList<>();
+        tenants.forEach(() -> {
+            students.addAll(studentRepo.findAllEmailsAndStudentIds());
+            codes.addAll(courseRepo.findAllCodes());
+            enrollments.addAll(enrollmentRepo.findStudentCoursePairsByStatusIn(EnumSet.allOf(Enrollment.EnrollmentStatus.class)));
+        });
+
+        Map<Kind, BloomFilter> built = new EnumMap<>(Kind.class);
+        built.put(Kind.EMAIL, newFilter(students.size()));
+        built.put(Kind.STUDENT_ID, newFilter(students.size()));
+        built.put(Kind.COURSE_CODE, newFilter(codes.size()));
+        built.put(Kind.ENROLLMENT, newFilter(enrollments.size()));
+        for (Object[] student : students) {
+            built.get(Kind.EMAIL).put(BloomFilter.hash((String) student[0]));
+            built.get(Kind.STUDENT_ID).put(BloomFilter.hash((String) student[1]));
+        }
+        codes.forEach(code -> built.get(Kind.COURSE_CODE).put(BloomFilter.hash(code)));
+        enrollments.forEach(pair -> built.get(Kind.ENROLLMENT).put(BloomFilter.hash((Long) pair[0], (Long) pair[1])));
+
+        synchronized (this) {
+            for (RecentAdd add : recent) {
+                built.get(add.kind).put(add.hash);
+            }
+            filters = built;
+            building = false;
+        }
+        rebuildScheduled.set(false);
+        log.info("Uniqueness filters built over {} students, {} courses and {} enrollments in {} ms",
+                students.size(), codes.size(), enrollments.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    public boolean emailExists(String email, BooleanSupplier database) {
+        return check(Kind.EMAIL, BloomFilter.hash(email), database);
+    }
+
+    public boolean studentIdExists(String studentId, BooleanSupplier database) {
+        return check(Kind.STUDENT_ID, BloomFilter.hash(studentId), database);
+    }
+
+    public boolean courseCodeExists(String code, BooleanSupplier database) {
+        return check(Kind.COURSE_CODE, BloomFilter.hash(code), database);
+    }
+
+    public boolean enrollmentExists(Long studentId, Long courseId, BooleanSupplier database) {
+        return check(Kind.ENROLLMENT, BloomFilter.hash(studentId, courseId), database);
+    }
+
+    // Call before saving a row with these values, on this node and on every peer
+    public void addStudent(String email, String studentId) {
+        add(Kind.EMAIL, email);
+        add(Kind.STUDENT_ID, studentId);
+    }
+
+    public void addCourseCode(String code) {
+        add(Kind.COURSE_CODE, code);
+    }
+
+    public void addEnrollment(Long studentId, Long courseId) {
+        add(Kind.ENROLLMENT, studentId + ":" + courseId);
+    }
+
+    private boolean check(Kind kind, long hash, BooleanSupplier database) {
+        Map<Kind, BloomFilter> current = filters;
+        if (current != null && !current.get(kind).mightContain(hash)) {
+            skipped.get(kind).increment();
+            return false;
+        }
+        boolean exists = database.getAsBoolean();
+        if (current != null) {
+            (exists ? confirmed : falsePositives).get(kind).increment();
+        }
+        return exists;
+    }
+
+    private void add(Kind kind, String value) {
+        if (properties.isEnabled() && value != null) {
+            clusterService.invalidate(CACHE, kind.key + ":" + value);
+        }
+    }
+
+    private void apply(Kind kind, String value) {
+        long hash;
+        if (kind == Kind.ENROLLMENT) {
+            int separator = value.indexOf(':');
+            hash = BloomFilter.hash(Long.parseLong(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } else {
+            hash = BloomFilter.hash(value);
+        }
+
+        BloomFilter filter;
+        synchronized (this) {
+            long now = System.currentTimeMillis();
+            while (!building && !recent.isEmpty() && recent.peekFirst().addedAt < now - RECENT_WINDOW_MILLIS) {
+                recent.removeFirst();
+            }
+            recent.addLast(new RecentAdd(kind, hash, now));
+            filter = filters != null ? filters.get(kind) : null;
+        }
+        if (filter == null) {
+            return;
+        }
+        filter.put(hash);
+        if (filter.expectedFalsePositiveRate() > properties.getFalsePositiveRate() * properties.getRebuildFactor()
+                && rebuildScheduled.compareAndSet(false, true)) {
+            Thread rebuild = new Thread(this::rebuildQuietly, "uniqueness-filter-rebuild");
+            rebuild.setDaemon(true);
+            rebuild.start();
+        }
+    }
+
+    private void rebuildQuietly() {
+        try {
+            build();
+        } catch (RuntimeException e) {
+            rebuildScheduled.set(false);
+            log.warn("Rebuilding uniqueness filters failed; checks keep using the current filters", e);
+        }
+    }
+
+    private BloomFilter newFilter(long rows) {
+        return new BloomFilter(Math.max(properties.getMinimumCapacity(), rows * 2), properties.getFalsePositiveRate());
+    }
+
+    private Counter checks(Kind kind, String outcome) {
+        return Counter.builder("membership.filter.checks")
+                .tag("filter", kind.key)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private double expectedFalsePositiveRate(Kind kind) {
+        Map<Kind, BloomFilter> current = filters;
+        return current != null ? current.get(kind).expectedFalsePositiveRate() : Double.NaN;
+    }
+
+    private double memoryBytes(Kind kind) {
+        Map<Kind, BloomFilter> current = filters;
+        return current != null ? current.get(kind).memoryBytes() : 0;
+    }
+
+    private static class RecentAdd {
+        private final Kind kind;
+        private final long hash;
+        private final long addedAt;
+
+        RecentAdd(Kind kind, long hash, long addedAt) {
+            this.kind = kind;
+            this.hash = hash;
+            this.addedAt = addedAt;
+        }
+    }
+
+    private static Kind kindOf(String key) {
+        for (Kind kind : Kind.values()) {
+            if (kind.key.equals(key)) {
+                return kind;
+            }
+        }
+        throw new IllegalArgumentException("Unknown uniqueness filter " + key);
+    }
+}
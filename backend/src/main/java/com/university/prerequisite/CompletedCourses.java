@@ -0,0 +1,70 @@
+package com.university.prerequisite;
+
+import java.util.List;
+
+// The courses one student has completed, as one bitset per grade level: level 0 holds every
+// completed course, level 1 those completed with a D or better, up to level 4 for an A. A
+// requirement with a minimum grade is then a single AND against the matching level.
+final class CompletedCourses {
+
+    static final int LEVELS = 5;
+
+    // Lowest level that satisfies a requirement; an F or a completion without a grade satisfies none
+    static final int PASSED = 1;
+
+    static final CompletedCourses NONE = new CompletedCourses(emptyLevels());
+
+    private final long[][] levels;
+
+    private CompletedCourses(long[][] levels) {
+        this.levels = levels;
+    }
+
+    // rows are (course id, grade letter) pairs
+    static CompletedCourses of(List<Object[]> rows, CourseIndex index) {
+        if (rows.isEmpty()) {
+            return NONE;
+        }
+        long[][] levels = emptyLevels();
+        for (Object[] row : rows) {
+            int course = index.indexOf((Long) row[0]);
+            int reached = level((String) row[1]);
+            for (int level = 0; level <= Math.max(reached, 0); level++) {
+                levels[level] = CourseIndex.set(levels[level], course);
+            }
+        }
+        return new CompletedCourses(levels);
+    }
+
+    private static long[][] emptyLevels() {
+        long[][] levels = new long[LEVELS][];
+        for (int level = 0; level < LEVELS; level++) {
+            levels[level] = new long[0];
+        }
+        return levels;
+    }
+
+    // Level a grade letter reaches: 0 for F or no grade, 4 for A; -1 for anything that is not a
+    // grade letter
+    static int level(String gradeLetter) {
+        if (gradeLetter == null) {
+            return 0;
+        }
+        return switch (gradeLetter) {
+            case "A" -> 4;
+            case "B" -> 3;
+            case "C" -> 2;
+            case "D" -> 1;
+            case "F" -> 0;
+            default -> -1;
+        };
+    }
+
+    long[] atLevel(int level) {
+        return levels[level];
+    }
+
+    boolean contains(int course) {
+        return CourseIndex.get(levels[0], course);
+    }
+}
@@ -0,0 +1,61 @@
+package com.university.prerequisite;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Dense numbering of one tenant's courses, so a set of courses is a bitset over these numbers.
+// Numbers are never reused or reassigned, so bitsets built at different times stay comparable;
+// a deleted course just leaves an unused bit.
+final class CourseIndex {
+
+    private final Map<Long, Integer> indexes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    int indexOf(long courseId) {
+        return indexes.computeIfAbsent(courseId, id -> next.getAndIncrement());
+    }
+
+    // -1 when the course has not been numbered yet
+    int find(long courseId) {
+        return indexes.getOrDefault(courseId, -1);
+    }
+
+    int size() {
+        return next.get();
+    }
+
+    static long[] set(long[] bits, int index) {
+        int word = index >>> 6;
+        if (word >= bits.length) {
+            bits = Arrays.copyOf(bits, word + 1);
+        }
+        bits[word] |= 1L << index;
+        return bits;
+    }
+
+    static boolean get(long[] bits, int index) {
+        int word = index >>> 6;
+        return word < bits.length && (bits[word] & (1L << index)) != 0;
+    }
+
+    static boolean intersects(long[] a, long[] b) {
+        int words = Math.min(a.length, b.length);
+        for (int i = 0; i < words; i++) {
+            if ((a[i] & b[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static long[] or(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, Math.max(a.length, b.length));
+        for (int i = 0; i < b.length; i++) {
+            result[i] |= b[i];
+        }
+        return result;
+    }
+}
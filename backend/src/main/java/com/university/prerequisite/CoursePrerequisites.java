@@ -0,0 +1,33 @@
+package com.university.prerequisite;
+
+import com.university.entity.Prerequisite;
+
+import java.util.List;
+
+// A course's prerequisites as stored, plus every course they pull in transitively
+public class CoursePrerequisites {
+
+    private final Long courseId;
+
+    private final List<Prerequisite> direct;
+
+    private final List<Long> allRequiredCourseIds;
+
+    public CoursePrerequisites(Long courseId, List<Prerequisite> direct, List<Long> allRequiredCourseIds) {
+        this.courseId = courseId;
+        this.direct = direct;
+        this.allRequiredCourseIds = allRequiredCourseIds;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public List<Prerequisite> getDirect() {
+        return direct;
+    }
+
+    public List<Long> getAllRequiredCourseIds() {
+        return allRequiredCourseIds;
+    }
+}
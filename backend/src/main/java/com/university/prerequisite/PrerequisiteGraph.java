@@ -0,0 +1,208 @@
+package com.university.prerequisite;
+
+import com.university.entity.Prerequisite;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// One tenant's prerequisites, compiled. Each requirement group of a course is one bitset per
+// grade level, so checking a student is a few ANDs per group; each course also carries the
+// transitive closure of everything it requires. Immutable once built: a course change builds a
+// new graph and swaps it in.
+final class PrerequisiteGraph {
+
+    private static final byte VISITING = 1;
+
+    private static final byte DONE = 2;
+
+    private static final class Node {
+
+        final long courseId;
+
+        // groups[g][level]: alternatives of group g that need at least that grade level
+        final long[][][] groups;
+
+        // Courses required directly, in any group
+        final long[] direct;
+
+        // Courses required directly or through another prerequisite; set while building
+        long[] closure;
+
+        Node(long courseId, long[][][] groups, long[] direct) {
+            this.courseId = courseId;
+            this.groups = groups;
+            this.direct = direct;
+        }
+    }
+
+    private final CourseIndex index;
+
+    // Node of each dense course number; null for numbers of deleted courses
+    private final Node[] nodes;
+
+    private PrerequisiteGraph(CourseIndex index, Node[] nodes) {
+        this.index = index;
+        this.nodes = nodes;
+    }
+
+    // Rows of (course id, prerequisite): one per prerequisite, and a single row with a null
+    // prerequisite for a course without any
+    static PrerequisiteGraph build(List<Object[]> rows, CourseIndex index) {
+        Map<Long, List<Prerequisite>> courses = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            List<Prerequisite> prerequisites = courses.computeIfAbsent((Long) row[0], id -> new ArrayList<>());
+            if (row[1] != null) {
+                prerequisites.add((Prerequisite) row[1]);
+            }
+        }
+        for (Long courseId : courses.keySet()) {
+            index.indexOf(courseId);
+        }
+        Node[] nodes = new Node[index.size()];
+        long[] present = new long[0];
+        for (Long courseId : courses.keySet()) {
+            present = CourseIndex.set(present, index.find(courseId));
+        }
+
+        for (Map.Entry<Long, List<Prerequisite>> course : courses.entrySet()) {
+            Map<Integer, long[][]> groups = new TreeMap<>();
+            long[] direct = new long[0];
+            for (Prerequisite prerequisite : course.getValue()) {
+                int required = index.find(prerequisite.getCourseId());
+                // A requirement on a course that has since been deleted no longer applies
+                if (required < 0 || !CourseIndex.get(present, required)) {
+                    continue;
+                }
+                // Without a minimum grade (or with F as the minimum) the course still has to be passed
+                int level = Math.max(CompletedCourses.level(prerequisite.getMinGradeLetter()), CompletedCourses.PASSED);
+                long[][] group = groups.computeIfAbsent(prerequisite.getGroup(), g -> emptyLevels());
+                group[level] = CourseIndex.set(group[level], required);
+                direct = CourseIndex.set(direct, required);
+            }
+            nodes[index.find(course.getKey())] = new Node(course.getKey(), groups.values().toArray(new long[0][][]), direct);
+        }
+
+        byte[] state = new byte[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            if (nodes[i] != null) {
+                closure(i, nodes, state);
+            }
+        }
+        return new PrerequisiteGraph(index, nodes);
+    }
+
+    private static long[][] emptyLevels() {
+        long[][] levels = new long[CompletedCourses.LEVELS][];
+        for (int level = 0; level < levels.length; level++) {
+            levels[level] = new long[0];
+        }
+        return levels;
+    }
+
+    private static long[] closure(int course, Node[] nodes, byte[] state) {
+        Node node = nodes[course];
+        if (state[course] == DONE) {
+            return node.closure;
+        }
+        if (state[course] == VISITING) {
+            // A cycle that got past validation, e.g. two updates racing on different nodes; the
+            // closure stops here instead of looping
+            return node.direct;
+        }
+        state[course] = VISITING;
+        long[] closure = node.direct;
+        for (int word = 0; word < node.direct.length; word++) {
+            long bits = node.direct[word];
+            while (bits != 0) {
+                int required = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                closure = CourseIndex.or(closure, closure(required, nodes, state));
+            }
+        }
+        node.closure = closure;
+        state[course] = DONE;
+        return closure;
+    }
+
+    private Node node(long courseId) {
+        int course = index.find(courseId);
+        return course >= 0 && course < nodes.length ? nodes[course] : null;
+    }
+
+    boolean contains(long courseId) {
+        return node(courseId) != null;
+    }
+
+    boolean hasRequirements(long courseId) {
+        Node node = node(courseId);
+        return node != null && node.groups.length > 0;
+    }
+
+    // True when every requirement group of the course has an alternative the student completed
+    // with a high enough grade
+    boolean isSatisfied(long courseId, CompletedCourses completed) {
+        Node node = node(courseId);
+        return node == null || isSatisfied(node, completed);
+    }
+
+    private static boolean isSatisfied(Node node, CompletedCourses completed) {
+        for (long[][] group : node.groups) {
+            boolean met = false;
+            for (int level = CompletedCourses.PASSED; level < group.length && !met; level++) {
+                met = CourseIndex.intersects(group[level], completed.atLevel(level));
+            }
+            if (!met) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Courses the student has not completed yet and meets every requirement of, in id order
+    List<Long> eligible(CompletedCourses completed) {
+        List<Long> eligible = new ArrayList<>();
+        for (int course = 0; course < nodes.length; course++) {
+            Node node = nodes[course];
+            if (node != null && !completed.contains(course) && isSatisfied(node, completed)) {
+                eligible.add(node.courseId);
+            }
+        }
+        eligible.sort(null);
+        return eligible;
+    }
+
+    // Every course the course requires, directly or through another prerequisite, in id order
+    List<Long> closure(long courseId) {
+        Node node = node(courseId);
+        List<Long> ids = new ArrayList<>();
+        if (node == null) {
+            return ids;
+        }
+        for (int course = 0; course < nodes.length; course++) {
+            if (nodes[course] != null && CourseIndex.get(node.closure, course)) {
+                ids.add(nodes[course].courseId);
+            }
+        }
+        ids.sort(null);
+        return ids;
+    }
+
+    // True when requiring these courses would make the course (transitively) require itself
+    boolean wouldCycle(long courseId, Collection<Long> required) {
+        int course = index.find(courseId);
+        for (Long requiredId : required) {
+            if (requiredId == courseId) {
+                return true;
+            }
+            Node node = node(requiredId);
+            if (course >= 0 && node != null && CourseIndex.get(node.closure, course)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
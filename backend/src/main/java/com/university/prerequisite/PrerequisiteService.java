@@ -0,0 +1,162 @@
+package com.university.prerequisite;
+
+import com.university.cluster.ClusterService;
+import com.university.entity.Course;
+import com.university.entity.Enrollment;
+import com.university.entity.Prerequisite;
+import com.university.event.CourseChangedEvent;
+import com.university.event.EnrollmentChangedEvent;
+import com.university.event.StudentChangedEvent;
+import com.university.repository.CourseRepository;
+import com.university.repository.EnrollmentHistoryRepository;
+import com.university.repository.EnrollmentRepository;
+import com.university.tenant.TenantContext;
+import com.university.tenant.Tenants;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Answers "may this student take this course" from memory. Each tenant has a compiled
+// PrerequisiteGraph, rebuilt on any course change, and each student's completed courses are
+// cached as bitsets over the same dense course numbering, so the check on enroll and the eligible
+// course listing are word operations instead of queries over enrollments.
+@Service
+public class PrerequisiteService {
+
+    public static final String GRAPH_CACHE = "course-prerequisites";
+
+    public static final String COMPLETED_CACHE = "completed-courses";
+
+    @Autowired
+    private CourseRepository courseRepo;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    @Autowired
+    private EnrollmentHistoryRepository historyRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ClusterService clusterService;
+
+    @Autowired
+    private Tenants tenants;
+
+    // Tenant -> numbering shared by the graph and the completed-course bitsets
+    private final Map<String, CourseIndex> indexes = new ConcurrentHashMap<>();
+
+    // Tenant -> compiled graph
+    private final Map<String, PrerequisiteGraph> graphs = new ConcurrentHashMap<>();
+
+    // Tenant -> student id -> completed courses
+    private final Map<String, Map<Long, CompletedCourses>> completed = new ConcurrentHashMap<>();
+
+    // Loads go to the primary: a rebuild right after a write must see it, and a replica may
+    // still be behind
+    private TransactionTemplate primaryReads;
+
+    @PostConstruct
+    void init() {
+        primaryReads = new TransactionTemplate(transactionManager);
+        clusterService.registerInvalidationListener(GRAPH_CACHE, key -> graphs.remove(TenantContext.current()));
+        clusterService.registerInvalidationListener(COMPLETED_CACHE, key -> tenantCompleted().remove(Long.valueOf(key)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        tenants.forEach(this::graph);
+    }
+
+    // True when the student has completed what the course requires; courses without
+    // prerequisites never load the student's record
+    public boolean isEligible(Long studentId, Long courseId) {
+        PrerequisiteGraph graph = graph();
+        return !graph.hasRequirements(courseId) || graph.isSatisfied(courseId, completedCourses(studentId));
+    }
+
+    // Ids of the courses the student has not completed and meets every prerequisite of
+    public List<Long> eligibleCourseIds(Long studentId) {
+        return graph().eligible(completedCourses(studentId));
+    }
+
+    public CoursePrerequisites describe(Course course) {
+        return new CoursePrerequisites(course.getId(), course.getPrerequisites(), graph().closure(course.getId()));
+    }
+
+    // True when every prerequisite names another existing course, has a grade letter (or none)
+    // as its minimum, and none of them would make the course require itself
+    public boolean isValid(Long courseId, List<Prerequisite> prerequisites) {
+        PrerequisiteGraph graph = graph();
+        List<Long> required = new ArrayList<>(prerequisites.size());
+        for (Prerequisite prerequisite : prerequisites) {
+            if (prerequisite == null || prerequisite.getCourseId() == null
+                    || !graph.contains(prerequisite.getCourseId())
+                    || CompletedCourses.level(prerequisite.getMinGradeLetter()) < 0) {
+                return false;
+            }
+            required.add(prerequisite.getCourseId());
+        }
+        return !graph.wouldCycle(courseId, required);
+    }
+
+    private PrerequisiteGraph graph() {
+        String tenant = TenantContext.current();
+        PrerequisiteGraph graph = graphs.get(tenant);
+        if (graph != null) {
+            return graph;
+        }
+        // computeIfAbsent holds the entry while building, so an invalidation arriving meanwhile
+        // waits and then drops the graph instead of being overwritten by a stale one
+        return graphs.computeIfAbsent(tenant, t -> primaryReads.execute(status ->
+                PrerequisiteGraph.build(courseRepo.findAllPrerequisiteRows(), index())));
+    }
+
+    private CompletedCourses completedCourses(Long studentId) {
+        return tenantCompleted().computeIfAbsent(studentId, id -> primaryReads.execute(status -> {
+            // Archived enrollments count too: a course completed years ago is still completed
+            List<Object[]> rows = new ArrayList<>(enrollmentRepo.findCourseGradesByStudentIdAndStatus(id, Enrollment.EnrollmentStatus.COMPLETED));
+            rows.addAll(historyRepo.findCourseGradesByStudentIdAndStatus(id, Enrollment.EnrollmentStatus.COMPLETED));
+            return CompletedCourses.of(rows, index());
+        }));
+    }
+
+    private CourseIndex index() {
+        return indexes.computeIfAbsent(TenantContext.current(), tenant -> new CourseIndex());
+    }
+
+    private Map<Long, CompletedCourses> tenantCompleted() {
+        return completed.computeIfAbsent(TenantContext.current(), tenant -> new ConcurrentHashMap<>());
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        clusterService.invalidate(GRAPH_CACHE, event.getCourseId().toString());
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        // Also fires for a grade change on a completed enrollment, which moves its grade level
+        if (event.touches(Enrollment.EnrollmentStatus.COMPLETED)) {
+            clusterService.invalidate(COMPLETED_CACHE, event.getStudentId().toString());
+        }
+    }
+
+    @EventListener
+    public void onStudentChanged(StudentChangedEvent event) {
+        if (event.getStatus() == null) {
+            clusterService.invalidate(COMPLETED_CACHE, event.getStudentId().toString());
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.university.projection;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+// Multi-get by id and column projection for the entity endpoints. Id lists are resolved with IN
+// queries of at most ID_CHUNK_SIZE ids; a field list becomes the select clause, so unrequested
+// columns are never read. Selectable fields are the entity's plain columns that are serialized
+// anyway (associations, collections and @JsonIgnore columns are excluded).
+@Component
+public class SparseFieldsets {
+
+    public static final int ID_CHUNK_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final Map<Class<?>, Set<String>> selectable = new ConcurrentHashMap<>();
+
+    // Entities with the given ids in request order; unknown ids are skipped, duplicates returned once
+    public <T> List<T> findAllById(JpaRepository<T, Long> repository, Collection<Long> ids, Function<T, Long> idOf) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, T> found = new HashMap<>(distinct.size() * 2);
+        for (List<Long> chunk : chunks(distinct)) {
+            repository.findAllById(chunk).forEach(entity -> found.put(idOf.apply(entity), entity));
+        }
+        List<T> ordered = new ArrayList<>(found.size());
+        for (Long id : distinct) {
+            T entity = found.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+
+    // True when every requested field can be projected for the entity
+    public boolean isSelectable(Class<?> entityClass, Collection<String> fields) {
+        return selectableFields(entityClass).containsAll(fields);
+    }
+
+    public Set<String> selectableFields(Class<?> entityClass) {
+        return selectable.computeIfAbsent(entityClass, this::resolveSelectable);
+    }
+
+    // Rows with only the requested fields (plus id), for the given ids in request order or for every
+    // row when ids is null. Callers validate the fields with isSelectable first.
+    public List<Map<String, Object>> findFields(Class<?> entityClass, Collection<String> fields, Collection<Long> ids) {
+        List<String> columns = columns(entityClass, fields);
+        String select = select(entityClass, columns);
+
+        if (ids == null) {
+            TypedQuery<Object[]> query = entityManager.createQuery(select + " ORDER BY e.id", Object[].class);
+            return toMaps(columns, query.getResultList());
+        }
+
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Object, Map<String, Object>> found = new HashMap<>(distinct.size() * 2);
+        for (List<Long> chunk : chunks(distinct)) {
+            List<Object[]> rows = entityManager.createQuery(select + " WHERE e.id IN :ids", Object[].class)
+                    .setParameter("ids", chunk)
+                    .getResultList();
+            toMaps(columns, rows).forEach(row -> found.put(row.get("id"), row));
+        }
+        List<Map<String, Object>> ordered = new ArrayList<>(found.size());
+        for (Long id : distinct) {
+            Map<String, Object> row = found.get(id);
+            if (row != null) {
+                ordered.add(row);
+            }
+        }
+        return ordered;
+    }
+
+    // Rows with only the requested fields (plus id) for the limit most recently created entities,
+    // newest first. Callers validate the fields with isSelectable first.
+    public List<Map<String, Object>> findLatestFields(Class<?> entityClass, Collection<String> fields, int limit) {
+        List<String> columns = columns(entityClass, fields);
+        List<Object[]> rows = entityManager.createQuery(select(entityClass, columns) + " ORDER BY e.id DESC", Object[].class)
+                .setMaxResults(limit)
+                .getResultList();
+        return toMaps(columns, rows);
+    }
+
+    private List<String> columns(Class<?> entityClass, Collection<String> fields) {
+        List<String> columns = new ArrayList<>();
+        columns.add("id");
+        fields.stream().filter(field -> !"id".equals(field)).distinct().forEach(columns::add);
+        if (!isSelectable(entityClass, columns)) {
+            throw new IllegalArgumentException("Fields " + fields + " are not selectable on " + entityClass.getSimpleName());
+        }
+        return columns;
+    }
+
+    private String select(Class<?> entityClass, List<String> columns) {
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (int i = 0; i < columns.size(); i++) {
+            select.append(i == 0 ? "" : ", ").append("e.").append(columns.get(i));
+        }
+        return select.append(" FROM ").append(entityManager.getMetamodel().entity(entityClass).getName()).append(" e").toString();
+    }
+
+    private static List<Map<String, Object>> toMaps(List<String> columns, List<Object[]> rows) {
+        List<Map<String, Object>> maps = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                map.put(columns.get(i), row[i]);
+            }
+            maps.add(map);
+        }
+        return maps;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += ID_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + ID_CHUNK_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+
+    private Set<String> resolveSelectable(Class<?> entityClass) {
+        EntityType<?> entity = entityManager.getMetamodel().entity(entityClass);
+        Set<String> fields = new TreeSet<>();
+        entity.getSingularAttributes().forEach(attribute -> {
+            boolean basic = attribute.getPersistentAttributeType() == Attribute.PersistentAttributeType.BASIC;
+            boolean ignored = attribute.getJavaMember() instanceof Field field && field.isAnnotationPresent(JsonIgnore.class);
+            if (basic && !ignored) {
+                fields.add(attribute.getName());
+            }
+        });
+        return Set.copyOf(fields);
+    }
+}
@@ -0,0 +1,162 @@
+package com.university.recommendation;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongPredicate;
+import java.util.stream.Collector;
+
+// Sparse symmetric course x course co-occurrence matrix: row[a].get(b) is the number of students
+// holding both a and b. Each row is a primitive map guarded by its own monitor.
+public class CoEnrollmentGraph {
+
+    private final Map<Long, LongIntHashMap> rows;
+
+    private CoEnrollmentGraph(Map<Long, LongIntHashMap> rows) {
+        this.rows = rows;
+    }
+
+    public static CoEnrollmentGraph empty() {
+        return new CoEnrollmentGraph(new ConcurrentHashMap<>());
+    }
+
+    // Builds the matrix from every student's held courses. Each fork-join worker accumulates a
+    // private partial matrix and partials are merged pairwise, so the build takes no locks.
+    public static CoEnrollmentGraph build(Collection<long[]> heldCourseSets) {
+        Map<Long, LongIntHashMap> rows = heldCourseSets.parallelStream().collect(Collector.of(
+                () -> new ConcurrentHashMap<Long, LongIntHashMap>(),
+                (partial, courses) -> {
+                    for (int i = 0; i < courses.length; i++) {
+                        for (int j = 0; j < courses.length; j++) {
+                            if (i != j) {
+                                partial.computeIfAbsent(courses[i], k -> new LongIntHashMap()).addTo(courses[j], 1);
+                            }
+                        }
+                    }
+                },
+                (left, right) -> {
+                    right.forEach((course, row) -> left.merge(course, row, (a, b) -> {
+                        a.putAll(b);
+                        return a;
+                    }));
+                    return left;
+                }));
+        return new CoEnrollmentGraph(rows);
+    }
+
+    // A student started holding course while already holding others
+    public void add(long course, long[] others) {
+        update(course, others, 1);
+    }
+
+    // A student stopped holding course while still holding others
+    public void remove(long course, long[] others) {
+        update(course, others, -1);
+    }
+
+    private void update(long course, long[] others, int delta) {
+        for (long other : others) {
+            if (other == course) {
+                continue;
+            }
+            updateCell(course, other, delta);
+            updateCell(other, course, delta);
+        }
+    }
+
+    private void updateCell(long row, long column, int delta) {
+        LongIntHashMap cells = rows.computeIfAbsent(row, k -> new LongIntHashMap());
+        synchronized (cells) {
+            cells.addTo(column, delta);
+        }
+    }
+
+    public int count(long course, long other) {
+        LongIntHashMap cells = rows.get(course);
+        if (cells == null) {
+            return 0;
+        }
+        synchronized (cells) {
+            return cells.get(other);
+        }
+    }
+
+    // Courses most often co-held with the given course
+    public List<CourseRecommendation> topK(long course, int k, LongPredicate exclude) {
+        LongIntHashMap cells = rows.get(course);
+        if (cells == null || k <= 0) {
+            return List.of();
+        }
+        synchronized (cells) {
+            TopK top = new TopK(k, cells.size());
+            cells.forEach((other, count) -> {
+                if (!exclude.test(other)) {
+                    top.offer(other, count);
+                }
+            });
+            return top.result();
+        }
+    }
+
+    // Courses most often co-held with any of the given courses, summed over the rows
+    public List<CourseRecommendation> topK(long[] courses, int k, LongPredicate exclude) {
+        if (courses.length == 0 || k <= 0) {
+            return List.of();
+        }
+        LongIntHashMap scores = new LongIntHashMap();
+        for (long course : courses) {
+            LongIntHashMap cells = rows.get(course);
+            if (cells != null) {
+                synchronized (cells) {
+                    scores.putAll(cells);
+                }
+            }
+        }
+        TopK top = new TopK(k, scores.size());
+        scores.forEach((other, count) -> {
+            if (!exclude.test(other)) {
+                top.offer(other, count);
+            }
+        });
+        return top.result();
+    }
+
+    public int rowCount() {
+        return rows.size();
+    }
+
+    // Bounded min-heap keeping the k highest counts; ties favour the lower course id
+    private static class TopK {
+        private static final Comparator<CourseRecommendation> WORST_FIRST = Comparator
+                .comparingInt(CourseRecommendation::getCoEnrollments)
+                .thenComparing(CourseRecommendation::getCourseId, Comparator.reverseOrder());
+
+        private final int k;
+        private final PriorityQueue<CourseRecommendation> heap;
+
+        TopK(int k, int candidates) {
+            this.k = k;
+            this.heap = new PriorityQueue<>(Math.min(k, candidates) + 1, WORST_FIRST);
+        }
+
+        void offer(long courseId, int count) {
+            if (heap.size() < k) {
+                heap.add(new CourseRecommendation(courseId, count));
+            } else if (count > heap.peek().getCoEnrollments()
+                    || (count == heap.peek().getCoEnrollments() && courseId < heap.peek().getCourseId())) {
+                heap.poll();
+                heap.add(new CourseRecommendation(courseId, count));
+            }
+        }
+
+        List<CourseRecommendation> result() {
+            List<CourseRecommendation> result = new ArrayList<>(heap);
+            result.sort(WORST_FIRST.reversed());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.university.recommendation;
+
+import com.university.cluster.ClusterService;
+import com.university.entity.Enrollment;
+import com.university.event.ChangeType;
+import com.university.event.CourseChangedEvent;
+import com.university.event.EnrollmentChangedEvent;
+import com.university.repository.EnrollmentRepository;
+import com.university.tenant.TenantContext;
+import com.university.tenant.Tenants;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// "Students who took X also took Y". The co-occurrence matrix is built in parallel at startup
+// and then maintained incrementally from each student's held courses (ENROLLED or COMPLETED).
+// Each tenant has its own matrix, built and refreshed with that tenant current.
+@Service
+public class CoEnrollmentService {
+
+    public static final String CACHE = "co-enrollment";
+
+    // Key asking every node to rebuild the whole matrix
+    private static final String ALL = "*";
+
+    private static final Logger log = LoggerFactory.getLogger(CoEnrollmentService.class);
+
+    private static final Set<Enrollment.EnrollmentStatus> HELD =
+            EnumSet.of(Enrollment.EnrollmentStatus.ENROLLED, Enrollment.EnrollmentStatus.COMPLETED);
+
+    private static final long[] NONE = new long[0];
+
+    // Upper bound on the number of recommendations a request may ask for
+    public static final int MAX_LIMIT = 50;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    @Autowired
+    private ClusterService clusterService;
+
+    @Autowired
+    private Tenants tenants;
+
+    private final Map<String, TenantState> states = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerInvalidation() {
+        clusterService.registerInvalidationListener(CACHE, key -> {
+            if (ALL.equals(key)) {
+                build();
+            } else {
+                refreshStudent(Long.valueOf(key));
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildAll() {
+        tenants.forEach(this::build);
+    }
+
+    // Rebuilds the current tenant's matrix
+    public void build() {
+        long start = System.nanoTime();
+        TenantState state = state();
+        synchronized (state) {
+            state.ready = false;
+        }
+        Map<Long, List<Long>> byStudent = new HashMap<>();
+        for (Object[] pair : enrollmentRepo.findStudentCoursePairsByStatusIn(HELD)) {
+            byStudent.computeIfAbsent((Long) pair[0], k -> new ArrayList<>()).add((Long) pair[1]);
+        }
+
+        Map<Long, long[]> sets = new HashMap<>(byStudent.size() * 2);
+        byStudent.forEach((studentId, courses) -> sets.put(studentId, toSortedArray(courses)));
+        CoEnrollmentGraph built = CoEnrollmentGraph.build(sets.values());
+
+        Set<Long> replay;
+        synchronized (state) {
+            state.held.clear();
+            state.held.putAll(sets);
+            state.graph = built;
+            state.ready = true;
+            replay = new HashSet<>(state.pending);
+            state.pending.clear();
+        }
+        replay.forEach(this::refreshStudent);
+
+        log.info("Co-enrollment graph for tenant {} built from {} students over {} courses in {} ms",
+                TenantContext.current(), sets.size(), built.rowCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Re-reads one student's held courses and applies the difference to the matrix
+    public void refreshStudent(Long studentId) {
+        TenantState state = state();
+        synchronized (state) {
+            if (!state.ready) {
+                state.pending.add(studentId);
+                return;
+            }
+        }
+        state.held.compute(studentId, (id, before) -> {
+            long[] after = toSortedArray(enrollmentRepo.findCourseIdsByStudentIdAndStatusIn(id, HELD));
+            long[] previous = before != null ? before : NONE;
+            // Apply one course at a time against the running set so each pair changes exactly once
+            long[] current = previous;
+            for (long course : previous) {
+                if (Arrays.binarySearch(after, course) < 0) {
+                    current = without(current, course);
+                    state.graph.remove(course, current);
+                }
+            }
+            for (long course : after) {
+                if (Arrays.binarySearch(previous, course) < 0) {
+                    state.graph.add(course, current);
+                    current = with(current, course);
+                }
+            }
+            return after.length == 0 ? null : after;
+        });
+    }
+
+    public List<CourseRecommendation> recommendForCourse(Long courseId, int limit) {
+        long id = courseId;
+        return state().graph.topK(id, Math.min(limit, MAX_LIMIT), other -> other == id);
+    }
+
+    // Recommendations for a student, excluding courses the student already holds
+    public List<CourseRecommendation> recommendForStudent(Long studentId, int limit) {
+        TenantState state = state();
+        long[] courses = state.held.getOrDefault(studentId, NONE);
+        return state.graph.topK(courses, Math.min(limit, MAX_LIMIT), other -> Arrays.binarySearch(courses, other) >= 0);
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        boolean heldBefore = event.getPreviousStatus() != null && HELD.contains(event.getPreviousStatus());
+        boolean heldAfter = event.getStatus() != null && HELD.contains(event.getStatus());
+        if (heldBefore != heldAfter) {
+            clusterService.invalidate(CACHE, event.getStudentId().toString());
+        }
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        // Deleting a course cascades to its enrollments; rebuilding is simpler than tracking every holder
+        if (event.getType() == ChangeType.DELETED) {
+            clusterService.invalidate(CACHE, ALL);
+        }
+    }
+
+    private TenantState state() {
+        return states.computeIfAbsent(TenantContext.current(), tenant -> new TenantState());
+    }
+
+    private static long[] toSortedArray(List<Long> ids) {
+        long[] array = ids.stream().mapToLong(Long::longValue).distinct().toArray();
+        Arrays.sort(array);
+        return array;
+    }
+
+    private static long[] without(long[] sorted, long value) {
+        return Arrays.stream(sorted).filter(v -> v != value).toArray();
+    }
+
+    private static long[] with(long[] sorted, long value) {
+        long[] result = Arrays.copyOf(sorted, sorted.length + 1);
+        result[sorted.length] = value;
+        Arrays.sort(result);
+        return result;
+    }
+
+    private static final class TenantState {
+
+        private volatile CoEnrollmentGraph graph = CoEnrollmentGraph.empty();
+
+        // Student id -> sorted ids of the courses the student holds
+        private final Map<Long, long[]> held = new ConcurrentHashMap<>();
+
+        // Students changed while the initial build was running; replayed once it is installed
+        private final Set<Long> pending = new HashSet<>();
+
+        private boolean ready = false;
+    }
+}
@@ -0,0 +1,22 @@
+package com.university.recommendation;
+
+public class CourseRecommendation {
+
+    private final long courseId;
+
+    // Number of students holding both this course and the course(s) the recommendation is for
+    private final int coEnrollments;
+
+    public CourseRecommendation(long courseId, int coEnrollments) {
+        this.courseId = courseId;
+        this.coEnrollments = coEnrollments;
+    }
+
+    public long getCourseId() {
+        return courseId;
+    }
+
+    public int getCoEnrollments() {
+        return coEnrollments;
+    }
+}
@@ -0,0 +1,146 @@
+package com.university.recommendation;
+
+// Open-addressing long -> int map with linear probing; avoids boxing a Long and an Integer per
+// entry. Key 0 is reserved as the empty marker (database ids start at 1). Not thread-safe.
+public class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+
+    private int[] values;
+
+    private int size;
+
+    private int mask;
+
+    public LongIntHashMap() {
+        this(8);
+    }
+
+    public LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    public int get(long key) {
+        int slot = find(key);
+        return slot >= 0 ? values[slot] : 0;
+    }
+
+    // Adds delta to the key's value; entries that drop to zero or below are removed
+    public int addTo(long key, int delta) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int slot = indexOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                int value = values[slot] + delta;
+                if (value <= 0) {
+                    removeAt(slot);
+                    return 0;
+                }
+                values[slot] = value;
+                return value;
+            }
+            slot = (slot + 1) & mask;
+        }
+        if (delta <= 0) {
+            return 0;
+        }
+        keys[slot] = key;
+        values[slot] = delta;
+        if (++size > keys.length * LOAD_FACTOR) {
+            rehash(keys.length << 1);
+        }
+        return delta;
+    }
+
+    public void putAll(LongIntHashMap other) {
+        for (int i = 0; i < other.keys.length; i++) {
+            if (other.keys[i] != EMPTY) {
+                addTo(other.keys[i], other.values[i]);
+            }
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    private int find(long key) {
+        int slot = indexOf(key);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    // Backward-shift deletion keeps probe chains intact without tombstones
+    private void removeAt(int slot) {
+        size--;
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = indexOf(keys[next]);
+            boolean movable = gap <= next ? (home <= gap || home > next) : (home <= gap && home > next);
+            if (movable) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        values[gap] = 0;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                addTo(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private int indexOf(long key) {
+        // Fibonacci hashing spreads sequential ids across the table
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+
+    @Override
+    public String toString() {
+        return "LongIntHashMap{size=" + size + ", capacity=" + keys.length + "}";
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, int value);
+    }
+}
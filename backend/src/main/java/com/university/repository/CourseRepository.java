@@ -1,6 +1,8 @@
 package com.university.repository;
 
+import com.university.coalescing.CoalescedRead;
 import com.university.entity.Course;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,16 +14,38 @@ import java.util.Optional;
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
     
+    // Find courses by ID, with the collections the course JSON shows
+    @Override
+    @EntityGraph(Course.DETAILS)
+    List<Course> findAllById(Iterable<Long> ids);
+    
+    // Find course by ID, with the collections the course JSON shows
+    @EntityGraph(Course.DETAILS)
+    Optional<Course> findWithDetailsById(Long id);
+    
+    // Find (course id, prerequisite) of every course; a course without prerequisites has one row
+    // with a null prerequisite
+    @Query("SELECT c.id, p FROM Course c LEFT JOIN c.prerequisites p")
+    List<Object[]> findAllPrerequisiteRows();
+    
+    // Find course by ID with its prerequisites
+    @EntityGraph(attributePaths = "prerequisites")
+    Optional<Course> findWithPrerequisitesById(Long id);
+    
     // Find course by code
     Optional<Course> findByCode(String code);
     
     // Find courses by title containing (case-insensitive)
+    @CoalescedRead
+    @EntityGraph(Course.DETAILS)
     List<Course> findByTitleContainingIgnoreCase(String title);
     
     // Find courses by credit hours
     List<Course> findByCreditHours(Integer creditHours);
     
     // Find courses with available capacity
+    @CoalescedRead
+    @EntityGraph(Course.DETAILS)
     @Query("SELECT c FROM Course c WHERE c.maxCapacity IS NULL OR c.maxCapacity > (SELECT COUNT(e) FROM Enrollment e WHERE e.course = c AND e.status = 'ENROLLED')")
     List<Course> findAvailableCourses();
     
@@ -29,6 +53,14 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
     @Query("SELECT c FROM Course c JOIN c.enrollments e WHERE e.student.id = :studentId")
     List<Course> findCoursesByStudentId(@Param("studentId") Long studentId);
     
+    // Find the codes of all courses
+    @Query("SELECT c.code FROM Course c")
+    List<String> findAllCodes();
+    
+    // Find (id, max capacity) of every course
+    @Query("SELECT c.id, c.maxCapacity FROM Course c")
+    List<Object[]> findAllCapacities();
+    
     // Check if course code exists
     boolean existsByCode(String code);
 }
@@ -0,0 +1,22 @@
+package com.university.repository;
+
+import com.university.entity.Enrollment;
+import com.university.entity.EnrollmentHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface EnrollmentHistoryRepository extends JpaRepository<EnrollmentHistory, Long> {
+    
+    // Summarize archived enrollments per status as (status, count, sum of grades, number of grades)
+    @Query("SELECT h.status, COUNT(h), SUM(h.grade), COUNT(h.grade) FROM EnrollmentHistory h GROUP BY h.status")
+    List<Object[]> summarizeByStatus();
+    
+    // Find the archived courses of a student with the given status as (course id, grade letter)
+    @Query("SELECT h.course.id, h.gradeLetter FROM EnrollmentHistory h WHERE h.student.id = :studentId AND h.status = :status")
+    List<Object[]> findCourseGradesByStudentIdAndStatus(@Param("studentId") Long studentId, @Param("status") Enrollment.EnrollmentStatus status);
+}
@@ -1,40 +1,52 @@
 package com.university.repository;
 
 import com.university.entity.Enrollment;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+// Methods declared here read the hot enrollments table only; the ones that may need archived rows
+// as well are in EnrollmentRepositoryCustom
 @Repository
-public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
+public interface EnrollmentRepository extends JpaRepository<Enrollment, Long>, EnrollmentRepositoryCustom {
     
-    // Find enrollments by student ID
-    List<Enrollment> findByStudentId(Long studentId);
+    @Override
+    @EntityGraph(attributePaths = {"student", "course"})
+    Optional<Enrollment> findById(Long id);
     
-    // Find enrollments by course ID
-    List<Enrollment> findByCourseId(Long courseId);
-    
-    // Find enrollment by student and course
-    Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
+    // Count enrollments for a course
+    @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId AND e.status = 'ENROLLED'")
+    Long countEnrollmentsByCourseId(@Param("courseId") Long courseId);
     
-    // Find enrollments by status
-    List<Enrollment> findByStatus(Enrollment.EnrollmentStatus status);
+    // Count ENROLLED enrollments per course as (course id, count)
+    @Query("SELECT e.course.id, COUNT(e) FROM Enrollment e WHERE e.status = 'ENROLLED' GROUP BY e.course.id")
+    List<Object[]> countEnrolledByCourse();
     
-    // Find enrollments with grades
-    @Query("SELECT e FROM Enrollment e WHERE e.grade IS NOT NULL")
-    List<Enrollment> findEnrollmentsWithGrades();
+    // Summarize hot enrollments per status as (status, count, sum of grades, number of grades)
+    @Query("SELECT e.status, COUNT(e), SUM(e.grade), COUNT(e.grade) FROM Enrollment e GROUP BY e.status")
+    List<Object[]> summarizeByStatus();
     
-    // Find enrollments by student and status
-    List<Enrollment> findByStudentIdAndStatus(Long studentId, Enrollment.EnrollmentStatus status);
+    // Find schedule masks of the courses a student holds with the given status
+    @Query("SELECT c.scheduleMask FROM Enrollment e JOIN e.course c WHERE e.student.id = :studentId AND e.status = :status AND c.scheduleMask IS NOT NULL")
+    List<byte[]> findScheduleMasksByStudentIdAndStatus(@Param("studentId") Long studentId, @Param("status") Enrollment.EnrollmentStatus status);
     
-    // Count enrollments for a course
-    @Query("SELECT COUNT(e) FROM Enrollment e WHERE e.course.id = :courseId AND e.status = 'ENROLLED'")
-    Long countEnrollmentsByCourseId(@Param("courseId") Long courseId);
+    // Find the courses a student holds with the given status as (course id, grade letter)
+    @Query("SELECT e.course.id, e.gradeLetter FROM Enrollment e WHERE e.student.id = :studentId AND e.status = :status")
+    List<Object[]> findCourseGradesByStudentIdAndStatus(@Param("studentId") Long studentId, @Param("status") Enrollment.EnrollmentStatus status);
     
-    // Check if student is enrolled in course
-    boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+    // Find the oldest terminal enrollments last changed before the cutoff, locked until they are archived
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Enrollment e WHERE e.status IN :statuses AND e.updatedAt < :cutoff ORDER BY e.id")
+    List<Enrollment> findArchivable(@Param("statuses") Collection<Enrollment.EnrollmentStatus> statuses,
+                                    @Param("cutoff") LocalDateTime cutoff, Pageable pageable);
 }
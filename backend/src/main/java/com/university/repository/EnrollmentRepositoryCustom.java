@@ -0,0 +1,56 @@
+package com.university.repository;
+
+import com.university.coalescing.CoalescedRead;
+import com.university.entity.Enrollment;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+// Queries that read the hot enrollments table, the enrollment_history table or both, depending on
+// whether the statuses they ask for can be archived. Archived rows come back as detached
+// Enrollment instances; findById and save keep working on the hot table only.
+public interface EnrollmentRepositoryCustom {
+    
+    // All enrollments, current and archived
+    List<Enrollment> findAll();
+    
+    // Find an enrollment in either table
+    Optional<Enrollment> findIncludingHistoryById(Long id);
+    
+    // Find enrollments by student ID (the student's transcript)
+    @CoalescedRead
+    List<Enrollment> findByStudentId(Long studentId);
+    
+    // Find enrollments by course ID
+    @CoalescedRead
+    List<Enrollment> findByCourseId(Long courseId);
+    
+    // Find enrollment by student and course
+    Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId);
+    
+    // Find enrollments by status
+    @CoalescedRead
+    List<Enrollment> findByStatus(Enrollment.EnrollmentStatus status);
+    
+    // Find enrollments with grades
+    @CoalescedRead
+    List<Enrollment> findEnrollmentsWithGrades();
+    
+    // Find enrollments by student and status
+    List<Enrollment> findByStudentIdAndStatus(Long studentId, Enrollment.EnrollmentStatus status);
+    
+    // Find (student id, course id) pairs of enrollments in the given statuses
+    List<Object[]> findStudentCoursePairsByStatusIn(Collection<Enrollment.EnrollmentStatus> statuses);
+    
+    // Find ids of the courses a student holds in the given statuses
+    List<Long> findCourseIdsByStudentIdAndStatusIn(Long studentId, Collection<Enrollment.EnrollmentStatus> statuses);
+    
+    // Summarize the enrollments of students in an id range as (student id, completed credit hours,
+    // graded completed credit hours, grade points weighted by credit hours, current enrollments,
+    // last change); a student appears once per table that holds enrollments of theirs
+    List<Object[]> summarizeStandingByStudentIdBetween(Long fromId, Long toId);
+    
+    // Check if student is or was enrolled in course
+    boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
+}
@@ -0,0 +1,162 @@
+package com.university.repository;
+
+import com.university.entity.Enrollment;
+import com.university.entity.EnrollmentHistory;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class EnrollmentRepositoryCustomImpl implements EnrollmentRepositoryCustom {
+    
+    // Credit hours count once the enrollment is completed; grade points follow the grade letter (A = 4 ... F = 0)
+    private static final String STANDING = "SELECT e.student.id,"
+            + " SUM(CASE WHEN e.status = 'COMPLETED' THEN COALESCE(c.creditHours, 0) ELSE 0 END),"
+            + " SUM(CASE WHEN e.status = 'COMPLETED' AND e.grade IS NOT NULL THEN COALESCE(c.creditHours, 0) ELSE 0 END),"
+            + " SUM(CASE WHEN e.status = 'COMPLETED' AND e.grade IS NOT NULL THEN COALESCE(c.creditHours, 0)"
+            + " * (CASE e.gradeLetter WHEN 'A' THEN 4 WHEN 'B' THEN 3 WHEN 'C' THEN 2 WHEN 'D' THEN 1 ELSE 0 END) ELSE 0 END),"
+            + " SUM(CASE WHEN e.status = 'ENROLLED' THEN 1 ELSE 0 END),"
+            + " MAX(e.updatedAt)";
+    
+    // Enrollments are serialized with their student and course, so both are fetched with the row
+    private static final String FETCH = " e JOIN FETCH e.student JOIN FETCH e.course";
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Enrollment> findAll() {
+        return findInBoth("", Map.of(), true);
+    }
+    
+    @Override
+    public Optional<Enrollment> findIncludingHistoryById(Long id) {
+        List<Enrollment> found = findInBoth(" WHERE e.id = :id", Map.of("id", id), true);
+        return found.stream().findFirst();
+    }
+    
+    @Override
+    public List<Enrollment> findByStudentId(Long studentId) {
+        return findInBoth(" WHERE e.student.id = :studentId", Map.of("studentId", studentId), true);
+    }
+    
+    @Override
+    public List<Enrollment> findByCourseId(Long courseId) {
+        return findInBoth(" WHERE e.course.id = :courseId", Map.of("courseId", courseId), true);
+    }
+    
+    @Override
+    public Optional<Enrollment> findByStudentIdAndCourseId(Long studentId, Long courseId) {
+        return findInBoth(" WHERE e.student.id = :studentId AND e.course.id = :courseId",
+                Map.of("studentId", studentId, "courseId", courseId), true).stream().findFirst();
+    }
+    
+    @Override
+    public List<Enrollment> findByStatus(Enrollment.EnrollmentStatus status) {
+        return findInBoth(" WHERE e.status = :status", Map.of("status", status), status.isTerminal());
+    }
+    
+    @Override
+    public List<Enrollment> findEnrollmentsWithGrades() {
+        return findInBoth(" WHERE e.grade IS NOT NULL", Map.of(), true);
+    }
+    
+    @Override
+    public List<Enrollment> findByStudentIdAndStatus(Long studentId, Enrollment.EnrollmentStatus status) {
+        return findInBoth(" WHERE e.student.id = :studentId AND e.status = :status",
+                Map.of("studentId", studentId, "status", status), status.isTerminal());
+    }
+    
+    @Override
+    public List<Object[]> findStudentCoursePairsByStatusIn(Collection<Enrollment.EnrollmentStatus> statuses) {
+        String where = " e WHERE e.status IN :statuses";
+        List<Object[]> pairs = new ArrayList<>(entityManager
+                .createQuery("SELECT e.student.id, e.course.id FROM Enrollment" + where, Object[].class)
+                .setParameter("statuses", statuses)
+                .getResultList());
+        if (anyTerminal(statuses)) {
+            pairs.addAll(entityManager
+                    .createQuery("SELECT e.student.id, e.course.id FROM EnrollmentHistory" + where, Object[].class)
+                    .setParameter("statuses", statuses)
+                    .getResultList());
+        }
+        return pairs;
+    }
+    
+    @Override
+    public List<Long> findCourseIdsByStudentIdAndStatusIn(Long studentId, Collection<Enrollment.EnrollmentStatus> statuses) {
+        String where = " e WHERE e.student.id = :studentId AND e.status IN :statuses";
+        List<Long> courseIds = new ArrayList<>(entityManager
+                .createQuery("SELECT e.course.id FROM Enrollment" + where, Long.class)
+                .setParameter("studentId", studentId)
+                .setParameter("statuses", statuses)
+                .getResultList());
+        if (anyTerminal(statuses)) {
+            courseIds.addAll(entityManager
+                    .createQuery("SELECT e.course.id FROM EnrollmentHistory" + where, Long.class)
+                    .setParameter("studentId", studentId)
+                    .setParameter("statuses", statuses)
+                    .getResultList());
+        }
+        return courseIds;
+    }
+    
+    @Override
+    public List<Object[]> summarizeStandingByStudentIdBetween(Long fromId, Long toId) {
+        String rest = " e JOIN e.course c WHERE e.student.id BETWEEN :fromId AND :toId GROUP BY e.student.id";
+        List<Object[]> rows = new ArrayList<>();
+        for (String entity : List.of("Enrollment", "EnrollmentHistory")) {
+            rows.addAll(entityManager.createQuery(STANDING + " FROM " + entity + rest, Object[].class)
+                    .setParameter("fromId", fromId)
+                    .setParameter("toId", toId)
+                    .getResultList());
+        }
+        return rows;
+    }
+    
+    @Override
+    public boolean existsByStudentIdAndCourseId(Long studentId, Long courseId) {
+        String where = " e WHERE e.student.id = :studentId AND e.course.id = :courseId";
+        for (String entity : List.of("Enrollment", "EnrollmentHistory")) {
+            Long count = entityManager.createQuery("SELECT COUNT(e) FROM " + entity + where, Long.class)
+                    .setParameter("studentId", studentId)
+                    .setParameter("courseId", courseId)
+                    .getSingleResult();
+            if (count > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    // Runs the same filter against the hot table and, if asked, the history table; results are in id order
+    private List<Enrollment> findInBoth(String where, Map<String, Object> parameters, boolean includeHistory) {
+        TypedQuery<Enrollment> hot = entityManager.createQuery("SELECT e FROM Enrollment" + FETCH + where, Enrollment.class);
+        parameters.forEach(hot::setParameter);
+        List<Enrollment> enrollments = new ArrayList<>(hot.getResultList());
+        if (!includeHistory) {
+            return enrollments;
+        }
+        
+        TypedQuery<EnrollmentHistory> cold = entityManager.createQuery(
+                "SELECT e FROM EnrollmentHistory" + FETCH + where, EnrollmentHistory.class);
+        parameters.forEach(cold::setParameter);
+        List<EnrollmentHistory> archived = cold.getResultList();
+        if (archived.isEmpty()) {
+            return enrollments;
+        }
+        archived.forEach(history -> enrollments.add(history.toEnrollment()));
+        enrollments.sort(Comparator.comparing(Enrollment::getId));
+        return enrollments;
+    }
+    
+    private static boolean anyTerminal(Collection<Enrollment.EnrollmentStatus> statuses) {
+        return statuses.stream().anyMatch(Enrollment.EnrollmentStatus::isTerminal);
+    }
+}
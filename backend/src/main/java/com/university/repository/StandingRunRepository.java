@@ -0,0 +1,14 @@
+package com.university.repository;
+
+import com.university.entity.StandingRun;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface StandingRunRepository extends JpaRepository<StandingRun, Long> {
+    
+    // Find all runs, newest first
+    List<StandingRun> findAllByOrderByIdDesc();
+}
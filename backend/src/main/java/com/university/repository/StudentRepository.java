@@ -1,11 +1,15 @@
 package com.university.repository;
 
+import com.university.coalescing.CoalescedRead;
 import com.university.entity.Student;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,16 +23,39 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     Optional<Student> findByStudentId(String studentId);
     
     // Find students by name (first or last name containing)
+    @CoalescedRead
     @Query("SELECT s FROM Student s WHERE LOWER(s.firstName) LIKE LOWER(CONCAT('%', :name, '%')) OR LOWER(s.lastName) LIKE LOWER(CONCAT('%', :name, '%'))")
     List<Student> findByNameContainingIgnoreCase(@Param("name") String name);
     
     // Find students by academic status
+    @CoalescedRead
     List<Student> findByAcademicStatus(Student.AcademicStatus status);
     
     // Find students enrolled in a specific course
+    @CoalescedRead
     @Query("SELECT s FROM Student s JOIN s.enrollments e WHERE e.course.id = :courseId")
     List<Student> findStudentsByCourseId(@Param("courseId") Long courseId);
     
+    // Find (email, student id) of every student
+    @Query("SELECT s.email, s.studentId FROM Student s")
+    List<Object[]> findAllEmailsAndStudentIds();
+    
+    // Count students per academic status as (status, count)
+    @Query("SELECT s.academicStatus, COUNT(s) FROM Student s GROUP BY s.academicStatus")
+    List<Object[]> countByAcademicStatus();
+    
+    // Find (id, academic status, enrollment date) of the next students after an id, in id order
+    @Query("SELECT s.id, s.academicStatus, s.enrollmentDate FROM Student s WHERE s.id > :afterId ORDER BY s.id")
+    List<Object[]> findStandingInputsAfter(@Param("afterId") Long afterId, Pageable pageable);
+    
+    // Count students after an id
+    long countByIdGreaterThan(Long id);
+    
+    // Set the academic status of several students in one statement
+    @Modifying
+    @Query("UPDATE Student s SET s.academicStatus = :status WHERE s.id IN :ids")
+    int updateAcademicStatus(@Param("ids") Collection<Long> ids, @Param("status") Student.AcademicStatus status);
+    
     // Check if email exists
     boolean existsByEmail(String email);
     
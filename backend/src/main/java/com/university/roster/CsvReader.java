@@ -0,0 +1,117 @@
+package com.university.roster;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Streaming RFC 4180 reader: comma-separated fields, optionally double-quoted, with "" for a quote
+// and line breaks allowed inside quotes. Reads one record at a time, so a file of any size is
+// parsed in constant memory.
+final class CsvReader {
+
+    private final Reader in;
+
+    private final char[] buffer = new char[8192];
+
+    private int position = 0;
+
+    private int limit = 0;
+
+    // Physical line the next character is on, and the line the last record started on
+    private long line = 1;
+
+    private long recordLine = 0;
+
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    long getRecordLine() {
+        return recordLine;
+    }
+
+    // The fields of the next record, or null at the end of the input; a quoted field left open at the
+    // end of the input is an IllegalArgumentException
+    List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        if (recordLine == 0 && c == '\uFEFF') {
+            // Byte order mark written by spreadsheet exports
+            c = read();
+        }
+        recordLine = line;
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        while (true) {
+            if (c == -1) {
+                if (quoted) {
+                    throw new IllegalArgumentException("Unterminated quoted field starting on line " + recordLine);
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            if (quoted) {
+                if (c == '"') {
+                    int following = peek();
+                    if (following == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0 && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                line++;
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position++];
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int count = in.read(buffer, 0, buffer.length);
+        if (count <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = count;
+        return true;
+    }
+}
@@ -0,0 +1,65 @@
+package com.university.roster;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "roster.import")
+public class RosterImportProperties {
+
+    // Rows parsed and validated together by one worker
+    private int chunkSize = 1000;
+
+    // Workers validating chunks at the same time, shared by all imports
+    private int parallelism = 4;
+
+    // Rows per JDBC batch; each batch is inserted in its own transaction
+    private int batchSize = 500;
+
+    // Error reports kept for download; older ones are dropped
+    private int retainedReports = 20;
+
+    // Errors included in the import response itself; the full list is in the error report
+    private int sampleErrors = 20;
+
+    // Getters and Setters
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public int getRetainedReports() {
+        return retainedReports;
+    }
+
+    public void setRetainedReports(int retainedReports) {
+        this.retainedReports = retainedReports;
+    }
+
+    public int getSampleErrors() {
+        return sampleErrors;
+    }
+
+    public void setSampleErrors(int sampleErrors) {
+        this.sampleErrors = sampleErrors;
+    }
+}
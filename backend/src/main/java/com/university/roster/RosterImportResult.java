@@ -0,0 +1,80 @@
+package com.university.roster;
+
+import java.util.List;
+
+// Outcome of one roster import. Every data row is counted exactly once: imported, invalid,
+// duplicate or failed (its insert batch was rolled back).
+public class RosterImportResult {
+
+    private final String id;
+
+    private final long rows;
+
+    private final long imported;
+
+    private final long invalid;
+
+    private final long duplicates;
+
+    private final long failed;
+
+    private final long elapsedMillis;
+
+    // Where the full error list can be downloaded as CSV; null when every row was imported
+    private final String errorReport;
+
+    private final List<RosterRowError> sampleErrors;
+
+    public RosterImportResult(String id, long rows, long imported, long invalid, long duplicates, long failed,
+                              long elapsedMillis, String errorReport, List<RosterRowError> sampleErrors) {
+        this.id = id;
+        this.rows = rows;
+        this.imported = imported;
+        this.invalid = invalid;
+        this.duplicates = duplicates;
+        this.failed = failed;
+        this.elapsedMillis = elapsedMillis;
+        this.errorReport = errorReport;
+        this.sampleErrors = sampleErrors;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public long getRows() {
+        return rows;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getInvalid() {
+        return invalid;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis > 0 ? rows * 1000.0 / elapsedMillis : rows;
+    }
+
+    public String getErrorReport() {
+        return errorReport;
+    }
+
+    public List<RosterRowError> getSampleErrors() {
+        return sampleErrors;
+    }
+}
@@ -0,0 +1,522 @@
+package com.university.roster;
+
+import com.university.entity.Student;
+import com.university.event.StudentChangedEvent;
+import com.university.membership.UniquenessFilters;
+import com.university.repository.StudentRepository;
+import com.university.tenant.TenantContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bulk student import from CSV. The upload is read one record at a time; chunks of records are
+// parsed and Bean-validated on a shared worker pool while the request thread keeps reading. Results
+// are taken back in file order, so deduplication of emails and student ids (against the tenant's
+// existing students, loaded once, and against earlier rows of the file) is sequential and the first
+// occurrence wins. Accepted rows are inserted with plain JDBC batches, one transaction per batch,
+// since Hibernate cannot batch inserts of IDENTITY ids.
+@Service
+public class RosterImporter {
+
+    private static final Logger log = LoggerFactory.getLogger(RosterImporter.class);
+
+    private static final String INSERT = "INSERT INTO students (tenant_id, first_name, last_name, email, student_id, "
+            + "date_of_birth, phone_number, enrollment_date, academic_status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> REQUIRED = List.of("firstName", "lastName", "email", "studentId");
+
+    private static final List<String> OPTIONAL = List.of("dateOfBirth", "phoneNumber", "enrollmentDate", "academicStatus");
+
+    @Autowired
+    private RosterImportProperties properties;
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Autowired
+    private UniquenessFilters uniqueness;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private ExecutorService workers;
+
+    // Import id -> its error report, oldest first
+    private final Map<String, ErrorReport> reports = new LinkedHashMap<>();
+
+    private Timer importTimer;
+
+    private final Map<String, Counter> rowCounters = new HashMap<>();
+
+    @PostConstruct
+    void init() {
+        AtomicInteger count = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(Math.max(1, properties.getParallelism()), r -> {
+            Thread thread = new Thread(r, "roster-import-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        importTimer = Timer.builder("roster.import").register(meterRegistry);
+        for (String outcome : List.of("imported", "invalid", "duplicate", "failed")) {
+            rowCounters.put(outcome, Counter.builder("roster.import.rows").tag("outcome", outcome).register(meterRegistry));
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // Imports every valid, new student in the file. The first record must name the columns; a header
+    // without the required columns, or with unknown ones, is an IllegalArgumentException.
+    public RosterImportResult importCsv(Reader input) throws IOException {
+        long start = System.nanoTime();
+        CsvReader csv = new CsvReader(input);
+        Map<String, Integer> columns = columns(csv.next());
+        Import run = new Import();
+
+        Deque<Future<List<ParsedRow>>> inFlight = new ArrayDeque<>();
+        List<RawRow> chunk = new ArrayList<>();
+        int window = Math.max(1, properties.getParallelism()) * 2;
+        try {
+            List<String> fields;
+            while ((fields = nextRecord(csv, run)) != null) {
+                if (fields.size() == 1 && fields.get(0).isBlank()) {
+                    continue;
+                }
+                run.rows++;
+                chunk.add(new RawRow(csv.getRecordLine(), fields));
+                if (chunk.size() >= properties.getChunkSize()) {
+                    List<RawRow> full = chunk;
+                    inFlight.add(workers.submit(() -> parse(columns, full)));
+                    chunk = new ArrayList<>();
+                    while (inFlight.size() > window) {
+                        run.accept(await(inFlight.poll()));
+                    }
+                }
+            }
+            if (!chunk.isEmpty()) {
+                List<RawRow> last = chunk;
+                inFlight.add(workers.submit(() -> parse(columns, last)));
+            }
+            while (!inFlight.isEmpty()) {
+                run.accept(await(inFlight.poll()));
+            }
+            run.flush();
+        } finally {
+            inFlight.forEach(future -> future.cancel(true));
+        }
+
+        long elapsed = System.nanoTime() - start;
+        importTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        rowCounters.get("imported").increment(run.imported);
+        rowCounters.get("invalid").increment(run.invalid);
+        rowCounters.get("duplicate").increment(run.duplicates);
+        rowCounters.get("failed").increment(run.failed);
+
+        String id = UUID.randomUUID().toString();
+        run.errors.sort(Comparator.comparingLong(RosterRowError::getLine));
+        if (!run.errors.isEmpty()) {
+            store(id, run.errors);
+        }
+        log.info("Roster import {}: {} rows, {} imported, {} invalid, {} duplicates, {} failed in {} ms", id,
+                run.rows, run.imported, run.invalid, run.duplicates, run.failed, elapsed / 1_000_000);
+        return new RosterImportResult(id, run.rows, run.imported, run.invalid, run.duplicates, run.failed,
+                elapsed / 1_000_000, run.errors.isEmpty() ? null : "/api/students/import/" + id + "/errors",
+                List.copyOf(run.errors.subList(0, Math.min(properties.getSampleErrors(), run.errors.size()))));
+    }
+
+    // The error report of a recent import of the current tenant as CSV (line,field,value,message)
+    public Optional<String> errorReport(String id) {
+        ErrorReport report;
+        synchronized (reports) {
+            report = reports.get(id);
+        }
+        if (report == null || !report.tenant.equals(TenantContext.current())) {
+            return Optional.empty();
+        }
+        StringBuilder csv = new StringBuilder("line,field,value,message\n");
+        for (RosterRowError error : report.errors) {
+            csv.append(error.getLine()).append(',')
+                    .append(escape(error.getField())).append(',')
+                    .append(escape(error.getValue())).append(',')
+                    .append(escape(error.getMessage())).append('\n');
+        }
+        return Optional.of(csv.toString());
+    }
+
+    private void store(String id, List<RosterRowError> errors) {
+        synchronized (reports) {
+            reports.put(id, new ErrorReport(TenantContext.current(), errors));
+            while (reports.size() > Math.max(1, properties.getRetainedReports())) {
+                reports.remove(reports.keySet().iterator().next());
+            }
+        }
+    }
+
+    // A record the reader cannot finish (an unterminated quote) is reported and ends the file
+    private static List<String> nextRecord(CsvReader csv, Import run) throws IOException {
+        try {
+            return csv.next();
+        } catch (IllegalArgumentException e) {
+            run.rows++;
+            run.invalid++;
+            run.errors.add(new RosterRowError(csv.getRecordLine(), null, null, e.getMessage()));
+            return null;
+        }
+    }
+
+    // Column name -> index, accepting firstName, first_name, "First Name" and so on
+    private static Map<String, Integer> columns(List<String> header) {
+        if (header == null) {
+            throw new IllegalArgumentException("The file is empty");
+        }
+        Map<String, String> known = new HashMap<>();
+        for (String column : REQUIRED) {
+            known.put(normalize(column), column);
+        }
+        for (String column : OPTIONAL) {
+            known.put(normalize(column), column);
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = known.get(normalize(header.get(i)));
+            if (column == null) {
+                throw new IllegalArgumentException("Unknown column '" + header.get(i) + "'; expected " + REQUIRED
+                        + " and optionally " + OPTIONAL);
+            }
+            columns.put(column, i);
+        }
+        for (String column : REQUIRED) {
+            if (!columns.containsKey(column)) {
+                throw new IllegalArgumentException("Missing column '" + column + "'");
+            }
+        }
+        return columns;
+    }
+
+    private static String normalize(String column) {
+        return column.replaceAll("[^A-Za-z0-9]", "").toLowerCase(Locale.ROOT);
+    }
+
+    // Runs on a worker: turns records into students and collects every parse and validation error
+    private List<ParsedRow> parse(Map<String, Integer> columns, List<RawRow> rows) {
+        List<ParsedRow> parsed = new ArrayList<>(rows.size());
+        for (RawRow row : rows) {
+            List<RosterRowError> errors = new ArrayList<>();
+            if (row.fields.size() > columns.size()) {
+                errors.add(new RosterRowError(row.line, null, null,
+                        "Expected " + columns.size() + " fields but found " + row.fields.size()));
+                parsed.add(new ParsedRow(row.line, null, errors));
+                continue;
+            }
+            Student student = new Student();
+            student.setFirstName(value(row, columns, "firstName"));
+            student.setLastName(value(row, columns, "lastName"));
+            student.setEmail(value(row, columns, "email"));
+            student.setStudentId(value(row, columns, "studentId"));
+            student.setPhoneNumber(value(row, columns, "phoneNumber"));
+            student.setDateOfBirth(date(row, columns, "dateOfBirth", null, errors));
+            student.setEnrollmentDate(date(row, columns, "enrollmentDate", LocalDate.now(), errors));
+            String status = value(row, columns, "academicStatus");
+            if (status != null) {
+                try {
+                    student.setAcademicStatus(Student.AcademicStatus.valueOf(status.toUpperCase(Locale.ROOT)));
+                } catch (IllegalArgumentException e) {
+                    errors.add(new RosterRowError(row.line, "academicStatus", status,
+                            "must be one of " + Arrays.toString(Student.AcademicStatus.values())));
+                }
+            }
+            // The entity only constrains the format of these two; the columns are NOT NULL
+            for (String required : List.of("email", "studentId")) {
+                if (value(row, columns, required) == null) {
+                    errors.add(new RosterRowError(row.line, required, null, "is required"));
+                }
+            }
+            for (ConstraintViolation<Student> violation : validator.validate(student)) {
+                Object invalid = violation.getInvalidValue();
+                errors.add(new RosterRowError(row.line, violation.getPropertyPath().toString(),
+                        invalid != null ? invalid.toString() : null, violation.getMessage()));
+            }
+            parsed.add(new ParsedRow(row.line, errors.isEmpty() ? student : null, errors));
+        }
+        return parsed;
+    }
+
+    private static String value(RawRow row, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= row.fields.size()) {
+            return null;
+        }
+        String value = row.fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static LocalDate date(RawRow row, Map<String, Integer> columns, String column, LocalDate fallback,
+                                  List<RosterRowError> errors) {
+        String value = value(row, columns, column);
+        if (value == null) {
+            return fallback;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            errors.add(new RosterRowError(row.line, column, value, "must be a date like 2005-09-01"));
+            return fallback;
+        }
+    }
+
+    private static List<ParsedRow> await(Future<List<ParsedRow>> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Roster import interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Roster chunk could not be parsed", e.getCause());
+        }
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.contains(",") || value.contains("\"") || value.contains("\n") || value.contains("\r")) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static final class RawRow {
+
+        private final long line;
+
+        private final List<String> fields;
+
+        RawRow(long line, List<String> fields) {
+            this.line = line;
+            this.fields = fields;
+        }
+    }
+
+    private static final class ParsedRow {
+
+        private final long line;
+
+        // Null when the row has errors
+        private final Student student;
+
+        private final List<RosterRowError> errors;
+
+        ParsedRow(long line, Student student, List<RosterRowError> errors) {
+            this.line = line;
+            this.student = student;
+            this.errors = errors;
+        }
+    }
+
+    private static final class ErrorReport {
+
+        private final String tenant;
+
+        private final List<RosterRowError> errors;
+
+        ErrorReport(String tenant, List<RosterRowError> errors) {
+            this.tenant = tenant;
+            this.errors = errors;
+        }
+    }
+
+    // State of one import, only touched by the request thread
+    private final class Import {
+
+        private final TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        private final Set<String> existingEmails = new HashSet<>();
+
+        private final Set<String> existingStudentIds = new HashSet<>();
+
+        // Value -> line of its first occurrence in the file
+        private final Map<String, Long> fileEmails = new HashMap<>();
+
+        private final Map<String, Long> fileStudentIds = new HashMap<>();
+
+        private final List<ParsedRow> batch = new ArrayList<>();
+
+        private final List<RosterRowError> errors = new ArrayList<>();
+
+        private long rows;
+
+        private long imported;
+
+        private long invalid;
+
+        private long duplicates;
+
+        private long failed;
+
+        Import() {
+            for (Object[] student : studentRepo.findAllEmailsAndStudentIds()) {
+                existingEmails.add((String) student[0]);
+                existingStudentIds.add((String) student[1]);
+            }
+        }
+
+        void accept(List<ParsedRow> parsed) {
+            for (ParsedRow row : parsed) {
+                if (row.student == null) {
+                    invalid++;
+                    errors.addAll(row.errors);
+                } else if (isNew(row)) {
+                    batch.add(row);
+                    if (batch.size() >= properties.getBatchSize()) {
+                        flush();
+                    }
+                } else {
+                    duplicates++;
+                }
+            }
+        }
+
+        private boolean isNew(ParsedRow row) {
+            String email = row.student.getEmail();
+            String studentId = row.student.getStudentId();
+            boolean isNew = unique(row.line, "email", email, existingEmails, fileEmails);
+            isNew &= unique(row.line, "studentId", studentId, existingStudentIds, fileStudentIds);
+            if (isNew) {
+                fileEmails.put(email, row.line);
+                fileStudentIds.put(studentId, row.line);
+            }
+            return isNew;
+        }
+
+        private boolean unique(long line, String field, String value, Set<String> existing, Map<String, Long> inFile) {
+            if (existing.contains(value)) {
+                errors.add(new RosterRowError(line, field, value, "already exists"));
+                return false;
+            }
+            Long first = inFile.get(value);
+            if (first != null) {
+                errors.add(new RosterRowError(line, field, value, "duplicate of line " + first));
+                return false;
+            }
+            return true;
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            List<ParsedRow> rows = new ArrayList<>(batch);
+            batch.clear();
+            // Like single creates, filters learn the values before the rows are written
+            for (ParsedRow row : rows) {
+                uniqueness.addStudent(row.student.getEmail(), row.student.getStudentId());
+            }
+            long[] ids;
+            try {
+                ids = transaction.execute(status -> insert(rows));
+            } catch (DataAccessException e) {
+                // A concurrent create can take a value between our key load and this batch
+                String reason = "Not inserted: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                for (ParsedRow row : rows) {
+                    errors.add(new RosterRowError(row.line, null, null, reason));
+                }
+                failed += rows.size();
+                log.warn("Roster import batch of {} rows failed", rows.size(), e);
+                return;
+            }
+            for (int i = 0; i < rows.size(); i++) {
+                events.publishEvent(new StudentChangedEvent(ids[i], null, rows.get(i).student.getAcademicStatus()));
+            }
+            imported += rows.size();
+        }
+
+        private long[] insert(List<ParsedRow> rows) {
+            String tenant = TenantContext.current();
+            return jdbcTemplate.execute((ConnectionCallback<long[]>) connection -> {
+                try (PreparedStatement statement = connection.prepareStatement(INSERT, new String[] {"id"})) {
+                    for (ParsedRow row : rows) {
+                        Student student = row.student;
+                        statement.setString(1, tenant);
+                        statement.setString(2, student.getFirstName());
+                        statement.setString(3, student.getLastName());
+                        statement.setString(4, student.getEmail());
+                        statement.setString(5, student.getStudentId());
+                        statement.setObject(6, student.getDateOfBirth());
+                        statement.setString(7, student.getPhoneNumber());
+                        statement.setObject(8, student.getEnrollmentDate());
+                        statement.setString(9, student.getAcademicStatus().name());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    long[] ids = new long[rows.size()];
+                    int i = 0;
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        while (keys.next() && i < ids.length) {
+                            ids[i++] = keys.getLong(1);
+                        }
+                    }
+                    if (i != ids.length) {
+                        throw new IllegalStateException("The driver returned " + i + " ids for " + ids.length + " rows");
+                    }
+                    return ids;
+                }
+            });
+        }
+    }
+}
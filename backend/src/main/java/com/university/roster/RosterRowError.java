@@ -0,0 +1,38 @@
+package com.university.roster;
+
+// Why one row of a roster file was not imported
+public class RosterRowError {
+
+    // Line of the file the row starts on; the header is line 1
+    private final long line;
+
+    // Column the problem is in, or null when it concerns the whole row
+    private final String field;
+
+    private final String value;
+
+    private final String message;
+
+    public RosterRowError(long line, String field, String value, String message) {
+        this.line = line;
+        this.field = field;
+        this.value = value;
+        this.message = message;
+    }
+
+    public long getLine() {
+        return line;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
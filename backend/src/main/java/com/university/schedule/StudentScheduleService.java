@@ -0,0 +1,94 @@
+package com.university.schedule;
+
+import com.university.cluster.ClusterService;
+import com.university.entity.Course;
+import com.university.entity.Enrollment;
+import com.university.event.ChangeType;
+import com.university.event.CourseChangedEvent;
+import com.university.event.EnrollmentChangedEvent;
+import com.university.repository.EnrollmentRepository;
+import com.university.tenant.TenantContext;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Keeps each student's committed timetable (OR of the schedules of their ENROLLED courses)
+// in memory, so a clash check on enroll is 32 word-wise ANDs instead of a query. Schedules are
+// kept per tenant; invalidations apply to the tenant that is current when they arrive.
+@Service
+public class StudentScheduleService {
+
+    public static final String CACHE = "student-schedule";
+
+    // Key used to drop every cached schedule, e.g. after a course's meeting times changed
+    private static final String ALL = "*";
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    @Autowired
+    private ClusterService clusterService;
+
+    // Tenant -> student id -> committed timetable
+    private final Map<String, Map<Long, WeeklySchedule>> schedules = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void registerInvalidation() {
+        clusterService.registerInvalidationListener(CACHE, key -> {
+            if (ALL.equals(key)) {
+                schedules.remove(TenantContext.current());
+            } else {
+                tenantSchedules().remove(Long.valueOf(key));
+            }
+        });
+    }
+
+    public WeeklySchedule getSchedule(Long studentId) {
+        // computeIfAbsent holds the entry while loading, so a concurrent eviction waits for the
+        // load to finish and then removes it instead of being overwritten by a stale value
+        return tenantSchedules().computeIfAbsent(studentId, this::load);
+    }
+
+    public boolean conflictsWith(Long studentId, Course course) {
+        WeeklySchedule courseSchedule = course.getSchedule();
+        return !courseSchedule.isEmpty() && getSchedule(studentId).intersects(courseSchedule);
+    }
+
+    public List<Course> fitting(Long studentId, List<Course> courses) {
+        WeeklySchedule committed = getSchedule(studentId);
+        return courses.stream()
+                .filter(course -> !committed.intersects(course.getSchedule()))
+                .toList();
+    }
+
+    private Map<Long, WeeklySchedule> tenantSchedules() {
+        return schedules.computeIfAbsent(TenantContext.current(), tenant -> new ConcurrentHashMap<>());
+    }
+
+    private WeeklySchedule load(Long studentId) {
+        WeeklySchedule schedule = WeeklySchedule.EMPTY;
+        for (byte[] mask : enrollmentRepo.findScheduleMasksByStudentIdAndStatus(studentId, Enrollment.EnrollmentStatus.ENROLLED)) {
+            schedule = schedule.or(WeeklySchedule.fromBytes(mask));
+        }
+        return schedule;
+    }
+
+    @EventListener
+    public void onEnrollmentChanged(EnrollmentChangedEvent event) {
+        if (event.touches(Enrollment.EnrollmentStatus.ENROLLED)) {
+            clusterService.invalidate(CACHE, event.getStudentId().toString());
+        }
+    }
+
+    @EventListener
+    public void onCourseChanged(CourseChangedEvent event) {
+        if (event.getType() != ChangeType.CREATED) {
+            clusterService.invalidate(CACHE, ALL);
+        }
+    }
+}
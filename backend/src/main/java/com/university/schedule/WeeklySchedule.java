@@ -0,0 +1,111 @@
+package com.university.schedule;
+
+import com.university.entity.MeetingSlot;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+
+// Immutable weekly timetable as a bitset of 5-minute slots (7 days x 288 slots = 2016 bits,
+// 32 longs). Two schedules clash when any word ANDs to non-zero.
+public final class WeeklySchedule {
+
+    public static final int SLOT_MINUTES = 5;
+
+    public static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    public static final int SLOTS = 7 * SLOTS_PER_DAY;
+
+    public static final int WORDS = (SLOTS + 63) / 64;
+
+    public static final int BYTES = WORDS * Long.BYTES;
+
+    public static final WeeklySchedule EMPTY = new WeeklySchedule(new long[WORDS]);
+
+    private final long[] words;
+
+    private WeeklySchedule(long[] words) {
+        this.words = words;
+    }
+
+    // Slots are widened outwards to the 5-minute grid, so 9:02-9:58 occupies 9:00-10:00
+    public static WeeklySchedule of(Collection<MeetingSlot> slots) {
+        if (slots == null || slots.isEmpty()) {
+            return EMPTY;
+        }
+        long[] words = new long[WORDS];
+        for (MeetingSlot slot : slots) {
+            if (slot.getDayOfWeek() == null || slot.getStartTime() == null || slot.getEndTime() == null) {
+                continue;
+            }
+            int dayOffset = (slot.getDayOfWeek().getValue() - 1) * SLOTS_PER_DAY;
+            int startMinute = slot.getStartTime().getHour() * 60 + slot.getStartTime().getMinute();
+            int endMinute = slot.getEndTime().getHour() * 60 + slot.getEndTime().getMinute()
+                    + (slot.getEndTime().getSecond() > 0 ? 1 : 0);
+            int from = dayOffset + startMinute / SLOT_MINUTES;
+            int to = dayOffset + (endMinute + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            for (int bit = from; bit < to; bit++) {
+                words[bit >>> 6] |= 1L << bit;
+            }
+        }
+        return new WeeklySchedule(words);
+    }
+
+    public static WeeklySchedule fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return EMPTY;
+        }
+        long[] words = new long[WORDS];
+        ByteBuffer.wrap(bytes).asLongBuffer().get(words, 0, Math.min(WORDS, bytes.length / Long.BYTES));
+        return new WeeklySchedule(words);
+    }
+
+    // Null for an empty schedule so courses without meeting times store nothing
+    public byte[] toBytes() {
+        if (isEmpty()) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(BYTES);
+        buffer.asLongBuffer().put(words);
+        return buffer.array();
+    }
+
+    public boolean intersects(WeeklySchedule other) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & other.words[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public WeeklySchedule or(WeeklySchedule other) {
+        if (other.isEmpty()) {
+            return this;
+        }
+        long[] merged = new long[WORDS];
+        for (int i = 0; i < WORDS; i++) {
+            merged[i] = words[i] | other.words[i];
+        }
+        return new WeeklySchedule(merged);
+    }
+
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof WeeklySchedule && Arrays.equals(words, ((WeeklySchedule) o).words);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+}
@@ -0,0 +1,55 @@
+package com.university.sql;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.Set;
+
+// Locates the application frame that caused a statement, e.g. "EnrollmentController.getAllEnrollments:52".
+// Inside a repository method that is the caller of the repository proxy, so the advice wrapped around
+// repositories (read coalescing, tenant checks, ...) is skipped. Otherwise it is the first com.university
+// frame outside this package and outside generated proxies.
+final class CallSite {
+
+    private static final StackWalker WALKER = StackWalker.getInstance(Set.of(StackWalker.Option.RETAIN_CLASS_REFERENCE), 64);
+
+    private static final String APPLICATION_PACKAGE = "com.university.";
+
+    private static final String SQL_PACKAGE = "com.university.sql.";
+
+    private CallSite() {}
+
+    static String find() {
+        String repositoryMethod = RepositoryMethodContext.current();
+        if (repositoryMethod != null) {
+            String method = repositoryMethod.substring(repositoryMethod.lastIndexOf('.') + 1);
+            Optional<String> caller = WALKER.walk(frames -> frames
+                    .dropWhile(frame -> !isRepositoryProxy(frame, method))
+                    .filter(CallSite::isApplication)
+                    .findFirst()
+                    .map(CallSite::describe));
+            if (caller.isPresent()) {
+                return caller.get();
+            }
+        }
+        return WALKER.walk(frames -> frames
+                .filter(frame -> isApplication(frame) && !frame.getClassName().startsWith(SQL_PACKAGE))
+                .findFirst()
+                .map(CallSite::describe)
+                .orElse("-"));
+    }
+
+    // Spring Data repositories are JDK proxies; the innermost one running the method is the boundary
+    private static boolean isRepositoryProxy(StackWalker.StackFrame frame, String method) {
+        return Proxy.isProxyClass(frame.getDeclaringClass()) && frame.getMethodName().equals(method);
+    }
+
+    private static boolean isApplication(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        return className.startsWith(APPLICATION_PACKAGE) && !className.contains("$$");
+    }
+
+    private static String describe(StackWalker.StackFrame frame) {
+        String className = frame.getClassName();
+        return className.substring(className.lastIndexOf('.') + 1) + "." + frame.getMethodName() + ":" + frame.getLineNumber();
+    }
+}
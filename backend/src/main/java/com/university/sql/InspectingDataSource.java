@@ -0,0 +1,140 @@
+package com.university.sql;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+// Data source decorator that times every executed statement and reports it, together with its
+// bind count and originating repository method, to the registered StatementListeners
+public class InspectingDataSource extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+            "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private volatile List<StatementListener> listeners = List.of();
+
+    public InspectingDataSource(DataSource target) {
+        super(target);
+    }
+
+    public void setListeners(List<StatementListener> listeners) {
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private void publish(StatementExecution execution) {
+        for (StatementListener listener : listeners) {
+            listener.onStatement(execution);
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InspectingDataSource.invoke(target, method, args);
+            String name = method.getName();
+            if (result instanceof Statement statement
+                    && ("prepareStatement".equals(name) || "prepareCall".equals(name) || "createStatement".equals(name))) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : null;
+                Class<?> type = statement instanceof CallableStatement ? CallableStatement.class
+                        : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+                return Proxy.newProxyInstance(InspectingDataSource.class.getClassLoader(), new Class<?>[]{type},
+                        new StatementHandler(statement, sql));
+            }
+            return result;
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private int bindCount;
+        private Object[] bindValues = new Object[8];
+        private int batchSize;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                bind(index, "setNull".equals(name) ? null : args[1]);
+            } else if ("clearParameters".equals(name)) {
+                bindCount = 0;
+                Arrays.fill(bindValues, null);
+            } else if ("addBatch".equals(name)) {
+                batchSize++;
+            } else if (EXECUTE_METHODS.contains(name) && !listeners.isEmpty()) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                long start = System.nanoTime();
+                boolean failed = true;
+                try {
+                    Object result = InspectingDataSource.invoke(target, method, args);
+                    failed = false;
+                    return result;
+                } finally {
+                    int bindHash = Arrays.hashCode(Arrays.copyOf(bindValues, bindCount));
+                    publish(new StatementExecution(sql, bindCount, bindHash, batchSize, System.nanoTime() - start,
+                            RepositoryMethodContext.current(), failed));
+                    if (name.endsWith("Batch")) {
+                        batchSize = 0;
+                    }
+                }
+            }
+            return InspectingDataSource.invoke(target, method, args);
+        }
+
+        private void bind(int index, Object value) {
+            if (index > bindValues.length) {
+                bindValues = Arrays.copyOf(bindValues, Math.max(index, bindValues.length * 2));
+            }
+            if (index >= 1) {
+                bindValues[index - 1] = value;
+                bindCount = Math.max(bindCount, index);
+            }
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.university.sql;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+// Records the statements of each HTTP request and logs the ones that exceed the query budget or
+// repeat a statement shape with different bind values. Response serialization runs inside the
+// chain, so lazy loads triggered by Jackson are counted against the request too.
+@Component
+public class QueryBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryBudgetFilter.class);
+
+    @Autowired
+    private QueryBudgetProperties properties;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        QueryRecording recording = QueryRecorder.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            QueryRecorder.stop(recording);
+            report(request, recording);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryRecording recording) {
+        String endpoint = request.getMethod() + " " + request.getRequestURI();
+        List<RepeatedStatement> repeated = recording.findRepeatedStatements(properties.getRepeatThreshold());
+        if (!repeated.isEmpty()) {
+            log.warn("Possible N+1 in {}:\n  {}", endpoint,
+                    String.join("\n  ", repeated.stream().map(RepeatedStatement::toString).toList()));
+        }
+        if (recording.getStatementCount() > properties.getMaxStatements()) {
+            log.warn("{} executed {} statements (budget {}):\n{}", endpoint, recording.getStatementCount(),
+                    properties.getMaxStatements(), recording.describe());
+        }
+    }
+}
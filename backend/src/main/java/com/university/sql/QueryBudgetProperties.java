@@ -0,0 +1,43 @@
+package com.university.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "sql.query-budget")
+public class QueryBudgetProperties {
+
+    // Off by default; records every HTTP request and logs the ones that exceed the budget
+    private boolean enabled = false;
+
+    // Statements a single request may execute before a warning is logged
+    private int maxStatements = 10;
+
+    // Executions of one statement shape with differing bind values that count as N+1
+    private int repeatThreshold = 3;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxStatements() {
+        return maxStatements;
+    }
+
+    public void setMaxStatements(int maxStatements) {
+        this.maxStatements = maxStatements;
+    }
+
+    public int getRepeatThreshold() {
+        return repeatThreshold;
+    }
+
+    public void setRepeatThreshold(int repeatThreshold) {
+        this.repeatThreshold = repeatThreshold;
+    }
+}
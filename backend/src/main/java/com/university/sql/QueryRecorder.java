@@ -0,0 +1,37 @@
+package com.university.sql;
+
+import org.springframework.stereotype.Component;
+
+// Feeds executed statements into the recordings open on the current thread. Recordings nest: a
+// test scope and the HTTP request it performs both see the statements issued inside the request.
+@Component
+public class QueryRecorder implements StatementListener {
+
+    private static final ThreadLocal<QueryRecording> CURRENT = new ThreadLocal<>();
+
+    // Opens a recording on this thread; close it with stop() on the same thread
+    public static QueryRecording start() {
+        QueryRecording recording = new QueryRecording(CURRENT.get());
+        CURRENT.set(recording);
+        return recording;
+    }
+
+    public static void stop(QueryRecording recording) {
+        if (CURRENT.get() != recording) {
+            throw new IllegalStateException("Query recordings must be stopped in the order they were started");
+        }
+        if (recording.getParent() == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(recording.getParent());
+        }
+    }
+
+    @Override
+    public void onStatement(StatementExecution execution) {
+        QueryRecording recording = CURRENT.get();
+        if (recording != null) {
+            recording.record(new RecordedStatement(execution, CallSite.find()));
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.university.sql;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Statements executed on one thread between QueryRecorder.start() and stop()
+public class QueryRecording {
+
+    private final QueryRecording parent;
+
+    private final List<RecordedStatement> statements = new ArrayList<>();
+
+    QueryRecording(QueryRecording parent) {
+        this.parent = parent;
+    }
+
+    QueryRecording getParent() {
+        return parent;
+    }
+
+    void record(RecordedStatement statement) {
+        for (QueryRecording recording = this; recording != null; recording = recording.parent) {
+            recording.statements.add(statement);
+        }
+    }
+
+    public int getStatementCount() {
+        return statements.size();
+    }
+
+    public List<RecordedStatement> getStatements() {
+        return Collections.unmodifiableList(statements);
+    }
+
+    // Statement shapes run at least `threshold` times with at least two different sets of bind values.
+    // Re-running the exact same bindings is a caching problem rather than N+1, so it is not reported here.
+    public List<RepeatedStatement> findRepeatedStatements(int threshold) {
+        Map<String, List<RecordedStatement>> byShape = new LinkedHashMap<>();
+        for (RecordedStatement statement : statements) {
+            byShape.computeIfAbsent(statement.getNormalizedSql(), sql -> new ArrayList<>()).add(statement);
+        }
+
+        List<RepeatedStatement> repeated = new ArrayList<>();
+        byShape.forEach((sql, executions) -> {
+            if (executions.size() < threshold) {
+                return;
+            }
+            Set<Integer> bindings = new HashSet<>();
+            Set<String> origins = new LinkedHashSet<>();
+            for (RecordedStatement execution : executions) {
+                bindings.add(execution.getBindValuesHash());
+                origins.add(execution.getOrigin());
+            }
+            if (bindings.size() > 1) {
+                repeated.add(new RepeatedStatement(sql, executions.size(), bindings.size(), origins));
+            }
+        });
+        return repeated;
+    }
+
+    // Multi-line listing of every statement with its origin, for assertion messages and logs
+    public String describe() {
+        StringBuilder description = new StringBuilder();
+        for (int i = 0; i < statements.size(); i++) {
+            RecordedStatement statement = statements.get(i);
+            description.append("  ").append(i + 1).append(". ").append(statement.getNormalizedSql())
+                    .append("\n      from ").append(statement.getOrigin()).append('\n');
+        }
+        return description.toString();
+    }
+}
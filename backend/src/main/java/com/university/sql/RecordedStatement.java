@@ -0,0 +1,41 @@
+package com.university.sql;
+
+// A statement captured by a QueryRecording together with where in the application it came from
+public class RecordedStatement {
+
+    private final String normalizedSql;
+
+    private final int bindValuesHash;
+
+    private final String repositoryMethod;
+
+    private final String callSite;
+
+    RecordedStatement(StatementExecution execution, String callSite) {
+        this.normalizedSql = SqlNormalizer.normalize(execution.getSql());
+        this.bindValuesHash = execution.getBindValuesHash();
+        this.repositoryMethod = execution.getRepositoryMethod();
+        this.callSite = callSite;
+    }
+
+    public String getNormalizedSql() {
+        return normalizedSql;
+    }
+
+    public int getBindValuesHash() {
+        return bindValuesHash;
+    }
+
+    public String getRepositoryMethod() {
+        return repositoryMethod;
+    }
+
+    public String getCallSite() {
+        return callSite;
+    }
+
+    // "EnrollmentController.getAllEnrollments:52 via EnrollmentRepository.findAll"
+    public String getOrigin() {
+        return repositoryMethod == null ? callSite : callSite + " via " + repositoryMethod;
+    }
+}
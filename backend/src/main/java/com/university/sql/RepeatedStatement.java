@@ -0,0 +1,44 @@
+package com.university.sql;
+
+import java.util.Set;
+
+// One statement shape executed several times with different bind values within a recording,
+// the signature of an N+1 access pattern
+public class RepeatedStatement {
+
+    private final String normalizedSql;
+
+    private final int executions;
+
+    private final int distinctBindings;
+
+    private final Set<String> origins;
+
+    RepeatedStatement(String normalizedSql, int executions, int distinctBindings, Set<String> origins) {
+        this.normalizedSql = normalizedSql;
+        this.executions = executions;
+        this.distinctBindings = distinctBindings;
+        this.origins = origins;
+    }
+
+    public String getNormalizedSql() {
+        return normalizedSql;
+    }
+
+    public int getExecutions() {
+        return executions;
+    }
+
+    public int getDistinctBindings() {
+        return distinctBindings;
+    }
+
+    public Set<String> getOrigins() {
+        return origins;
+    }
+
+    @Override
+    public String toString() {
+        return executions + "x (" + distinctBindings + " distinct bindings) " + normalizedSql + "\n      from " + origins;
+    }
+}
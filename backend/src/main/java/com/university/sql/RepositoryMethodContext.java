@@ -0,0 +1,28 @@
+package com.university.sql;
+
+// Name of the repository method currently running on this thread, set by RepositoryMethodTracker
+public final class RepositoryMethodContext {
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private RepositoryMethodContext() {}
+
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    // Returns the previous value so nested repository calls can restore it
+    static String enter(String method) {
+        String previous = CURRENT.get();
+        CURRENT.set(method);
+        return previous;
+    }
+
+    static void restore(String previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.university.sql;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+// Adds an interceptor to every Spring Data repository proxy that records which repository
+// method is running, so executed statements can be attributed to it
+@Component
+public class RepositoryMethodTracker implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                    repositoryFactory.addRepositoryProxyPostProcessor((factory, repositoryInformation) -> {
+                        String repository = repositoryInformation.getRepositoryInterface().getSimpleName();
+                        factory.addAdvice(0, (MethodInterceptor) invocation -> {
+                            String previous = RepositoryMethodContext.enter(repository + "." + invocation.getMethod().getName());
+                            try {
+                                return invocation.proceed();
+                            } finally {
+                                RepositoryMethodContext.restore(previous);
+                            }
+                        });
+                    }));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,126 @@
+package com.university.sql;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Records statements above the latency threshold plus a random sample of the rest. The executing
+// thread only does a comparison and a non-blocking offer; normalization and logging happen on a
+// single writer thread, and entries that do not fit in the queue are dropped and counted.
+@Component
+public class SlowQueryLog implements StatementListener {
+
+    private static final Logger sqlLog = LoggerFactory.getLogger("sql.slow");
+
+    private static final Logger log = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    @Autowired
+    private SlowQueryLogProperties properties;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private BlockingQueue<Entry> queue;
+
+    private long thresholdNanos;
+
+    private Counter slowCounter;
+
+    private Counter sampledCounter;
+
+    private Counter droppedCounter;
+
+    private Thread writer;
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        thresholdNanos = properties.getThreshold().toNanos();
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        slowCounter = Counter.builder("sql.slowlog.recorded").tag("kind", "slow").register(meterRegistry);
+        sampledCounter = Counter.builder("sql.slowlog.recorded").tag("kind", "sampled").register(meterRegistry);
+        droppedCounter = Counter.builder("sql.slowlog.dropped").register(meterRegistry);
+        Gauge.builder("sql.slowlog.queue.size", queue, BlockingQueue::size).register(meterRegistry);
+
+        writer = new Thread(this::drain, "slow-query-log");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (writer != null) {
+            writer.interrupt();
+        }
+    }
+
+    @Override
+    public void onStatement(StatementExecution execution) {
+        if (queue == null) {
+            return;
+        }
+        boolean slow = execution.getDurationNanos() >= thresholdNanos;
+        if (!slow && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+            return;
+        }
+        if (queue.offer(new Entry(execution, slow))) {
+            (slow ? slowCounter : sampledCounter).increment();
+        } else {
+            droppedCounter.increment();
+        }
+    }
+
+    public long getDroppedCount() {
+        return droppedCounter == null ? 0 : (long) droppedCounter.count();
+    }
+
+    private void drain() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Entry entry = queue.poll(1, TimeUnit.SECONDS);
+                if (entry != null) {
+                    write(entry);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.warn("Could not write slow query log entry", e);
+            }
+        }
+    }
+
+    private void write(Entry entry) {
+        StatementExecution execution = entry.execution;
+        sqlLog.info("kind={} durationMs={} binds={} batch={} failed={} origin={} sql=\"{}\"",
+                entry.slow ? "slow" : "sampled",
+                String.format("%.3f", execution.getDurationNanos() / 1_000_000.0),
+                execution.getBindCount(),
+                execution.getBatchSize(),
+                execution.isFailed(),
+                execution.getRepositoryMethod() != null ? execution.getRepositoryMethod() : "-",
+                SqlNormalizer.normalize(execution.getSql()));
+    }
+
+    private static class Entry {
+        private final StatementExecution execution;
+        private final boolean slow;
+
+        Entry(StatementExecution execution, boolean slow) {
+            this.execution = execution;
+            this.slow = slow;
+        }
+    }
+}
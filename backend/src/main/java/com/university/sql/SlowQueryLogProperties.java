@@ -0,0 +1,56 @@
+package com.university.sql;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "sql.slow-query-log")
+public class SlowQueryLogProperties {
+
+    // Off by default; the prod profile turns it on in place of show-sql/TRACE logging
+    private boolean enabled = false;
+
+    // Statements at or above this latency are always recorded
+    private Duration threshold = Duration.ofMillis(100);
+
+    // Fraction (0.0 - 1.0) of faster statements recorded as a baseline sample
+    private double sampleRate = 0.001;
+
+    // Entries waiting for the writer thread; further entries are dropped and counted
+    private int queueCapacity = 8192;
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+}
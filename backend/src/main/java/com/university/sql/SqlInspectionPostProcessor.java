@@ -0,0 +1,52 @@
+package com.university.sql;
+
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Wraps every DataSource bean in an InspectingDataSource. Listeners are attached only once all
+// singletons exist, so the wrapping never forces listener beans to be created early.
+@Component
+public class SqlInspectionPostProcessor implements BeanPostProcessor, BeanFactoryAware, EnvironmentAware,
+        SmartInitializingSingleton {
+
+    private final List<InspectingDataSource> wrapped = new CopyOnWriteArrayList<>();
+
+    private BeanFactory beanFactory;
+
+    private boolean enabled;
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.enabled = environment.getProperty("sql.inspection.enabled", Boolean.class, false);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof DataSource dataSource && !(bean instanceof InspectingDataSource)) {
+            InspectingDataSource inspecting = new InspectingDataSource(dataSource);
+            wrapped.add(inspecting);
+            return inspecting;
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<StatementListener> listeners = beanFactory.getBeanProvider(StatementListener.class).orderedStream().toList();
+        wrapped.forEach(dataSource -> dataSource.setListeners(listeners));
+    }
+}
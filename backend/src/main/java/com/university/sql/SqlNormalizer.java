@@ -0,0 +1,28 @@
+package com.university.sql;
+
+import java.util.regex.Pattern;
+
+// Reduces a statement to its shape so that executions differing only in literals or IN-list
+// length group together: literals become ?, IN lists collapse and whitespace is squeezed
+public final class SqlNormalizer {
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+
+    private static final Pattern IN_LIST = Pattern.compile("(?i)\\bin\\s*\\(\\s*\\?(?:\\s*,\\s*\\?)*\\s*\\)");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlNormalizer() {}
+
+    public static String normalize(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = IN_LIST.matcher(normalized).replaceAll("in (?...)");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+}
@@ -0,0 +1,60 @@
+package com.university.sql;
+
+// One executed JDBC statement as observed by the inspecting data source
+public class StatementExecution {
+
+    private final String sql;
+
+    private final int bindCount;
+
+    // Hash of the bound values; equal SQL with different hashes is the same query with other arguments
+    private final int bindValuesHash;
+
+    private final int batchSize;
+
+    private final long durationNanos;
+
+    // Repository method that issued the statement, e.g. "StudentRepository.existsByEmail"; null outside repositories
+    private final String repositoryMethod;
+
+    private final boolean failed;
+
+    public StatementExecution(String sql, int bindCount, int bindValuesHash, int batchSize, long durationNanos,
+                              String repositoryMethod, boolean failed) {
+        this.sql = sql;
+        this.bindCount = bindCount;
+        this.bindValuesHash = bindValuesHash;
+        this.batchSize = batchSize;
+        this.durationNanos = durationNanos;
+        this.repositoryMethod = repositoryMethod;
+        this.failed = failed;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int getBindCount() {
+        return bindCount;
+    }
+
+    public int getBindValuesHash() {
+        return bindValuesHash;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public String getRepositoryMethod() {
+        return repositoryMethod;
+    }
+
+    public boolean isFailed() {
+        return failed;
+    }
+}
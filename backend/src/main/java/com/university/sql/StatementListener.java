@@ -0,0 +1,8 @@
+package com.university.sql;
+
+// Receives every statement executed through the inspecting data source, on the executing thread.
+// Implementations must be cheap and must not block.
+public interface StatementListener {
+
+    void onStatement(StatementExecution execution);
+}
@@ -0,0 +1,33 @@
+package com.university.standing;
+
+import java.time.LocalDateTime;
+
+// Per-student enrollment figures the standing rules look at, merged from the hot and history tables
+class EnrollmentTotals {
+
+    long completedCreditHours;
+
+    long gradedCreditHours;
+
+    double gradePoints;
+
+    long currentEnrollments;
+
+    LocalDateTime lastChange;
+
+    // Adds one row of EnrollmentRepositoryCustom.summarizeStandingByStudentIdBetween
+    void add(Object[] row) {
+        completedCreditHours += ((Number) row[1]).longValue();
+        gradedCreditHours += ((Number) row[2]).longValue();
+        gradePoints += ((Number) row[3]).doubleValue();
+        currentEnrollments += ((Number) row[4]).longValue();
+        LocalDateTime changed = (LocalDateTime) row[5];
+        if (changed != null && (lastChange == null || changed.isAfter(lastChange))) {
+            lastChange = changed;
+        }
+    }
+
+    double gpa() {
+        return gradedCreditHours > 0 ? gradePoints / gradedCreditHours : 0;
+    }
+}
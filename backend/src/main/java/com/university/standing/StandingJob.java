@@ -0,0 +1,341 @@
+package com.university.standing;
+
+import com.university.entity.StandingRun;
+import com.university.entity.Student;
+import com.university.event.StudentChangedEvent;
+import com.university.repository.EnrollmentRepository;
+import com.university.repository.StandingRunRepository;
+import com.university.repository.StudentRepository;
+import com.university.tenant.TenantContext;
+import com.university.tenant.Tenants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Recomputes every student's academic standing from their enrollments. Students are read in id order,
+// one keyset page per chunk; each chunk runs on a bounded worker pool in its own transaction: one
+// grouped query per enrollment table, then one bulk UPDATE per new status. Progress is checkpointed
+// on the StandingRun after each chunk, so an interrupted run can be resumed. Each tenant has at most
+// one active run; its coordinator and workers run with that tenant current.
+@Service
+public class StandingJob implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(StandingJob.class);
+
+    @Autowired
+    private StandingProperties properties;
+
+    @Autowired
+    private StandingPolicy policy;
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    @Autowired
+    private StandingRunRepository runRepo;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ApplicationEventPublisher events;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private Tenants tenants;
+
+    // Runs the chunk producers of the active runs; chunks themselves run on a per-run worker pool
+    private ExecutorService coordinator;
+
+    // Tenant -> its active run
+    private final Map<String, Execution> running = new ConcurrentHashMap<>();
+
+    private Counter changedCounter;
+
+    private Counter unchangedCounter;
+
+    private Timer chunkTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        changedCounter = Counter.builder("standing.job.students").tag("outcome", "changed").register(meterRegistry);
+        unchangedCounter = Counter.builder("standing.job.students").tag("outcome", "unchanged").register(meterRegistry);
+        chunkTimer = Timer.builder("standing.job.chunk").register(meterRegistry);
+        for (String tenant : tenants.all()) {
+            Gauge.builder("standing.job.progress", this, job -> job.progress(tenant)).tag("tenant", tenant).register(meterRegistry);
+            Gauge.builder("standing.job.throughput", this, job -> job.throughput(tenant)).tag("tenant", tenant)
+                    .baseUnit("students/s").register(meterRegistry);
+        }
+    }
+
+    // True while the current tenant has an active run
+    public boolean isBusy() {
+        return running.containsKey(TenantContext.current());
+    }
+
+    // Starts a new run in the background; empty if another run is still active
+    public synchronized Optional<StandingRun> start(boolean dryRun) {
+        if (isBusy() || coordinator == null) {
+            return Optional.empty();
+        }
+        StandingRun run = new StandingRun(dryRun);
+        run.setTotalStudents(studentRepo.countByIdGreaterThan(0L));
+        return Optional.of(launch(runRepo.save(run)));
+    }
+
+    // Continues a failed or interrupted run after its checkpoint; empty if another run is still active
+    public synchronized Optional<StandingRun> resume(StandingRun run) {
+        if (isBusy() || coordinator == null) {
+            return Optional.empty();
+        }
+        run.setState(StandingRun.State.RUNNING);
+        run.setFinishedAt(null);
+        run.setFailure(null);
+        run.setTotalStudents(run.getProcessedStudents() + studentRepo.countByIdGreaterThan(run.getCheckpointStudentId()));
+        return Optional.of(launch(runRepo.save(run)));
+    }
+
+    private StandingRun launch(StandingRun run) {
+        String tenant = TenantContext.current();
+        Execution execution = new Execution(run);
+        running.put(tenant, execution);
+        coordinator.execute(TenantContext.propagate(() -> {
+            try {
+                execution.run();
+            } finally {
+                running.remove(tenant, execution);
+            }
+        }));
+        log.info("Standing run {} started after student {}{}", run.getId(), run.getCheckpointStudentId(),
+                run.isDryRun() ? " (dry run)" : "");
+        return run;
+    }
+
+    // Computes, and unless dry-running writes, the standing of one chunk of students
+    private ChunkResult processChunk(List<Object[]> students, Long lastId, boolean dryRun, LocalDateTime now) {
+        Long firstId = (Long) students.get(0)[0];
+        Map<Long, EnrollmentTotals> totals = new HashMap<>();
+        for (Object[] row : enrollmentRepo.summarizeStandingByStudentIdBetween(firstId, lastId)) {
+            totals.computeIfAbsent((Long) row[0], id -> new EnrollmentTotals()).add(row);
+        }
+
+        List<StudentChangedEvent> changes = new ArrayList<>();
+        Map<Student.AcademicStatus, List<Long>> byStatus = new EnumMap<>(Student.AcademicStatus.class);
+        for (Object[] student : students) {
+            Long id = (Long) student[0];
+            Student.AcademicStatus previous = (Student.AcademicStatus) student[1];
+            Student.AcademicStatus status = policy.evaluate(totals.get(id), (LocalDate) student[2], now);
+            if (status != previous) {
+                changes.add(new StudentChangedEvent(id, previous, status));
+                byStatus.computeIfAbsent(status, s -> new ArrayList<>()).add(id);
+            }
+        }
+
+        if (!dryRun) {
+            byStatus.forEach((status, ids) -> studentRepo.updateAcademicStatus(ids, status));
+        }
+        return new ChunkResult(students.size(), lastId, changes);
+    }
+
+    private double progress(String tenant) {
+        Execution execution = running.get(tenant);
+        if (execution == null) {
+            return 0;
+        }
+        StandingRun run = execution.run;
+        synchronized (execution) {
+            return run.getTotalStudents() > 0 ? (double) run.getProcessedStudents() / run.getTotalStudents() : 0;
+        }
+    }
+
+    private double throughput(String tenant) {
+        Execution execution = running.get(tenant);
+        if (execution == null) {
+            return 0;
+        }
+        synchronized (execution) {
+            return execution.run.getStudentsPerSecond();
+        }
+    }
+
+    @Override
+    public void start() {
+        coordinator = Executors.newCachedThreadPool(threads("standing-job"));
+    }
+
+    @Override
+    public void stop() {
+        if (coordinator != null) {
+            // Interrupts the active runs, which record themselves as failed at their last checkpoint
+            coordinator.shutdownNow();
+            coordinator = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return coordinator != null;
+    }
+
+    private static ThreadFactory threads(String name) {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread thread = new Thread(r, name + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class ChunkResult {
+
+        private final int processed;
+
+        private final Long lastId;
+
+        private final List<StudentChangedEvent> changes;
+
+        ChunkResult(int processed, Long lastId, List<StudentChangedEvent> changes) {
+            this.processed = processed;
+            this.lastId = lastId;
+            this.changes = changes;
+        }
+    }
+
+    // One run of the job. Chunks may finish out of order, so the checkpoint only advances over the
+    // longest prefix of finished chunks, and a chunk's counts are added when the checkpoint passes it.
+    // A resumed run repeats chunks that finished beyond the checkpoint; recomputing standing is idempotent.
+    private final class Execution {
+
+        private final StandingRun run;
+
+        // Chunk number -> result, for chunks that finished ahead of an earlier one
+        private final Map<Long, ChunkResult> finishedAhead = new HashMap<>();
+
+        private long nextToCheckpoint = 0;
+
+        private volatile Throwable failure;
+
+        Execution(StandingRun run) {
+            this.run = run;
+        }
+
+        void run() {
+            int parallelism = Math.max(1, properties.getParallelism());
+            // A full queue makes the producer run the chunk itself, so reading never gets far ahead of writing
+            ThreadPoolExecutor workers = new ThreadPoolExecutor(parallelism, parallelism, 0, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(parallelism), threads("standing-worker"), new ThreadPoolExecutor.CallerRunsPolicy());
+            TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+            LocalDateTime now = LocalDateTime.now();
+            Long after = run.getCheckpointStudentId();
+            long chunk = 0;
+            try {
+                while (failure == null && !Thread.currentThread().isInterrupted()) {
+                    List<Object[]> students = studentRepo.findStandingInputsAfter(after, PageRequest.of(0, properties.getChunkSize()));
+                    if (students.isEmpty()) {
+                        break;
+                    }
+                    long number = chunk++;
+                    Long lastId = (Long) students.get(students.size() - 1)[0];
+                    workers.execute(TenantContext.propagate(() -> runChunk(transaction, number, lastId, students, now)));
+                    after = lastId;
+                }
+                workers.shutdown();
+                while (!workers.awaitTermination(1, TimeUnit.SECONDS)) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedException();
+                    }
+                }
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+            } catch (InterruptedException | RuntimeException e) {
+                workers.shutdownNow();
+                failure = e;
+            }
+            finish();
+        }
+
+        private void runChunk(TransactionTemplate transaction, long number, Long lastId, List<Object[]> students,
+                              LocalDateTime now) {
+            if (failure != null) {
+                return;
+            }
+            long start = System.nanoTime();
+            try {
+                ChunkResult result = transaction.execute(status -> processChunk(students, lastId, run.isDryRun(), now));
+                if (!run.isDryRun()) {
+                    result.changes.forEach(events::publishEvent);
+                }
+                chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                changedCounter.increment(result.changes.size());
+                unchangedCounter.increment(result.processed - result.changes.size());
+                checkpoint(number, result);
+            } catch (RuntimeException e) {
+                log.warn("Standing run {} failed on students up to {}", run.getId(), lastId, e);
+                failure = e;
+            }
+        }
+
+        private synchronized void checkpoint(long number, ChunkResult result) {
+            finishedAhead.put(number, result);
+            ChunkResult next;
+            while ((next = finishedAhead.remove(nextToCheckpoint)) != null) {
+                run.setProcessedStudents(run.getProcessedStudents() + next.processed);
+                run.setChangedStudents(run.getChangedStudents() + next.changes.size());
+                for (StudentChangedEvent change : next.changes) {
+                    run.getTransitions().merge(change.getPreviousStatus() + "->" + change.getStatus(), 1L, Long::sum);
+                }
+                run.setCheckpointStudentId(next.lastId);
+                nextToCheckpoint++;
+            }
+            runRepo.save(run);
+        }
+
+        private synchronized void finish() {
+            run.setFinishedAt(LocalDateTime.now());
+            if (failure == null) {
+                run.setState(StandingRun.State.COMPLETED);
+            } else {
+                run.setState(StandingRun.State.FAILED);
+                String message = failure instanceof InterruptedException ? "Interrupted" : String.valueOf(failure.getMessage());
+                run.setFailure(message.length() > 500 ? message.substring(0, 500) : message);
+            }
+            runRepo.save(run);
+            log.info("Standing run {} {}: {} students processed, {} changed, checkpoint at student {}", run.getId(),
+                    run.getState(), run.getProcessedStudents(), run.getChangedStudents(), run.getCheckpointStudentId());
+        }
+    }
+}
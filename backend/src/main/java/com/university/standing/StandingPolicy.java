@@ -0,0 +1,46 @@
+package com.university.standing;
+
+import com.university.entity.Student;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// Academic standing rules, first match wins: enough completed credit hours graduate a student, a low
+// GPA over enough graded credit hours suspends them, a long time without enrollment activity makes
+// them inactive, and everyone else is active
+@Component
+public class StandingPolicy {
+
+    private static final EnrollmentTotals NONE = new EnrollmentTotals();
+
+    @Autowired
+    private StandingProperties properties;
+
+    // totals is null for a student without enrollments; enrollmentDate is the student's own and may be null
+    Student.AcademicStatus evaluate(EnrollmentTotals totals, LocalDate enrollmentDate, LocalDateTime now) {
+        EnrollmentTotals t = totals != null ? totals : NONE;
+        if (t.completedCreditHours >= properties.getGraduationCreditHours()) {
+            return Student.AcademicStatus.GRADUATED;
+        }
+        if (t.gradedCreditHours >= properties.getSuspensionMinimumCreditHours() && t.gpa() < properties.getSuspensionGpa()) {
+            return Student.AcademicStatus.SUSPENDED;
+        }
+        LocalDateTime lastActivity = lastActivity(t, enrollmentDate);
+        if (t.currentEnrollments == 0 && lastActivity != null
+                && lastActivity.isBefore(now.minus(properties.getInactivityPeriod()))) {
+            return Student.AcademicStatus.INACTIVE;
+        }
+        return Student.AcademicStatus.ACTIVE;
+    }
+
+    // Latest of the last enrollment change and the student's enrollment date; null when neither is known
+    private static LocalDateTime lastActivity(EnrollmentTotals totals, LocalDate enrollmentDate) {
+        LocalDateTime joined = enrollmentDate != null ? enrollmentDate.atStartOfDay() : null;
+        if (totals.lastChange == null || (joined != null && joined.isAfter(totals.lastChange))) {
+            return joined;
+        }
+        return totals.lastChange;
+    }
+}
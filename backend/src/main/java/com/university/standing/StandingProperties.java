@@ -0,0 +1,78 @@
+package com.university.standing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Component
+@ConfigurationProperties(prefix = "standing")
+public class StandingProperties {
+
+    // Completed credit hours at which a student is GRADUATED
+    private int graduationCreditHours = 120;
+
+    // GPA (4-point scale) below which a student is SUSPENDED...
+    private double suspensionGpa = 2.0;
+
+    // ...once at least this many graded credit hours are completed
+    private int suspensionMinimumCreditHours = 12;
+
+    // Students without a current enrollment and without any enrollment change for this long are INACTIVE
+    private Duration inactivityPeriod = Duration.ofDays(365);
+
+    // Students per chunk; each chunk is one keyset page, one grouped query per enrollment table and one transaction
+    private int chunkSize = 500;
+
+    // Chunks processed at the same time
+    private int parallelism = 4;
+
+    // Getters and Setters
+    public int getGraduationCreditHours() {
+        return graduationCreditHours;
+    }
+
+    public void setGraduationCreditHours(int graduationCreditHours) {
+        this.graduationCreditHours = graduationCreditHours;
+    }
+
+    public double getSuspensionGpa() {
+        return suspensionGpa;
+    }
+
+    public void setSuspensionGpa(double suspensionGpa) {
+        this.suspensionGpa = suspensionGpa;
+    }
+
+    public int getSuspensionMinimumCreditHours() {
+        return suspensionMinimumCreditHours;
+    }
+
+    public void setSuspensionMinimumCreditHours(int suspensionMinimumCreditHours) {
+        this.suspensionMinimumCreditHours = suspensionMinimumCreditHours;
+    }
+
+    public Duration getInactivityPeriod() {
+        return inactivityPeriod;
+    }
+
+    public void setInactivityPeriod(Duration inactivityPeriod) {
+        this.inactivityPeriod = inactivityPeriod;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+}
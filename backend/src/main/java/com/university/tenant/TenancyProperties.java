@@ -0,0 +1,80 @@
+package com.university.tenant;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Component
+@ConfigurationProperties(prefix = "tenancy")
+public class TenancyProperties {
+
+    // When disabled every request belongs to the single "default" tenant
+    private boolean enabled = false;
+
+    // Tenant keys accepted in multi-tenant mode, e.g. north,south
+    private List<String> tenants = new ArrayList<>();
+
+    // Request header carrying the tenant key
+    private String header = "X-Tenant-Id";
+
+    // Fall back to the first label of the host name (north.university.example) when the header is absent
+    private boolean subdomain = true;
+
+    // Connections one tenant may hold at the same time; keep tenants times this at or below the pool size
+    private int maxConnections = 4;
+
+    // How long a request waits for one of its tenant's connections before failing
+    private Duration connectionTimeout = Duration.ofSeconds(5);
+
+    // Getters and Setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getTenants() {
+        return tenants;
+    }
+
+    public void setTenants(List<String> tenants) {
+        this.tenants = tenants;
+    }
+
+    public String getHeader() {
+        return header;
+    }
+
+    public void setHeader(String header) {
+        this.header = header;
+    }
+
+    public boolean isSubdomain() {
+        return subdomain;
+    }
+
+    public void setSubdomain(boolean subdomain) {
+        this.subdomain = subdomain;
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    public Duration getConnectionTimeout() {
+        return connectionTimeout;
+    }
+
+    public void setConnectionTimeout(Duration connectionTimeout) {
+        this.connectionTimeout = connectionTimeout;
+    }
+}
@@ -0,0 +1,109 @@
+package com.university.tenant;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Caps the connections each tenant holds at once, so one tenant's load queues behind its own
+// budget instead of draining the shared pool. Threads without an explicit tenant (startup, schema
+// management) are not limited.
+public class TenantBudgetDataSource extends DelegatingDataSource {
+
+    private final int maxConnections;
+
+    private final long timeoutMillis;
+
+    private final Map<String, Semaphore> budgets = new ConcurrentHashMap<>();
+
+    public TenantBudgetDataSource(DataSource target, int maxConnections, long timeoutMillis) {
+        super(target);
+        this.maxConnections = maxConnections;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // Connections the tenant holds right now
+    public int inUse(String tenant) {
+        return maxConnections - budget(tenant).availablePermits();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return limit(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return limit(() -> super.getConnection(username, password));
+    }
+
+    private Connection limit(ConnectionSource source) throws SQLException {
+        if (!TenantContext.isSet()) {
+            return source.get();
+        }
+        String tenant = TenantContext.current();
+        Semaphore budget = budget(tenant);
+        try {
+            if (!budget.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("Tenant " + tenant + " has all of its "
+                        + maxConnections + " connections in use");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a connection", e);
+        }
+        try {
+            return releasingOnClose(source.get(), budget);
+        } catch (SQLException | RuntimeException e) {
+            budget.release();
+            throw e;
+        }
+    }
+
+    private Semaphore budget(String tenant) {
+        return budgets.computeIfAbsent(tenant, key -> new Semaphore(maxConnections));
+    }
+
+    private static Connection releasingOnClose(Connection connection, Semaphore budget) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(TenantBudgetDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "unwrap":
+                            if (args[0] == Connection.class) {
+                                return connection;
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    } finally {
+                        if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                            budget.release();
+                        }
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+}
@@ -0,0 +1,63 @@
+package com.university.tenant;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Wraps every DataSource bean in a TenantBudgetDataSource in multi-tenant mode. Settings are bound
+// from the environment directly, since post-processors run before @ConfigurationProperties beans exist.
+@Component
+public class TenantBudgetPostProcessor implements BeanPostProcessor, BeanFactoryAware, EnvironmentAware,
+        SmartInitializingSingleton {
+
+    private final List<TenantBudgetDataSource> wrapped = new CopyOnWriteArrayList<>();
+
+    private BeanFactory beanFactory;
+
+    private TenancyProperties properties = new TenancyProperties();
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        Binder.get(environment).bind("tenancy", TenancyProperties.class).ifBound(bound -> properties = bound);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (properties.isEnabled() && bean instanceof DataSource dataSource && !(bean instanceof TenantBudgetDataSource)) {
+            TenantBudgetDataSource budgeted = new TenantBudgetDataSource(dataSource, properties.getMaxConnections(),
+                    properties.getConnectionTimeout().toMillis());
+            wrapped.add(budgeted);
+            return budgeted;
+        }
+        return bean;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (wrapped.isEmpty()) {
+            return;
+        }
+        MeterRegistry meterRegistry = beanFactory.getBean(MeterRegistry.class);
+        for (String tenant : properties.getTenants()) {
+            Gauge.builder("tenancy.connections.active", wrapped, all -> all.stream().mapToInt(ds -> ds.inUse(tenant)).sum())
+                    .tag("tenant", tenant)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.university.tenant;
+
+import java.util.function.Supplier;
+
+// Tenant the current thread works for. Set by TenantFilter for requests and by background work
+// for each tenant in turn; threads without a tenant work for the default one.
+public final class TenantContext {
+
+    public static final String DEFAULT = "default";
+
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private TenantContext() {}
+
+    public static String current() {
+        String tenant = CURRENT.get();
+        return tenant != null ? tenant : DEFAULT;
+    }
+
+    // True when a tenant was set explicitly on this thread
+    public static boolean isSet() {
+        return CURRENT.get() != null;
+    }
+
+    public static void set(String tenant) {
+        CURRENT.set(tenant);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public static <T> T callAs(String tenant, Supplier<T> action) {
+        String previous = CURRENT.get();
+        CURRENT.set(tenant);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    public static void runAs(String tenant, Runnable action) {
+        callAs(tenant, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Binds the action to the calling thread's tenant, for handing work to another thread
+    public static Runnable propagate(Runnable action) {
+        String tenant = current();
+        return () -> runAs(tenant, action);
+    }
+}
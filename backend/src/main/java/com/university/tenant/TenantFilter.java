@@ -0,0 +1,63 @@
+package com.university.tenant;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Resolves the tenant of each API request from the tenant header or, failing that, the subdomain.
+// Requests for an unknown tenant, or without one, are rejected before they reach a controller.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class TenantFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private TenancyProperties properties;
+
+    @Autowired
+    private Tenants tenants;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !properties.isEnabled() || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String tenant = resolve(request);
+        if (tenant == null || !tenants.isKnown(tenant)) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unknown or missing tenant");
+            return;
+        }
+        TenantContext.set(tenant);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            TenantContext.clear();
+        }
+    }
+
+    private String resolve(HttpServletRequest request) {
+        String header = request.getHeader(properties.getHeader());
+        if (header != null && !header.isBlank()) {
+            return header.trim();
+        }
+        String host = request.getServerName();
+        if (properties.isSubdomain() && host != null) {
+            int dot = host.indexOf('.');
+            // A bare host name or an IP address has no tenant label
+            if (dot > 0 && !Character.isDigit(host.charAt(0))) {
+                return host.substring(0, dot);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,7 @@
+package com.university.tenant;
+
+// Entity partitioned by tenant through a @TenantId column
+public interface TenantOwned {
+
+    String getTenant();
+}
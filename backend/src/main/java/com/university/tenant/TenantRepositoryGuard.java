@@ -0,0 +1,34 @@
+package com.university.tenant;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+// Hibernate restricts queries to the current tenant but not loads by primary key, so findById could
+// return another tenant's row. This drops such results from findById on tenant-owned repositories.
+@Component
+public class TenantRepositoryGuard implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+            factoryBean.addRepositoryFactoryCustomizer(repositoryFactory ->
+                    repositoryFactory.addRepositoryProxyPostProcessor((factory, repositoryInformation) -> {
+                        if (!TenantOwned.class.isAssignableFrom(repositoryInformation.getDomainType())) {
+                            return;
+                        }
+                        factory.addAdvice((MethodInterceptor) invocation -> {
+                            Object result = invocation.proceed();
+                            if ("findById".equals(invocation.getMethod().getName()) && result instanceof Optional<?> found) {
+                                return found.filter(entity -> TenantContext.current().equals(((TenantOwned) entity).getTenant()));
+                            }
+                            return result;
+                        });
+                    }));
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,33 @@
+package com.university.tenant;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// The tenants this deployment serves: the configured ones in multi-tenant mode, else only the default
+@Component
+public class Tenants {
+
+    @Autowired
+    private TenancyProperties properties;
+
+    public boolean isMultiTenant() {
+        return properties.isEnabled();
+    }
+
+    public List<String> all() {
+        return properties.isEnabled() ? properties.getTenants() : List.of(TenantContext.DEFAULT);
+    }
+
+    public boolean isKnown(String tenant) {
+        return all().contains(tenant);
+    }
+
+    // Runs the action once per tenant, with that tenant as the current one
+    public void forEach(Runnable action) {
+        for (String tenant : all()) {
+            TenantContext.runAs(tenant, action);
+        }
+    }
+}
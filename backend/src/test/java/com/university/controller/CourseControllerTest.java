@@ -0,0 +1,157 @@
+package com.university.controller;
+
+import com.university.entity.Course;
+import com.university.repository.CourseRepository;
+import com.university.repository.StudentRepository;
+import com.university.testsupport.QueryBudget;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "sql.inspection.enabled=true")
+@AutoConfigureMockMvc
+class CourseControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CourseRepository courseRepo;
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    private Long cs101Id;
+
+    private Long cs201Id;
+
+    private Long johnId;
+
+    @BeforeEach
+    void findSampleData() {
+        cs101Id = courseRepo.findByCode("CS101").orElseThrow().getId();
+        cs201Id = courseRepo.findByCode("CS201").orElseThrow().getId();
+        johnId = studentRepo.findByStudentId("20240001").orElseThrow().getId();
+    }
+
+    // The catalog endpoints answer from the snapshot warmed at startup
+    @QueryBudget(max = 0)
+    @Test
+    void listsCoursesFromCatalog() throws Exception {
+        mockMvc.perform(get("/api/courses")).andExpect(status().isOk());
+    }
+
+    @QueryBudget(max = 0)
+    @Test
+    void getsCourseByIdFromCatalog() throws Exception {
+        mockMvc.perform(get("/api/courses/{id}", cs101Id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.code").value("CS101"))
+                .andExpect(jsonPath("$.meetingSlots.length()").value(3));
+    }
+
+    @QueryBudget(max = 0)
+    @Test
+    void getsCourseByCodeFromCatalog() throws Exception {
+        mockMvc.perform(get("/api/courses/code/{code}", "CS201")).andExpect(status().isOk());
+    }
+
+    @QueryBudget(max = 0)
+    @Test
+    void listsAvailableCoursesFromCatalog() throws Exception {
+        mockMvc.perform(get("/api/courses/available")).andExpect(status().isOk());
+    }
+
+    // The courses with both collections joined
+    @QueryBudget(max = 1)
+    @Test
+    void listsSelectedCourses() throws Exception {
+        mockMvc.perform(get("/api/courses").param("ids", cs101Id.toString(), cs201Id.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void getsSelectedFieldsOfCourseById() throws Exception {
+        mockMvc.perform(get("/api/courses/{id}", cs101Id).param("fields", "title", "creditHours"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.creditHours").value(3));
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void listsRecentCoursesNewestFirst() throws Exception {
+        mockMvc.perform(get("/api/courses/recent").param("fields", "code").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].code").value("CS501"))
+                .andExpect(jsonPath("$[1].code").value("CS401"))
+                .andExpect(jsonPath("$[0].meetingSlots").doesNotExist());
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void searchesCoursesByTitle() throws Exception {
+        mockMvc.perform(get("/api/courses/search").param("title", "data"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].meetingSlots.length()").value(2))
+                .andExpect(jsonPath("$[0].prerequisites.length()").value(1));
+    }
+
+    // Available courses with their collections and the student's timetable
+    @QueryBudget(max = 2)
+    @Test
+    void listsAvailableCoursesFittingStudent() throws Exception {
+        mockMvc.perform(get("/api/courses/available/fit").param("studentId", johnId.toString()))
+                .andExpect(status().isOk());
+    }
+
+    // Served from the co-enrollment graph built at startup
+    @QueryBudget(max = 0)
+    @Test
+    void recommendsCoursesForCourse() throws Exception {
+        mockMvc.perform(get("/api/courses/{id}/recommendations", cs101Id)).andExpect(status().isOk());
+    }
+
+    // The course with its prerequisites; the indirect ones come from the compiled graph
+    @QueryBudget(max = 1)
+    @Test
+    void describesPrerequisites() throws Exception {
+        mockMvc.perform(get("/api/courses/{id}/prerequisites", cs201Id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.direct.length()").value(1))
+                .andExpect(jsonPath("$.allRequiredCourseIds.length()").value(1));
+    }
+
+    // Saved behind the uniqueness filter's back, as if another node had just created it
+    @Test
+    void duplicateCodeThatPassesTheFilterIsABadRequest() throws Exception {
+        Course existing = courseRepo.save(new Course("Duplicate code test", "DUP101"));
+        try {
+            mockMvc.perform(post("/api/courses").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"title\": \"Another course\", \"code\": \"DUP101\"}"))
+                    .andExpect(status().isBadRequest());
+        } finally {
+            courseRepo.delete(existing);
+        }
+    }
+
+    @Test
+    void otherIntegrityViolationsAreNotReportedAsDuplicates() {
+        String body = "{\"title\": \"Long description test\", \"code\": \"LONG101\", \"description\": \"" + "x".repeat(501) + "\"}";
+        assertThrows(ServletException.class, () ->
+                mockMvc.perform(post("/api/courses").contentType(MediaType.APPLICATION_JSON).content(body)));
+    }
+}
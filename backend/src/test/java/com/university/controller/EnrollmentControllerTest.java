@@ -0,0 +1,228 @@
+package com.university.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.university.entity.Course;
+import com.university.entity.Enrollment;
+import com.university.entity.Student;
+import com.university.repository.CourseRepository;
+import com.university.repository.EnrollmentRepository;
+import com.university.repository.StudentRepository;
+import com.university.testsupport.QueryBudget;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Enrollments span several students and courses, so loading either association row by row would
+// repeat a statement often enough for the N+1 check
+@SpringBootTest(properties = "sql.inspection.enabled=true")
+@AutoConfigureMockMvc
+class EnrollmentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepo;
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Autowired
+    private CourseRepository courseRepo;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<Enrollment> enrollments;
+
+    @BeforeEach
+    void enrollSampleStudents() {
+        Course cs101 = courseRepo.findByCode("CS101").orElseThrow();
+        Course cs201 = courseRepo.findByCode("CS201").orElseThrow();
+        Enrollment completed = new Enrollment(student("20240002"), cs101);
+        completed.setStatus(Enrollment.EnrollmentStatus.COMPLETED);
+        completed.setGrade(88.0);
+        enrollments = enrollmentRepo.saveAll(List.of(
+                new Enrollment(student("20240001"), cs101),
+                completed,
+                new Enrollment(student("20240003"), cs201),
+                new Enrollment(student("20240004"), cs201)));
+    }
+
+    @AfterEach
+    void removeEnrollments() {
+        enrollmentRepo.deleteAll(enrollments);
+    }
+
+    // The hot and the history table, each with students and courses joined; the courses'
+    // collections are left out of the JSON rather than loaded
+    @QueryBudget(max = 2)
+    @Test
+    void listsEnrollments() throws Exception {
+        mockMvc.perform(get("/api/enrollments"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].course.meetingSlots").doesNotExist())
+                .andExpect(jsonPath("$[0].course.prerequisites").doesNotExist());
+    }
+
+    @QueryBudget(max = 2)
+    @Test
+    void getsEnrollmentById() throws Exception {
+        mockMvc.perform(get("/api/enrollments/{id}", enrollments.get(0).getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.student.studentId").value("20240001"));
+    }
+
+    @QueryBudget(max = 2)
+    @Test
+    void listsEnrollmentsOfStudent() throws Exception {
+        mockMvc.perform(get("/api/enrollments/student/{studentId}", enrollments.get(0).getStudent().getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @QueryBudget(max = 2)
+    @Test
+    void listsEnrollmentsOfCourse() throws Exception {
+        mockMvc.perform(get("/api/enrollments/course/{courseId}", enrollments.get(2).getCourse().getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2));
+    }
+
+    // ENROLLED is never archived, so only the hot table is read
+    @QueryBudget(max = 1)
+    @Test
+    void listsEnrollmentsByStatus() throws Exception {
+        mockMvc.perform(get("/api/enrollments/status/{status}", "ENROLLED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @QueryBudget(max = 2)
+    @Test
+    void listsEnrollmentsWithGrades() throws Exception {
+        mockMvc.perform(get("/api/enrollments/with-grades"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void movingIntoEnrolledNeedsAFreeSeat() throws Exception {
+        Long courseId = createCourse("ST101", 1, "[]");
+        try {
+            Long dropped = enroll("20240005", courseId, "ENROLLED");
+            updateStatus(dropped, "DROPPED").andExpect(status().isOk());
+            Long taken = enroll("20240001", courseId, "ENROLLED");
+
+            updateStatus(dropped, "ENROLLED").andExpect(status().isBadRequest());
+            updateStatus(taken, "DROPPED").andExpect(status().isOk());
+            updateStatus(dropped, "ENROLLED")
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value("ENROLLED"));
+        } finally {
+            mockMvc.perform(delete("/api/courses/{id}", courseId)).andExpect(status().isNoContent());
+        }
+    }
+
+    @Test
+    void movingIntoEnrolledMustNotClashWithTheTimetable() throws Exception {
+        Long courseId = createCourse("ST201", 30, "[{\"dayOfWeek\": \"MONDAY\", \"startTime\": \"09:00\", \"endTime\": \"10:00\"}]");
+        Long cs101 = null;
+        try {
+            Long withdrawn = enroll("20240005", courseId, "ENROLLED");
+            updateStatus(withdrawn, "WITHDRAWN").andExpect(status().isOk());
+            cs101 = enroll("20240005", courseRepo.findByCode("CS101").orElseThrow().getId(), "ENROLLED");
+
+            updateStatus(withdrawn, "ENROLLED").andExpect(status().isBadRequest());
+        } finally {
+            if (cs101 != null) {
+                mockMvc.perform(delete("/api/enrollments/{id}", cs101)).andExpect(status().isNoContent());
+            }
+            mockMvc.perform(delete("/api/courses/{id}", courseId)).andExpect(status().isNoContent());
+        }
+    }
+
+    // The enrollment reloads the course's catalog entry while the request still holds the course
+    @Test
+    void enrollingKeepsTheCatalogEntryWhole() throws Exception {
+        Long cs101 = courseRepo.findByCode("CS101").orElseThrow().getId();
+        Long enrollment = enroll("20240005", cs101, "ENROLLED");
+        try {
+            mockMvc.perform(get("/api/courses/{id}", cs101))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.meetingSlots.length()").value(3))
+                    .andExpect(jsonPath("$.meetingSlots[0].dayOfWeek").value("MONDAY"));
+        } finally {
+            mockMvc.perform(delete("/api/enrollments/{id}", enrollment)).andExpect(status().isNoContent());
+        }
+    }
+
+    // The new course makes the enrollment rebuild the prerequisite graph while it holds CS201
+    @Test
+    void enrollingAfterACourseChangeChecksPrerequisites() throws Exception {
+        Long courseId = createCourse("ST301", 30, "[]");
+        try {
+            enrollment("20240005", courseRepo.findByCode("CS201").orElseThrow().getId(), "ENROLLED")
+                    .andExpect(status().isBadRequest());
+        } finally {
+            mockMvc.perform(delete("/api/courses/{id}", courseId)).andExpect(status().isNoContent());
+        }
+    }
+
+    @Test
+    void movingIntoEnrolledNeedsThePrerequisites() throws Exception {
+        // David has not completed CS101, which CS201 requires
+        Enrollment withdrawn = new Enrollment(student("20240005"), courseRepo.findByCode("CS201").orElseThrow());
+        withdrawn.setStatus(Enrollment.EnrollmentStatus.WITHDRAWN);
+        enrollments.add(enrollmentRepo.save(withdrawn));
+
+        updateStatus(withdrawn.getId(), "ENROLLED").andExpect(status().isBadRequest());
+    }
+
+    private Student student(String studentId) {
+        return studentRepo.findByStudentId(studentId).orElseThrow();
+    }
+
+    private Long createCourse(String code, int maxCapacity, String meetingSlots) throws Exception {
+        String body = "{\"title\": \"Status test " + code + "\", \"code\": \"" + code + "\", \"creditHours\": 3, "
+                + "\"maxCapacity\": " + maxCapacity + ", \"meetingSlots\": " + meetingSlots + "}";
+        return idOf(mockMvc.perform(post("/api/courses").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isCreated()));
+    }
+
+    private Long enroll(String studentId, Long courseId, String status) throws Exception {
+        return idOf(enrollment(studentId, courseId, status).andExpect(status().isCreated()));
+    }
+
+    private ResultActions enrollment(String studentId, Long courseId, String status) throws Exception {
+        String body = "{\"studentId\": " + student(studentId).getId() + ", \"courseId\": " + courseId
+                + ", \"status\": \"" + status + "\"}";
+        return mockMvc.perform(post("/api/enrollments").contentType(MediaType.APPLICATION_JSON).content(body));
+    }
+
+    private ResultActions updateStatus(Long enrollmentId, String status) throws Exception {
+        return mockMvc.perform(put("/api/enrollments/{id}/status", enrollmentId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"status\": \"" + status + "\"}"));
+    }
+
+    private Long idOf(ResultActions created) throws Exception {
+        return objectMapper.readTree(created.andReturn().getResponse().getContentAsString()).get("id").asLong();
+    }
+}
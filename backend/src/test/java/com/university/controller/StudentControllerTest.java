@@ -0,0 +1,124 @@
+package com.university.controller;
+
+import com.university.entity.Student;
+import com.university.repository.StudentRepository;
+import com.university.testsupport.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "sql.inspection.enabled=true")
+@AutoConfigureMockMvc
+class StudentControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    private Long johnId;
+
+    @BeforeEach
+    void findSampleStudent() {
+        johnId = studentRepo.findByStudentId("20240001").orElseThrow().getId();
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void listsStudents() throws Exception {
+        mockMvc.perform(get("/api/students")).andExpect(status().isOk());
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void listsSelectedStudents() throws Exception {
+        mockMvc.perform(get("/api/students").param("ids", johnId.toString(), "-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void listsSelectedFieldsOfStudents() throws Exception {
+        mockMvc.perform(get("/api/students").param("fields", "firstName", "email")).andExpect(status().isOk());
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void getsStudentById() throws Exception {
+        mockMvc.perform(get("/api/students/{id}", johnId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.studentId").value("20240001"));
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void getsSelectedFieldsOfStudentById() throws Exception {
+        mockMvc.perform(get("/api/students/{id}", johnId).param("fields", "email"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.email").value("john.doe@university.edu"));
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void getsStudentByEmail() throws Exception {
+        mockMvc.perform(get("/api/students/email/{email}", "john.doe@university.edu")).andExpect(status().isOk());
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void getsStudentByStudentId() throws Exception {
+        mockMvc.perform(get("/api/students/student-id/{studentId}", "20240001")).andExpect(status().isOk());
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void searchesStudentsByName() throws Exception {
+        mockMvc.perform(get("/api/students/search").param("name", "jo")).andExpect(status().isOk());
+    }
+
+    @QueryBudget(max = 1)
+    @Test
+    void listsStudentsByStatus() throws Exception {
+        mockMvc.perform(get("/api/students/status/{status}", "ACTIVE")).andExpect(status().isOk());
+    }
+
+    // Served from the co-enrollment graph built at startup
+    @QueryBudget(max = 0)
+    @Test
+    void recommendsCoursesForStudent() throws Exception {
+        mockMvc.perform(get("/api/students/{id}/recommendations", johnId)).andExpect(status().isOk());
+    }
+
+    // Student, completed courses in the hot and history tables, and the eligible courses with their
+    // collections; the prerequisite graph is compiled at startup
+    @QueryBudget(max = 4)
+    @Test
+    void listsEligibleCourses() throws Exception {
+        mockMvc.perform(get("/api/students/{id}/eligible-courses", johnId)).andExpect(status().isOk());
+    }
+
+    // Saved behind the uniqueness filters' back, as if another node had just created it
+    @Test
+    void duplicateEmailThatPassesTheFilterIsABadRequest() throws Exception {
+        Student existing = studentRepo.save(new Student("Dana", "Duplicate", "dana.duplicate@university.edu", "20249901"));
+        try {
+            mockMvc.perform(post("/api/students").contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"firstName\": \"Dan\", \"lastName\": \"Other\", "
+                                    + "\"email\": \"dana.duplicate@university.edu\", \"studentId\": \"20249902\"}"))
+                    .andExpect(status().isBadRequest());
+        } finally {
+            studentRepo.delete(existing);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.university.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MeetingSlotTest {
+
+    @Test
+    void mustEndAfterItStarts() {
+        assertTrue(new MeetingSlot(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 5)).isTimeRangeValid());
+        assertFalse(new MeetingSlot(DayOfWeek.MONDAY, LocalTime.of(9, 0), LocalTime.of(9, 0)).isTimeRangeValid());
+        assertFalse(new MeetingSlot(DayOfWeek.MONDAY, LocalTime.of(10, 0), LocalTime.of(9, 0)).isTimeRangeValid());
+    }
+
+    @Test
+    void leavesMissingTimesToNotNull() {
+        assertTrue(new MeetingSlot(DayOfWeek.MONDAY, null, LocalTime.of(9, 0)).isTimeRangeValid());
+        assertTrue(new MeetingSlot(DayOfWeek.MONDAY, LocalTime.of(9, 0), null).isTimeRangeValid());
+    }
+
+    @Test
+    void printsDayAndTimes() {
+        assertEquals("FRIDAY 14:00-15:30", new MeetingSlot(DayOfWeek.FRIDAY, LocalTime.of(14, 0), LocalTime.of(15, 30)).toString());
+    }
+}
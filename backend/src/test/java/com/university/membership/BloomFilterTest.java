@@ -0,0 +1,87 @@
+package com.university.membership;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BloomFilterTest {
+
+    private static final int INSERTED = 10_000;
+
+    private static final int PROBES = 100_000;
+
+    @Test
+    void alwaysReportsInsertedValues() {
+        BloomFilter filter = new BloomFilter(INSERTED, 0.01);
+        for (int i = 0; i < INSERTED; i++) {
+            filter.put(BloomFilter.hash("student" + i + "@university.edu"));
+        }
+
+        for (int i = 0; i < INSERTED; i++) {
+            assertTrue(filter.mightContain(BloomFilter.hash("student" + i + "@university.edu")), "student" + i);
+        }
+    }
+
+    @Test
+    void alwaysReportsInsertedPairs() {
+        BloomFilter filter = new BloomFilter(INSERTED, 0.01);
+        for (long student = 1; student <= 100; student++) {
+            for (long course = 1; course <= 100; course++) {
+                filter.put(BloomFilter.hash(student, course));
+            }
+        }
+
+        for (long student = 1; student <= 100; student++) {
+            for (long course = 1; course <= 100; course++) {
+                assertTrue(filter.mightContain(BloomFilter.hash(student, course)), student + ":" + course);
+            }
+        }
+    }
+
+    @Test
+    void pairHashDependsOnOrder() {
+        assertNotEquals(BloomFilter.hash(1, 2), BloomFilter.hash(2, 1));
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        BloomFilter filter = new BloomFilter(INSERTED, 0.01);
+
+        assertFalse(filter.mightContain(BloomFilter.hash("anyone@university.edu")));
+        assertEquals(0.0, filter.expectedFalsePositiveRate(), 0.0);
+    }
+
+    @Test
+    void falsePositiveRateStaysNearConfiguredRate() {
+        for (double rate : new double[] {0.01, 0.001}) {
+            BloomFilter filter = new BloomFilter(INSERTED, rate);
+            for (int i = 0; i < INSERTED; i++) {
+                filter.put(BloomFilter.hash("student" + i + "@university.edu"));
+            }
+
+            int falsePositives = 0;
+            for (int i = 0; i < PROBES; i++) {
+                if (filter.mightContain(BloomFilter.hash("applicant" + i + "@university.edu"))) {
+                    falsePositives++;
+                }
+            }
+            double measured = (double) falsePositives / PROBES;
+            assertTrue(measured > rate * 0.5 && measured < rate * 1.5, "measured " + measured + " for " + rate);
+            assertEquals(rate, filter.expectedFalsePositiveRate(), rate * 0.2);
+        }
+    }
+
+    @Test
+    void overfillingRaisesTheExpectedRate() {
+        BloomFilter filter = new BloomFilter(INSERTED, 0.01);
+        for (int i = 0; i < INSERTED * 2; i++) {
+            filter.put(BloomFilter.hash("student" + i + "@university.edu"));
+        }
+
+        // UniquenessFilters rebuilds once this passes the configured rate times the rebuild factor
+        assertTrue(filter.expectedFalsePositiveRate() > 0.01 * 2);
+    }
+}
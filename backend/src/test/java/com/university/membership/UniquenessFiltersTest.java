@@ -0,0 +1,148 @@
+package com.university.membership;
+
+import com.university.cluster.CacheInvalidationListener;
+import com.university.cluster.ClusterService;
+import com.university.repository.CourseRepository;
+import com.university.repository.EnrollmentRepository;
+import com.university.repository.StudentRepository;
+import com.university.tenant.Tenants;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UniquenessFiltersTest {
+
+    @Mock
+    private StudentRepository studentRepo;
+
+    @Mock
+    private CourseRepository courseRepo;
+
+    @Mock
+    private EnrollmentRepository enrollmentRepo;
+
+    @Mock
+    private ClusterService clusterService;
+
+    @Mock
+    private Tenants tenants;
+
+    @Spy
+    private MembershipFilterProperties properties = new MembershipFilterProperties();
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @InjectMocks
+    private UniquenessFilters filters;
+
+    private CacheInvalidationListener listener;
+
+    @BeforeEach
+    void setUp() {
+        // A single node: the cluster hands every invalidation straight back to the filters
+        doAnswer(invocation -> listener = invocation.getArgument(1))
+                .when(clusterService).registerInvalidationListener(eq(UniquenessFilters.CACHE), any());
+        lenient().doAnswer(invocation -> {
+            listener.invalidate(invocation.getArgument(1));
+            return null;
+        }).when(clusterService).invalidate(eq(UniquenessFilters.CACHE), anyString());
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(tenants).forEach(any());
+        filters.init();
+    }
+
+    @Test
+    void queriesTheDatabaseUntilBuilt() {
+        assertTrue(queriesDatabase("anyone@university.edu"));
+    }
+
+    @Test
+    void answersDefiniteNegativesWithoutTheDatabase() {
+        when(studentRepo.findAllEmailsAndStudentIds()).thenReturn(students("early@university.edu"));
+
+        filters.build();
+
+        assertTrue(queriesDatabase("early@university.edu"));
+        assertFalse(queriesDatabase("never@university.edu"));
+    }
+
+    @Test
+    void replaysAddsMadeDuringTheFirstBuild() {
+        // The add lands after the build read the table, before the filters are installed
+        when(studentRepo.findAllEmailsAndStudentIds()).thenAnswer(invocation -> {
+            List<Object[]> rows = students("early@university.edu");
+            filters.addStudent("late@university.edu", "S-LATE");
+            return rows;
+        });
+
+        filters.build();
+
+        assertTrue(queriesDatabase("late@university.edu"));
+        assertTrue(queriesDatabase("early@university.edu"));
+    }
+
+    @Test
+    void replaysAddsMadeDuringARebuild() {
+        when(studentRepo.findAllEmailsAndStudentIds())
+                .thenReturn(students("early@university.edu"))
+                .thenAnswer(invocation -> {
+                    List<Object[]> rows = students("early@university.edu");
+                    filters.addStudent("late@university.edu", "S-LATE");
+                    return rows;
+                });
+        filters.build();
+
+        filters.build();
+
+        assertTrue(queriesDatabase("late@university.edu"));
+    }
+
+    @Test
+    void keepsAddsBetweenBuilds() {
+        filters.build();
+
+        filters.addStudent("new@university.edu", "S-NEW");
+
+        assertTrue(queriesDatabase("new@university.edu"));
+    }
+
+    // True when the email check could not rule the value out and asked the database
+    private boolean queriesDatabase(String email) {
+        boolean[] queried = {false};
+        filters.emailExists(email, () -> {
+            queried[0] = true;
+            return false;
+        });
+        return queried[0];
+    }
+
+    private static List<Object[]> students(String... emails) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < emails.length; i++) {
+            rows.add(new Object[] {emails[i], "S-" + i});
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,164 @@
+package com.university.prerequisite;
+
+import com.university.entity.Course;
+import com.university.entity.Prerequisite;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrerequisiteGraphTest {
+
+    private final CourseIndex index = new CourseIndex();
+
+    @Test
+    void courseWithoutRequirementsIsAlwaysSatisfied() {
+        PrerequisiteGraph graph = build(course(1));
+
+        assertFalse(graph.hasRequirements(1));
+        assertTrue(graph.isSatisfied(1, CompletedCourses.NONE));
+    }
+
+    @Test
+    void everyGroupHasToBeMet() {
+        PrerequisiteGraph graph = build(course(1), course(2),
+                course(3, new Prerequisite(1L, 0, null), new Prerequisite(2L, 1, null)));
+
+        assertFalse(graph.isSatisfied(3, completed(1, "A")));
+        assertFalse(graph.isSatisfied(3, completed(2, "A")));
+        assertTrue(graph.isSatisfied(3, completed(1, "B", 2, "C")));
+    }
+
+    @Test
+    void anyAlternativeInAGroupWillDo() {
+        PrerequisiteGraph graph = build(course(1), course(2),
+                course(3, new Prerequisite(1L, 0, null), new Prerequisite(2L, 0, null)));
+
+        assertFalse(graph.isSatisfied(3, CompletedCourses.NONE));
+        assertTrue(graph.isSatisfied(3, completed(1, "C")));
+        assertTrue(graph.isSatisfied(3, completed(2, "D")));
+    }
+
+    @Test
+    void minimumGradeIsTheLowestAccepted() {
+        PrerequisiteGraph graph = build(course(1), course(2, new Prerequisite(1L, 0, "C")));
+
+        assertFalse(graph.isSatisfied(2, completed(1, "D")));
+        assertTrue(graph.isSatisfied(2, completed(1, "C")));
+        assertTrue(graph.isSatisfied(2, completed(1, "A")));
+    }
+
+    @Test
+    void alternativesMayNeedDifferentGrades() {
+        PrerequisiteGraph graph = build(course(1), course(2),
+                course(3, new Prerequisite(1L, 0, "A"), new Prerequisite(2L, 0, "D")));
+
+        assertFalse(graph.isSatisfied(3, completed(1, "B")));
+        assertTrue(graph.isSatisfied(3, completed(1, "B", 2, "D")));
+    }
+
+    @Test
+    void failingOrMissingGradeMeetsNoRequirement() {
+        PrerequisiteGraph graph = build(course(1), course(2, new Prerequisite(1L, 0, null)),
+                course(3, new Prerequisite(1L, 0, "F")));
+
+        for (long course : new long[] {2, 3}) {
+            assertFalse(graph.isSatisfied(course, completed(1, "F")));
+            assertFalse(graph.isSatisfied(course, completed(1, null)));
+            assertTrue(graph.isSatisfied(course, completed(1, "D")));
+        }
+    }
+
+    @Test
+    void closureFollowsIndirectRequirements() {
+        PrerequisiteGraph graph = build(course(1), course(2, new Prerequisite(1L, 0, null)),
+                course(3, new Prerequisite(2L, 0, null)), course(4),
+                course(5, new Prerequisite(3L, 0, null), new Prerequisite(4L, 0, null)));
+
+        assertEquals(List.of(), graph.closure(1));
+        assertEquals(List.of(1L), graph.closure(2));
+        assertEquals(List.of(1L, 2L), graph.closure(3));
+        assertEquals(List.of(1L, 2L, 3L, 4L), graph.closure(5));
+    }
+
+    @Test
+    void detectsDirectAndIndirectCycles() {
+        // 3 requires 2, which requires 1
+        PrerequisiteGraph graph = build(course(1), course(2, new Prerequisite(1L, 0, null)),
+                course(3, new Prerequisite(2L, 0, null)), course(4));
+
+        assertTrue(graph.wouldCycle(1, List.of(1L)));
+        assertTrue(graph.wouldCycle(1, List.of(2L)));
+        assertTrue(graph.wouldCycle(1, List.of(4L, 3L)));
+        assertFalse(graph.wouldCycle(3, List.of(1L)));
+        assertFalse(graph.wouldCycle(1, List.of(4L)));
+        assertFalse(graph.wouldCycle(4, List.of(3L)));
+    }
+
+    @Test
+    void toleratesACycleThatSlippedPastValidation() {
+        PrerequisiteGraph graph = build(course(1, new Prerequisite(2L, 0, null)), course(2, new Prerequisite(1L, 0, null)));
+
+        assertTrue(graph.closure(1).contains(2L));
+        assertTrue(graph.wouldCycle(1, List.of(2L)));
+    }
+
+    @Test
+    void ignoresRequirementOnDeletedCourse() {
+        // Course 9 was numbered while it existed and has since been deleted; 8 was never seen
+        index.indexOf(9);
+        PrerequisiteGraph graph = build(course(1),
+                course(2, new Prerequisite(9L, 0, null)),
+                course(3, new Prerequisite(8L, 0, null), new Prerequisite(1L, 1, null)));
+
+        assertFalse(graph.contains(9));
+        assertFalse(graph.hasRequirements(2));
+        assertTrue(graph.isSatisfied(2, CompletedCourses.NONE));
+        assertFalse(graph.isSatisfied(3, CompletedCourses.NONE));
+        assertTrue(graph.isSatisfied(3, completed(1, "C")));
+        assertEquals(List.of(), graph.closure(2));
+    }
+
+    @Test
+    void listsEligibleCoursesNotYetCompleted() {
+        PrerequisiteGraph graph = build(course(1), course(2, new Prerequisite(1L, 0, null)),
+                course(3, new Prerequisite(2L, 0, null)), course(4, new Prerequisite(1L, 0, "A")), course(5));
+
+        assertEquals(List.of(1L, 5L), graph.eligible(CompletedCourses.NONE));
+        assertEquals(List.of(2L, 5L), graph.eligible(completed(1, "B")));
+    }
+
+    // Rows as CourseRepository.findAllPrerequisiteRows() returns them
+    private PrerequisiteGraph build(Course... courses) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Course course : courses) {
+            if (course.getPrerequisites().isEmpty()) {
+                rows.add(new Object[] {course.getId(), null});
+            }
+            for (Prerequisite prerequisite : course.getPrerequisites()) {
+                rows.add(new Object[] {course.getId(), prerequisite});
+            }
+        }
+        return PrerequisiteGraph.build(rows, index);
+    }
+
+    private static Course course(long id, Prerequisite... prerequisites) {
+        Course course = new Course("Course " + id, "C" + id);
+        course.setId(id);
+        course.setPrerequisites(List.of(prerequisites));
+        return course;
+    }
+
+    // Pairs of course id and grade letter
+    private CompletedCourses completed(Object... pairs) {
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < pairs.length; i += 2) {
+            rows.add(new Object[] {((Number) pairs[i]).longValue(), pairs[i + 1]});
+        }
+        return CompletedCourses.of(rows, index);
+    }
+}
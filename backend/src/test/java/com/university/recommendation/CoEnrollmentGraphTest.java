@@ -0,0 +1,94 @@
+package com.university.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CoEnrollmentGraphTest {
+
+    // Course 1 is held with course 2 by three students, with 3 by two, and with 4, 5 and 6 by one each
+    private final CoEnrollmentGraph graph = CoEnrollmentGraph.build(List.of(
+            new long[] {1, 2, 3},
+            new long[] {1, 2, 3},
+            new long[] {1, 2, 6},
+            new long[] {1, 5},
+            new long[] {1, 4},
+            new long[] {7, 8}));
+
+    @Test
+    void countsPairsBothWays() {
+        assertEquals(3, graph.count(1, 2));
+        assertEquals(3, graph.count(2, 1));
+        assertEquals(2, graph.count(2, 3));
+        assertEquals(0, graph.count(1, 7));
+    }
+
+    @Test
+    void ranksByCountThenLowerCourseId() {
+        List<CourseRecommendation> top = graph.topK(1, 4, other -> false);
+
+        assertEquals(List.of(2L, 3L, 4L, 5L), ids(top));
+        assertEquals(List.of(3, 2, 1, 1), counts(top));
+    }
+
+    @Test
+    void tiesAtTheCutOffKeepTheLowerIds() {
+        // 4, 5 and 6 tie for the last place; offering them in any order keeps 4
+        assertEquals(List.of(2L, 3L, 4L), ids(graph.topK(1, 3, other -> false)));
+    }
+
+    @Test
+    void skipsExcludedCourses() {
+        assertEquals(List.of(3L, 5L), ids(graph.topK(1, 2, other -> other == 2 || other == 4)));
+    }
+
+    @Test
+    void returnsEveryCandidateWhenKExceedsThem() {
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L), ids(graph.topK(1, Integer.MAX_VALUE, other -> false)));
+        assertEquals(List.of(8L), ids(graph.topK(7, Integer.MAX_VALUE, other -> false)));
+    }
+
+    @Test
+    void returnsNothingForNonPositiveKOrUnknownCourse() {
+        assertTrue(graph.topK(1, 0, other -> false).isEmpty());
+        assertTrue(graph.topK(99, 5, other -> false).isEmpty());
+        assertTrue(graph.topK(new long[0], 5, other -> false).isEmpty());
+    }
+
+    @Test
+    void sumsRowsOfSeveralCourses() {
+        long[] held = {2, 5};
+        // 1: 3 via 2 and 1 via 5; 3: 2 via 2; 6: 1 via 2
+        List<CourseRecommendation> top = graph.topK(held, 10, other -> other == 2 || other == 5);
+
+        assertEquals(List.of(1L, 3L, 6L), ids(top));
+        assertEquals(List.of(4, 2, 1), counts(top));
+    }
+
+    @Test
+    void followsIncrementalUpdates() {
+        CoEnrollmentGraph live = CoEnrollmentGraph.empty();
+        live.add(2, new long[] {1});
+        live.add(3, new long[] {1, 2});
+        live.add(3, new long[] {1});
+
+        assertEquals(List.of(3L, 2L), ids(live.topK(1, 5, other -> false)));
+
+        live.remove(3, new long[] {1});
+        live.remove(3, new long[] {1, 2});
+
+        assertEquals(List.of(2L), ids(live.topK(1, 5, other -> false)));
+        assertEquals(0, live.count(3, 2));
+    }
+
+    private static List<Long> ids(List<CourseRecommendation> recommendations) {
+        return recommendations.stream().map(CourseRecommendation::getCourseId).toList();
+    }
+
+    private static List<Integer> counts(List<CourseRecommendation> recommendations) {
+        return recommendations.stream().map(CourseRecommendation::getCoEnrollments).toList();
+    }
+}
@@ -0,0 +1,174 @@
+package com.university.recommendation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongIntHashMapTest {
+
+    // Capacity of a map created with the default expected size
+    private static final int DEFAULT_CAPACITY = 16;
+
+    @Test
+    void addsAndIncrements() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertEquals(3, map.addTo(42, 3));
+        assertEquals(5, map.addTo(42, 2));
+        assertEquals(1, map.addTo(7, 1));
+
+        assertEquals(5, map.get(42));
+        assertEquals(1, map.get(7));
+        assertEquals(0, map.get(99));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void removesEntriesThatDropToZero() {
+        LongIntHashMap map = new LongIntHashMap();
+        map.addTo(42, 2);
+
+        assertEquals(1, map.addTo(42, -1));
+        assertEquals(0, map.addTo(42, -1));
+
+        assertEquals(0, map.get(42));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void ignoresDecrementOfMissingKey() {
+        LongIntHashMap map = new LongIntHashMap();
+
+        assertEquals(0, map.addTo(42, -1));
+
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void rejectsReservedKey() {
+        assertThrows(IllegalArgumentException.class, () -> new LongIntHashMap().addTo(0, 1));
+    }
+
+    @Test
+    void probesAcrossTheEndOfTheTable() {
+        // Three keys hashing to the last slot occupy it and wrap around to slots 0 and 1
+        long[] wrapping = keysWithHome(DEFAULT_CAPACITY - 1, 3);
+        long atZero = keysWithHome(0, 1)[0];
+        LongIntHashMap map = new LongIntHashMap();
+        for (int i = 0; i < wrapping.length; i++) {
+            map.addTo(wrapping[i], i + 1);
+        }
+        map.addTo(atZero, 10);
+
+        for (int i = 0; i < wrapping.length; i++) {
+            assertEquals(i + 1, map.get(wrapping[i]));
+        }
+        assertEquals(10, map.get(atZero));
+    }
+
+    @Test
+    void removalShiftsWrappedEntriesBack() {
+        long[] wrapping = keysWithHome(DEFAULT_CAPACITY - 1, 3);
+        long[] atZero = keysWithHome(0, 2);
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key : wrapping) {
+            map.addTo(key, 1);
+        }
+        for (long key : atZero) {
+            map.addTo(key, 2);
+        }
+
+        // Removing the head of the cluster must keep every entry behind it reachable
+        map.addTo(wrapping[0], -1);
+        assertEquals(0, map.get(wrapping[0]));
+        assertEquals(1, map.get(wrapping[1]));
+        assertEquals(1, map.get(wrapping[2]));
+        assertEquals(2, map.get(atZero[0]));
+        assertEquals(2, map.get(atZero[1]));
+
+        // Removing one that has wrapped past the end of the table
+        map.addTo(wrapping[2], -1);
+        assertEquals(1, map.get(wrapping[1]));
+        assertEquals(2, map.get(atZero[0]));
+        assertEquals(2, map.get(atZero[1]));
+        assertEquals(3, map.size());
+
+        // A re-added key is found again and not stored twice
+        map.addTo(wrapping[0], 4);
+        assertEquals(4, map.get(wrapping[0]));
+        assertEquals(4, map.size());
+    }
+
+    @Test
+    void keepsEntriesAcrossResize() {
+        LongIntHashMap map = new LongIntHashMap();
+        for (long key = 1; key <= 1000; key++) {
+            map.addTo(key, (int) key);
+        }
+
+        assertEquals(1000, map.size());
+        for (long key = 1; key <= 1000; key++) {
+            assertEquals((int) key, map.get(key));
+        }
+    }
+
+    @Test
+    void matchesHashMapUnderRandomChanges() {
+        Random random = new Random(7);
+        LongIntHashMap map = new LongIntHashMap(4);
+        Map<Long, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20_000; i++) {
+            // Few distinct keys so entries are removed and re-added while the table grows
+            long key = 1 + random.nextInt(300);
+            int delta = random.nextInt(7) - 3;
+            int value = Math.max(expected.getOrDefault(key, 0) + delta, 0);
+            if (value == 0) {
+                expected.remove(key);
+            } else {
+                expected.put(key, value);
+            }
+
+            assertEquals(value, map.addTo(key, delta), "after step " + i);
+        }
+
+        assertEquals(expected.size(), map.size());
+        Map<Long, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void putAllAddsCounts() {
+        LongIntHashMap left = new LongIntHashMap();
+        left.addTo(1, 2);
+        left.addTo(2, 3);
+        LongIntHashMap right = new LongIntHashMap();
+        right.addTo(2, 4);
+        right.addTo(3, 5);
+
+        left.putAll(right);
+
+        assertEquals(2, left.get(1));
+        assertEquals(7, left.get(2));
+        assertEquals(5, left.get(3));
+        assertEquals(3, left.size());
+    }
+
+    // The first keys whose home slot in a table of the default capacity is the given one
+    private static long[] keysWithHome(int slot, int count) {
+        long[] keys = new long[count];
+        int found = 0;
+        for (long key = 1; found < count; key++) {
+            if (((int) ((key * 0x9E3779B97F4A7C15L) >>> 32) & (DEFAULT_CAPACITY - 1)) == slot) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,138 @@
+package com.university.roster;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CsvReaderTest {
+
+    @Test
+    void splitsPlainFields() throws IOException {
+        assertEquals(List.of(List.of("a", "b", "c"), List.of("d", "", "f")), readAll("a,b,c\nd,,f\n"));
+    }
+
+    @Test
+    void keepsCommasInsideQuotes() throws IOException {
+        assertEquals(List.of(List.of("Smith, Jr.", "x")), readAll("\"Smith, Jr.\",x"));
+    }
+
+    @Test
+    void unescapesDoubledQuotes() throws IOException {
+        assertEquals(List.of(List.of("say \"hi\"", "\"", "")), readAll("\"say \"\"hi\"\"\",\"\"\"\",\"\""));
+    }
+
+    @Test
+    void acceptsCrLfLineEndings() throws IOException {
+        assertEquals(List.of(List.of("a", "b"), List.of("c", "d")), readAll("a,b\r\nc,d\r\n"));
+    }
+
+    @Test
+    void keepsLineBreaksInsideQuotesAndCountsPhysicalLines() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("name,note\r\n\"Ada\",\"first\r\nsecond\nthird\"\r\nBob,x\r\n"));
+
+        assertEquals(List.of("name", "note"), csv.next());
+        assertEquals(1, csv.getRecordLine());
+        assertEquals(List.of("Ada", "first\r\nsecond\nthird"), csv.next());
+        assertEquals(2, csv.getRecordLine());
+        // The quoted field spans lines 2 to 4
+        assertEquals(List.of("Bob", "x"), csv.next());
+        assertEquals(5, csv.getRecordLine());
+        assertNull(csv.next());
+    }
+
+    @Test
+    void skipsByteOrderMark() throws IOException {
+        assertEquals(List.of(List.of("firstName", "lastName")), readAll("\uFEFFfirstName,lastName\n"));
+    }
+
+    @Test
+    void keepsByteOrderMarkCharacterAfterTheFirstRecord() throws IOException {
+        assertEquals(List.of(List.of("a"), List.of("\uFEFFb")), readAll("a\n\uFEFFb\n"));
+    }
+
+    @Test
+    void rejectsUnterminatedQuote() throws IOException {
+        CsvReader csv = new CsvReader(new StringReader("a,b\n\"open,c\nd\n"));
+        csv.next();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, csv::next);
+        assertTrue(e.getMessage().contains("line 2"), e.getMessage());
+    }
+
+    @Test
+    void treatsQuoteInsideUnquotedFieldAsText() throws IOException {
+        assertEquals(List.of(List.of("5\" disk", "b")), readAll("5\" disk,b"));
+    }
+
+    @Test
+    void returnsNullForEmptyInput() throws IOException {
+        assertNull(new CsvReader(new StringReader("")).next());
+    }
+
+    @Test
+    void parsesTheSameWhenInputArrivesOneCharacterAtATime() throws IOException {
+        // Quotes and CRLF pairs split across reads exercise the look-ahead at buffer boundaries
+        String input = "\uFEFFa,\"b\"\"c\"\r\n\"x\r\ny\",z\r\n";
+        List<List<String>> expected = List.of(List.of("a", "b\"c"), List.of("x\r\ny", "z"));
+
+        List<List<String>> records = new ArrayList<>();
+        CsvReader csv = new CsvReader(new OneCharReader(input));
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            records.add(fields);
+        }
+
+        assertEquals(expected, records);
+        assertEquals(2, csv.getRecordLine());
+    }
+
+    @Test
+    void readsRecordsLongerThanTheBuffer() throws IOException {
+        String longField = "x".repeat(20_000);
+
+        assertEquals(List.of(List.of(longField, "end")), readAll("\"" + longField + "\",end\n"));
+    }
+
+    private static List<List<String>> readAll(String input) throws IOException {
+        CsvReader csv = new CsvReader(new StringReader(input));
+        List<List<String>> records = new ArrayList<>();
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            records.add(fields);
+        }
+        return records;
+    }
+
+    private static final class OneCharReader extends Reader {
+
+        private final String input;
+
+        private int position;
+
+        OneCharReader(String input) {
+            this.input = input;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == input.length()) {
+                return -1;
+            }
+            buffer[offset] = input.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.university.roster;
+
+import com.university.entity.Student;
+import com.university.repository.StudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "roster.import.batch-size=2")
+class RosterImporterTest {
+
+    private static final String HEADER = "firstName,lastName,email,studentId\r\n";
+
+    @Autowired
+    private RosterImporter importer;
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void removeImportedStudents() {
+        jdbcTemplate.update("DELETE FROM students WHERE email LIKE '%@roster.test'");
+    }
+
+    @Test
+    void importsQuotedFieldsAndReportsPhysicalLines() throws IOException {
+        RosterImportResult result = importer.importCsv(new StringReader("\uFEFF" + HEADER
+                + "Ada,\"Lovelace, Countess\",ada@roster.test,77000001\r\n"
+                + "\"Grace \"\"Amazing\"\"\",Hopper,grace@roster.test,77000002\r\n"
+                + "Alan,\"Turing\r\nSenior\",alan@roster.test,77000003\r\n"
+                + "Bad,Row,bad@roster.test,123\r\n"));
+
+        assertEquals(4, result.getRows());
+        assertEquals(3, result.getImported());
+        assertEquals(1, result.getInvalid());
+        assertEquals("Lovelace, Countess", studentRepo.findByEmail("ada@roster.test").orElseThrow().getLastName());
+        assertEquals("Grace \"Amazing\"", studentRepo.findByEmail("grace@roster.test").orElseThrow().getFirstName());
+        assertEquals("Turing\r\nSenior", studentRepo.findByEmail("alan@roster.test").orElseThrow().getLastName());
+
+        // Alan's quoted last name spans lines 4 and 5, so the bad row is on line 6
+        RosterRowError error = result.getSampleErrors().get(0);
+        assertEquals(6, error.getLine());
+        assertEquals("studentId", error.getField());
+        assertEquals("123", error.getValue());
+    }
+
+    @Test
+    void reportsUnterminatedQuoteAndKeepsEarlierRows() throws IOException {
+        RosterImportResult result = importer.importCsv(new StringReader(HEADER
+                + "Ada,Lovelace,ada@roster.test,77000001\r\n"
+                + "Alan,\"Turing,alan@roster.test,77000003\r\n"
+                + "Grace,Hopper,grace@roster.test,77000002\r\n"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(1, result.getInvalid());
+        RosterRowError error = result.getSampleErrors().get(0);
+        assertEquals(3, error.getLine());
+        assertTrue(error.getMessage().contains("Unterminated"), error.getMessage());
+    }
+
+    @Test
+    void tellsInFileDuplicatesFromExistingStudents() throws IOException {
+        studentRepo.save(new Student("Pre", "Existing", "pre@roster.test", "77000009"));
+
+        RosterImportResult result = importer.importCsv(new StringReader(HEADER
+                + "Ada,Lovelace,ada@roster.test,77000001\r\n"
+                + "Pre,Again,pre@roster.test,77000002\r\n"
+                + "Ada,Twice,ada@roster.test,77000003\r\n"));
+
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getDuplicates());
+        List<RosterRowError> errors = result.getSampleErrors();
+        assertEquals(3, errors.get(0).getLine());
+        assertEquals("already exists", errors.get(0).getMessage());
+        assertEquals(4, errors.get(1).getLine());
+        assertEquals("duplicate of line 2", errors.get(1).getMessage());
+        assertEquals("Lovelace", studentRepo.findByEmail("ada@roster.test").orElseThrow().getLastName());
+    }
+
+    @Test
+    void reportsEveryRowOfAFailedBatch() throws IOException {
+        // The student is created after the importer loaded the existing keys, like a concurrent create
+        Reader input = new CreateOnSecondRead(HEADER
+                + "Ada,Lovelace,ada@roster.test,77000001\r\n"
+                + "Taken,Later,taken@roster.test,77000002\r\n"
+                + "Grace,Hopper,grace@roster.test,77000003\r\n",
+                () -> studentRepo.save(new Student("Quick", "Creator", "taken@roster.test", "77000002")));
+
+        RosterImportResult result = importer.importCsv(input);
+
+        // Batches hold two rows: the first fails as a whole, the second still goes in
+        assertEquals(2, result.getFailed());
+        assertEquals(1, result.getImported());
+        assertEquals(List.of(2L, 3L), result.getSampleErrors().stream().map(RosterRowError::getLine).toList());
+        assertTrue(result.getSampleErrors().get(0).getMessage().startsWith("Not inserted"));
+        assertTrue(studentRepo.findByEmail("ada@roster.test").isEmpty());
+        assertTrue(studentRepo.findByEmail("grace@roster.test").isPresent());
+    }
+
+    @Test
+    void rejectsHeaderWithoutRequiredColumns() {
+        assertThrows(IllegalArgumentException.class,
+                () -> importer.importCsv(new StringReader("firstName,lastName,email\r\nAda,Lovelace,ada@roster.test\r\n")));
+    }
+
+    // Serves the whole input on the first read and runs the action before the second
+    private static final class CreateOnSecondRead extends Reader {
+
+        private final StringReader input;
+
+        private final Runnable action;
+
+        private int reads;
+
+        CreateOnSecondRead(String input, Runnable action) {
+            this.input = new StringReader(input);
+            this.action = action;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws IOException {
+            if (++reads == 2) {
+                action.run();
+            }
+            return input.read(buffer, offset, length);
+        }
+
+        @Override
+        public void close() {
+            input.close();
+        }
+    }
+}
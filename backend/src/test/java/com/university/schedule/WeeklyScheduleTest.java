@@ -0,0 +1,124 @@
+package com.university.schedule;
+
+import com.university.entity.Course;
+import com.university.entity.MeetingSlot;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WeeklyScheduleTest {
+
+    @Test
+    void backToBackSlotsDoNotClash() {
+        assertFalse(schedule(DayOfWeek.MONDAY, "09:00", "10:00").intersects(schedule(DayOfWeek.MONDAY, "10:00", "11:00")));
+        assertFalse(schedule(DayOfWeek.MONDAY, "10:00", "11:00").intersects(schedule(DayOfWeek.MONDAY, "09:00", "10:00")));
+    }
+
+    @Test
+    void oneMinuteOfOverlapClashes() {
+        assertTrue(schedule(DayOfWeek.MONDAY, "09:00", "10:01").intersects(schedule(DayOfWeek.MONDAY, "10:00", "11:00")));
+        assertTrue(schedule(DayOfWeek.MONDAY, "09:00", "10:00").intersects(schedule(DayOfWeek.MONDAY, "09:59", "11:00")));
+    }
+
+    @Test
+    void widensOffGridTimesOutwards() {
+        assertEquals(schedule(DayOfWeek.MONDAY, "09:00", "10:00"), schedule(DayOfWeek.MONDAY, "09:02", "09:58"));
+        // Seconds past the last minute still take that minute's slot
+        assertEquals(schedule(DayOfWeek.MONDAY, "09:00", "10:05"), schedule(DayOfWeek.MONDAY, "09:00", "10:00:30"));
+    }
+
+    @Test
+    void sameTimeOnAnotherDayDoesNotClash() {
+        assertFalse(schedule(DayOfWeek.MONDAY, "09:00", "10:00").intersects(schedule(DayOfWeek.TUESDAY, "09:00", "10:00")));
+    }
+
+    @Test
+    void slotsCrossingAWordBoundaryClashOnEitherSide() {
+        // Slot 64, the first bit of the second word, is Monday 05:20-05:25
+        WeeklySchedule crossing = schedule(DayOfWeek.MONDAY, "05:15", "05:25");
+
+        assertTrue(crossing.intersects(schedule(DayOfWeek.MONDAY, "05:15", "05:20")));
+        assertTrue(crossing.intersects(schedule(DayOfWeek.MONDAY, "05:20", "05:25")));
+        assertFalse(crossing.intersects(schedule(DayOfWeek.MONDAY, "05:10", "05:15")));
+        assertFalse(crossing.intersects(schedule(DayOfWeek.MONDAY, "05:25", "05:30")));
+    }
+
+    @Test
+    void longSlotsSpanSeveralWords() {
+        WeeklySchedule allDay = schedule(DayOfWeek.WEDNESDAY, "00:00", "23:59:59");
+
+        assertTrue(allDay.intersects(schedule(DayOfWeek.WEDNESDAY, "12:00", "12:05")));
+        assertTrue(allDay.intersects(schedule(DayOfWeek.WEDNESDAY, "23:55", "23:59")));
+        assertFalse(allDay.intersects(schedule(DayOfWeek.TUESDAY, "23:55", "23:59")));
+        assertFalse(allDay.intersects(schedule(DayOfWeek.THURSDAY, "00:00", "00:05")));
+    }
+
+    @Test
+    void endOfWeekDoesNotWrapToMonday() {
+        WeeklySchedule lateSunday = schedule(DayOfWeek.SUNDAY, "23:00", "23:59:59");
+
+        assertTrue(lateSunday.intersects(schedule(DayOfWeek.SUNDAY, "23:55", "23:59")));
+        assertFalse(lateSunday.intersects(schedule(DayOfWeek.MONDAY, "00:00", "01:00")));
+    }
+
+    @Test
+    void mergedScheduleClashesWithEitherPart() {
+        WeeklySchedule merged = schedule(DayOfWeek.MONDAY, "09:00", "10:00").or(schedule(DayOfWeek.FRIDAY, "14:00", "15:00"));
+
+        assertTrue(merged.intersects(schedule(DayOfWeek.MONDAY, "09:30", "09:45")));
+        assertTrue(merged.intersects(schedule(DayOfWeek.FRIDAY, "14:55", "16:00")));
+        assertFalse(merged.intersects(schedule(DayOfWeek.FRIDAY, "15:00", "16:00")));
+    }
+
+    @Test
+    void roundTripsThroughBytes() {
+        WeeklySchedule schedule = WeeklySchedule.of(List.of(
+                slot(DayOfWeek.MONDAY, "05:15", "05:25"),
+                slot(DayOfWeek.WEDNESDAY, "13:00", "14:30"),
+                slot(DayOfWeek.SUNDAY, "23:00", "23:59:59")));
+
+        byte[] bytes = schedule.toBytes();
+
+        assertEquals(WeeklySchedule.BYTES, bytes.length);
+        assertEquals(schedule, WeeklySchedule.fromBytes(bytes));
+        assertArrayEquals(bytes, WeeklySchedule.fromBytes(bytes).toBytes());
+    }
+
+    @Test
+    void emptyScheduleStoresNothing() {
+        assertNull(WeeklySchedule.of(List.of()).toBytes());
+        assertSame(WeeklySchedule.EMPTY, WeeklySchedule.fromBytes(null));
+        assertSame(WeeklySchedule.EMPTY, WeeklySchedule.of(null));
+        assertFalse(WeeklySchedule.EMPTY.intersects(schedule(DayOfWeek.MONDAY, "09:00", "10:00")));
+    }
+
+    @Test
+    void courseKeepsItsMaskInSyncWithItsSlots() {
+        Course course = new Course();
+        course.setMeetingSlots(List.of(slot(DayOfWeek.TUESDAY, "10:00", "11:30")));
+
+        assertEquals(schedule(DayOfWeek.TUESDAY, "10:00", "11:30"), course.getSchedule());
+
+        course.setMeetingSlots(null);
+
+        assertTrue(course.getMeetingSlots().isEmpty());
+        assertNull(course.getScheduleMask());
+    }
+
+    private static WeeklySchedule schedule(DayOfWeek day, String start, String end) {
+        return WeeklySchedule.of(List.of(slot(day, start, end)));
+    }
+
+    private static MeetingSlot slot(DayOfWeek day, String start, String end) {
+        return new MeetingSlot(day, LocalTime.parse(start), LocalTime.parse(end));
+    }
+}
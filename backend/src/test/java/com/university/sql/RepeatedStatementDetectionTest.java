@@ -0,0 +1,66 @@
+package com.university.sql;
+
+import com.university.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "sql.inspection.enabled=true")
+class RepeatedStatementDetectionTest {
+
+    private static final List<String> STUDENT_IDS = List.of("20240001", "20240002", "20240003", "20240004");
+
+    @Autowired
+    private StudentRepository studentRepo;
+
+    @Test
+    void reportsRowByRowLoadingWithItsCallSite() {
+        List<Long> ids = STUDENT_IDS.stream()
+                .map(studentId -> studentRepo.findByStudentId(studentId).orElseThrow().getId())
+                .toList();
+
+        // The classic N+1: one single-row read per id instead of one findAllById
+        QueryRecording recording = QueryRecorder.start();
+        try {
+            for (Long id : ids) {
+                studentRepo.findById(id);
+            }
+        } finally {
+            QueryRecorder.stop(recording);
+        }
+
+        List<RepeatedStatement> repeated = recording.findRepeatedStatements(3);
+        assertEquals(1, repeated.size(), recording.describe());
+        RepeatedStatement statement = repeated.get(0);
+        assertTrue(statement.getNormalizedSql().contains("students"), statement.getNormalizedSql());
+        assertEquals(4, statement.getExecutions());
+        assertEquals(4, statement.getDistinctBindings());
+
+        assertEquals(1, statement.getOrigins().size(), statement.getOrigins().toString());
+        String origin = statement.getOrigins().iterator().next();
+        assertTrue(origin.startsWith("RepeatedStatementDetectionTest.reportsRowByRowLoadingWithItsCallSite:"), origin);
+        assertTrue(origin.endsWith(" via StudentRepository.findById"), origin);
+    }
+
+    @Test
+    void leavesSingleQueryForAllIdsAlone() {
+        List<Long> ids = STUDENT_IDS.stream()
+                .map(studentId -> studentRepo.findByStudentId(studentId).orElseThrow().getId())
+                .toList();
+
+        QueryRecording recording = QueryRecorder.start();
+        try {
+            studentRepo.findAllById(ids);
+        } finally {
+            QueryRecorder.stop(recording);
+        }
+
+        assertEquals(1, recording.getStatementCount(), recording.describe());
+        assertTrue(recording.findRepeatedStatements(3).isEmpty(), recording.describe());
+    }
+}
@@ -0,0 +1,33 @@
+package com.university.testsupport;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Limits the SQL statements a test may execute on its own thread, e.g. a MockMvc call:
+//
+//   @QueryBudget(max = 2)
+//   @Test
+//   void listsEnrollments() throws Exception { mockMvc.perform(get("/api/enrollments")) ... }
+//
+// The test fails when it runs more than `max` statements or runs one statement shape
+// `repeatThreshold` or more times with different bind values (N+1). On a class it applies to every
+// test method that does not declare its own budget.
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@ExtendWith(QueryBudgetExtension.class)
+public @interface QueryBudget {
+
+    // Maximum number of statements; negative means only the N+1 check applies
+    int max() default -1;
+
+    int repeatThreshold() default 3;
+
+    // Set to false for tests that legitimately iterate, e.g. bulk imports
+    boolean failOnRepeated() default true;
+}
@@ -0,0 +1,60 @@
+package com.university.testsupport;
+
+import com.university.sql.QueryRecorder;
+import com.university.sql.QueryRecording;
+import com.university.sql.RepeatedStatement;
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+
+import java.util.List;
+
+// Records the statements of a @QueryBudget test and fails it with the offending call sites. Only
+// statements on the test thread are seen, which covers MockMvc and direct service calls; requests
+// against a running server are checked by QueryBudgetFilter instead.
+public class QueryBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(QueryBudgetExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(QueryRecording.class, QueryRecorder.start());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        QueryRecording recording = context.getStore(NAMESPACE).remove(QueryRecording.class, QueryRecording.class);
+        if (recording == null) {
+            return;
+        }
+        QueryRecorder.stop(recording);
+        if (context.getExecutionException().isPresent()) {
+            return;
+        }
+
+        QueryBudget budget = findBudget(context);
+        StringBuilder failures = new StringBuilder();
+        if (budget.max() >= 0 && recording.getStatementCount() > budget.max()) {
+            failures.append("Executed ").append(recording.getStatementCount())
+                    .append(" statements, budget is ").append(budget.max()).append(":\n")
+                    .append(recording.describe());
+        }
+        List<RepeatedStatement> repeated = recording.findRepeatedStatements(budget.repeatThreshold());
+        if (budget.failOnRepeated() && !repeated.isEmpty()) {
+            failures.append("Possible N+1, statement repeated with different bind values:\n");
+            repeated.forEach(statement -> failures.append("  ").append(statement).append('\n'));
+        }
+        if (failures.length() > 0) {
+            throw new AssertionError(context.getDisplayName() + " exceeded its query budget\n" + failures);
+        }
+    }
+
+    private QueryBudget findBudget(ExtensionContext context) {
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(context.getRequiredTestMethod(), QueryBudget.class);
+        if (budget == null) {
+            budget = AnnotatedElementUtils.findMergedAnnotation(context.getRequiredTestClass(), QueryBudget.class);
+        }
+        return budget;
+    }
+}
@@ -41,20 +41,19 @@ const Dashboard = () => {
 
   const fetchDashboardData = async () => {
     try {
-      const [coursesRes, studentsRes, enrollmentsRes] = await Promise.all([
-        axios.get('/api/courses'),
-        axios.get('/api/students'),
-        axios.get('/api/enrollments'),
+      const [summaryRes, coursesRes] = await Promise.all([
+        axios.get('/api/dashboard/summary'),
+        axios.get('/api/courses/recent', { params: { fields: 'title,code,creditHours', limit: 5 } }),
       ]);
 
       setStats({
-        totalCourses: coursesRes.data.length,
-        totalStudents: studentsRes.data.length,
-        totalEnrollments: enrollmentsRes.data.length,
+        totalCourses: summaryRes.data.totalCourses,
+        totalStudents: summaryRes.data.totalStudents,
+        totalEnrollments: summaryRes.data.totalEnrollments,
       });
 
-      // Get recent courses (last 5)
-      setRecentCourses(coursesRes.data.slice(0, 5));
+      // The server returns only the last 5 courses
+      setRecentCourses(coursesRes.data);
     } catch (error) {
       console.error('Error fetching dashboard data:', error);
     } finally {